@@ -0,0 +1,63 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlParser;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.SyntheticRamlGenerator;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * A synthetic RAML spec of the benchmarked size, written to a temporary
+ * directory and loaded once per trial. The number of types grows with the
+ * number of resources, the spec is the same for every trial. All types are
+ * declared in the root file, so the type benchmarks see all of them.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+public class BenchmarkSpec {
+
+	static final String BASE_PATH = "/api";
+
+	private static final long SEED = 42;
+
+	@Param({ "10", "100", "1000" })
+	public int resources;
+
+	File directory;
+
+	String ramlUrl;
+
+	RamlRoot raml;
+
+	Set<ApiResourceMetadata> controllers;
+
+	@Setup(Level.Trial)
+	public void writeSpec() throws IOException {
+		directory = Files.createTempDirectory("raml-benchmark").toFile();
+		File ramlFile = new SyntheticRamlGenerator(SEED).withResources(resources).withTypes(resources).withDepth(2)
+				.withInheritanceDepth(2).withUnionWidth(3).withJsonSchemaPercentage(10).writeTo(directory);
+		ramlUrl = ramlFile.toURI().toString();
+		raml = RamlLoader.loadRamlFromFile(ramlUrl);
+		controllers = new RamlParser(BASE_PATH).extractControllers(new JCodeModel(), raml);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteSpec() {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+}
@@ -0,0 +1,203 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import static java.util.Arrays.asList;
+import static org.apache.commons.lang3.StringUtils.containsOnly;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.join;
+import static org.apache.commons.lang3.StringUtils.splitByCharacterTypeCamelCase;
+import static org.apache.commons.lang3.StringUtils.upperCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.StringUtils;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationContext;
+
+/**
+ * Benchmarks the name cleaning of {@link NamingHelper} against the previous
+ * regex based implementations, which are kept here as the baseline, and the
+ * naming cache against uncached naming. The setup fails if the current
+ * implementations don't produce the same names as the baseline for the
+ * whole corpus.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NamingHelperBenchmark {
+
+	private static final long SEED = 42;
+
+	private static final String[] WORDS = { "user", "account", "order", "item", "address", "status", "category", "policy", "box",
+			"address", "details", "history", "id", "v2", "class", "\u00C9TAT", "2fa" };
+
+	private static final String[] SEPARATORS = { "", "-", "_", " ", ".", "@", "/", "$", "" };
+
+	/**
+	 * Resource, field and enum names, with repetitions as in a real spec
+	 */
+	private final List<String> names = new ArrayList<>();
+
+	/**
+	 * Descriptions as they are found in javadoc
+	 */
+	private final List<String> descriptions = new ArrayList<>();
+
+	private GenerationContext context;
+
+	@Setup(Level.Trial)
+	public void createCorpus() {
+		Random random = new Random(SEED);
+		List<String> distinctNames = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			StringBuilder name = new StringBuilder();
+			int words = 1 + random.nextInt(4);
+			for (int word = 0; word < words; word++) {
+				String value = WORDS[random.nextInt(WORDS.length)];
+				name.append(random.nextBoolean() ? StringUtils.capitalize(value) : value);
+				name.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+			}
+			distinctNames.add(name.toString());
+		}
+		for (int i = 0; i < 5000; i++) {
+			names.add(distinctNames.get(random.nextInt(distinctNames.size())));
+		}
+		for (int i = 0; i < 1000; i++) {
+			StringBuilder description = new StringBuilder("/**\n");
+			int lines = 1 + random.nextInt(5);
+			for (int line = 0; line < lines; line++) {
+				description.append("\t * ").append(distinctNames.get(random.nextInt(distinctNames.size()))).append(" of the ")
+						.append(WORDS[random.nextInt(WORDS.length)]).append(",\n");
+			}
+			descriptions.add(description.append("\t */\n").toString());
+		}
+
+		for (String name : names) {
+			verify("cleanNameForJavaEnum", name, legacyCleanNameForJavaEnum(name), NamingHelper.cleanNameForJavaEnum(name));
+		}
+		for (String description : descriptions) {
+			verify("cleanLeadingAndTrailingNewLineAndChars", description, legacyCleanLeadingAndTrailingNewLineAndChars(description),
+					NamingHelper.cleanLeadingAndTrailingNewLineAndChars(description));
+		}
+		List<String> resourceNames = new ArrayList<>();
+		for (String name : names) {
+			resourceNames.add(NamingHelper.getResourceName(name, true));
+		}
+		context = GenerationContext.builder().build();
+		Config.runWithContext(context, () -> {
+			for (int i = 0; i < names.size(); i++) {
+				// the first lookup of a name is computed, the next ones are cached
+				verify("getResourceName", names.get(i), resourceNames.get(i), NamingHelper.getResourceName(names.get(i), true));
+			}
+		});
+	}
+
+	@Benchmark
+	public void legacyCleanNameForJavaEnum(Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(legacyCleanNameForJavaEnum(name));
+		}
+	}
+
+	@Benchmark
+	public void cleanNameForJavaEnum(Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(NamingHelper.cleanNameForJavaEnum(name));
+		}
+	}
+
+	@Benchmark
+	public void legacyCleanLeadingAndTrailingNewLineAndChars(Blackhole blackhole) {
+		for (String description : descriptions) {
+			blackhole.consume(legacyCleanLeadingAndTrailingNewLineAndChars(description));
+		}
+	}
+
+	@Benchmark
+	public void cleanLeadingAndTrailingNewLineAndChars(Blackhole blackhole) {
+		for (String description : descriptions) {
+			blackhole.consume(NamingHelper.cleanLeadingAndTrailingNewLineAndChars(description));
+		}
+	}
+
+	@Benchmark
+	public void uncachedResourceName(Blackhole blackhole) {
+		for (String name : names) {
+			blackhole.consume(NamingHelper.getResourceName(name, true));
+		}
+	}
+
+	@Benchmark
+	public void cachedResourceName(Blackhole blackhole) {
+		Config.runWithContext(context, () -> {
+			for (String name : names) {
+				blackhole.consume(NamingHelper.getResourceName(name, true));
+			}
+		});
+	}
+
+	private static void verify(String function, String input, String expected, String actual) {
+		if (!Objects.equals(expected, actual)) {
+			throw new IllegalStateException(function + "(\"" + input + "\") returned \"" + actual + "\" instead of \"" + expected + "\"");
+		}
+	}
+
+	private static String legacyCleanNameForJavaEnum(String enumConstant) {
+		if (!StringUtils.hasText(enumConstant)) {
+			return enumConstant;
+		}
+
+		List<String> nameGroups = new ArrayList<>(asList(splitByCharacterTypeCamelCase(enumConstant)));
+
+		nameGroups.removeIf(s -> containsOnly(s.replaceAll("[^0-9a-zA-Z_$]", "_"), "_"));
+
+		String enumName = upperCase(join(nameGroups, "_"));
+		if (isEmpty(enumName)) {
+			enumName = "_DEFAULT_";
+		} else if (Character.isDigit(enumName.charAt(0))) {
+			enumName = "_" + enumName;
+		}
+
+		return NamingHelper.filterKeywords(enumName);
+	}
+
+	private static String legacyCleanLeadingAndTrailingNewLineAndChars(String input) {
+		if (!StringUtils.hasText(input)) {
+			return input;
+		}
+		String output = input;
+		output = output.replaceAll("[\\s]+\\*[\\s]+", " ");
+		while (output.startsWith("/") || output.startsWith("\n") || output.startsWith("*") || output.startsWith("-")
+				|| output.startsWith("\t") || output.startsWith(" ") || output.startsWith("\\")) {
+			output = output.substring(1);
+		}
+
+		while (output.endsWith("/") || output.endsWith("\n") || output.endsWith(" ") || output.endsWith(",") || output.endsWith("\t")
+				|| output.endsWith("-") || output.endsWith("*")) {
+			output = output.substring(0, output.length() - 1);
+		}
+		return output;
+	}
+}
@@ -0,0 +1,117 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlParser;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4ControllerDecoratorRule;
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Benchmarks the stages of the generation pipeline which don't depend on the
+ * configured rule: loading the RAML, extracting the controllers and writing
+ * the code model, as well as the whole pipeline with the decorator rule.
+ * Comparing the spec sizes shows whether the generation scales linearly.
+ *
+ * @since 2.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PipelineBenchmark {
+
+	@Benchmark
+	public RamlRoot loadRamlFromFile(BenchmarkSpec spec) {
+		return RamlLoader.loadRamlFromFile(spec.ramlUrl);
+	}
+
+	@Benchmark
+	public Set<ApiResourceMetadata> extractControllers(BenchmarkSpec spec) {
+		return new RamlParser(BenchmarkSpec.BASE_PATH).extractControllers(new JCodeModel(), spec.raml);
+	}
+
+	@Benchmark
+	public JCodeModel generate(BenchmarkSpec spec) {
+		JCodeModel codeModel = new JCodeModel();
+		Spring4ControllerDecoratorRule rule = new Spring4ControllerDecoratorRule();
+		for (ApiResourceMetadata controller : new RamlParser(BenchmarkSpec.BASE_PATH).extractControllers(codeModel,
+				RamlLoader.loadRamlFromFile(spec.ramlUrl))) {
+			rule.apply(controller, codeModel);
+		}
+		return codeModel;
+	}
+
+	@Benchmark
+	public long buildCodeModel(GeneratedCode generatedCode) throws IOException {
+		CountingCodeWriter writer = new CountingCodeWriter();
+		generatedCode.codeModel.build(writer);
+		return writer.bytes;
+	}
+
+	/**
+	 * The POJOs and decorated controllers of the spec
+	 */
+	@State(Scope.Benchmark)
+	public static class GeneratedCode {
+
+		JCodeModel codeModel;
+
+		@Setup(Level.Trial)
+		public void generate(BenchmarkSpec spec) {
+			codeModel = new JCodeModel();
+			Spring4ControllerDecoratorRule rule = new Spring4ControllerDecoratorRule();
+			for (ApiResourceMetadata controller : new RamlParser(BenchmarkSpec.BASE_PATH).extractControllers(codeModel, spec.raml)) {
+				rule.apply(controller, codeModel);
+			}
+		}
+	}
+
+	/**
+	 * Renders the code without touching the disk
+	 */
+	private static class CountingCodeWriter extends CodeWriter {
+
+		private long bytes = 0;
+
+		@Override
+		public OutputStream openBinary(JPackage pkg, String fileName) {
+			return new OutputStream() {
+				@Override
+				public void write(int b) {
+					bytes++;
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) {
+					bytes += len;
+				}
+			};
+		}
+
+		@Override
+		public void close() {
+			// nothing is written
+		}
+	}
+}
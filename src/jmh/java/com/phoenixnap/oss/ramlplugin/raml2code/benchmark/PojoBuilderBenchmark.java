@@ -0,0 +1,88 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.PojoBuilder;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlInterpretationResult;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlInterpreterFactory;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks the field emission of {@link PojoBuilder}: a POJO is built for
+ * every object type of the spec from field types which were resolved
+ * upfront, so the interpreters are not part of the measurement.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PojoBuilderBenchmark {
+
+	private final List<List<Field>> pojos = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void resolveFields(BenchmarkSpec spec) {
+		JCodeModel codeModel = new JCodeModel();
+		for (RamlDataType dataType : spec.raml.getTypes().values()) {
+			if (!(dataType.getType() instanceof ObjectTypeDeclaration)) {
+				continue;
+			}
+			List<Field> fields = new ArrayList<>();
+			for (TypeDeclaration property : ((ObjectTypeDeclaration) dataType.getType()).properties()) {
+				RamlInterpretationResult result = RamlInterpreterFactory.getInterpreterForType(property).interpret(spec.raml, property,
+						codeModel, true);
+				fields.add(new Field(property, result.getResolvedClassOrBuiltOrObject().fullName(), result));
+			}
+			pojos.add(fields);
+		}
+	}
+
+	@Benchmark
+	public JCodeModel withField() {
+		JCodeModel codeModel = new JCodeModel();
+		int index = 0;
+		for (List<Field> fields : pojos) {
+			PojoBuilder builder = new PojoBuilder(codeModel, "Pojo" + index++);
+			for (Field field : fields) {
+				builder.withField(field.property.name(), field.type, RamlTypeHelper.getDescription(field.property),
+						field.result.getValidations(), field.property);
+			}
+		}
+		return codeModel;
+	}
+
+	private static class Field {
+
+		private final TypeDeclaration property;
+		private final String type;
+		private final RamlInterpretationResult result;
+
+		private Field(TypeDeclaration property, String type, RamlInterpretationResult result) {
+			this.property = property;
+			this.type = type;
+			this.result = result;
+		}
+	}
+}
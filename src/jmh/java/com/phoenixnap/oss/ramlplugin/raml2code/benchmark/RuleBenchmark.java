@@ -0,0 +1,64 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Rule;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4ControllerDecoratorRule;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4RestTemplateClientRule;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.SpringFeignClientInterfaceRule;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Benchmarks applying the top level rules to every controller of the spec.
+ * Like the plugin, a single rule instance is shared by all controllers.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleBenchmark {
+
+	@Param({ "Spring4ControllerDecoratorRule", "Spring4RestTemplateClientRule", "SpringFeignClientInterfaceRule" })
+	public String rule;
+
+	private Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> ruleInstance;
+
+	@Setup(Level.Trial)
+	public void createRule() {
+		if (Spring4RestTemplateClientRule.class.getSimpleName().equals(rule)) {
+			ruleInstance = new Spring4RestTemplateClientRule();
+		} else if (SpringFeignClientInterfaceRule.class.getSimpleName().equals(rule)) {
+			ruleInstance = new SpringFeignClientInterfaceRule();
+		} else {
+			ruleInstance = new Spring4ControllerDecoratorRule();
+		}
+	}
+
+	@Benchmark
+	public JCodeModel applyRule(BenchmarkSpec spec) {
+		JCodeModel codeModel = new JCodeModel();
+		for (ApiResourceMetadata controller : spec.controllers) {
+			ruleInstance.apply(controller, codeModel);
+		}
+		return codeModel;
+	}
+}
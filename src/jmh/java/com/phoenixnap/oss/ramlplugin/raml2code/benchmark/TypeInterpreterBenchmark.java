@@ -0,0 +1,86 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlInterpreterFactory;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlTypeInterpreter;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks each {@link RamlTypeInterpreter} on the types of the spec it is
+ * responsible for. Top level types are interpreted as types, the properties
+ * of object types as properties. Every invocation interprets into a new code
+ * model, so object types are built from scratch each time.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TypeInterpreterBenchmark {
+
+	@Param({ "ObjectTypeInterpreter", "ArrayTypeInterpreter", "UnionTypeInterpreter", "StringTypeInterpreter", "NumberTypeInterpreter",
+			"BooleanTypeInterpreter", "DateTypeInterpreter", "AnyTypeInterpreter" })
+	public String interpreter;
+
+	private final List<TypeDeclaration> types = new ArrayList<>();
+
+	private final List<TypeDeclaration> properties = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void collectTypes(BenchmarkSpec spec) {
+		for (RamlDataType dataType : spec.raml.getTypes().values()) {
+			TypeDeclaration type = dataType.getType();
+			if (isInterpretedBySelectedInterpreter(type)) {
+				types.add(type);
+			}
+			if (type instanceof ObjectTypeDeclaration) {
+				for (TypeDeclaration property : ((ObjectTypeDeclaration) type).properties()) {
+					if (isInterpretedBySelectedInterpreter(property)) {
+						properties.add(property);
+					}
+				}
+			}
+		}
+		if (types.isEmpty() && properties.isEmpty()) {
+			throw new IllegalStateException("The spec contains no types interpreted by " + interpreter);
+		}
+	}
+
+	private boolean isInterpretedBySelectedInterpreter(TypeDeclaration type) {
+		return RamlInterpreterFactory.getInterpreterForType(type).getClass().getSimpleName().equals(interpreter);
+	}
+
+	@Benchmark
+	public void interpret(BenchmarkSpec spec, Blackhole blackhole) {
+		JCodeModel codeModel = new JCodeModel();
+		for (TypeDeclaration type : types) {
+			blackhole.consume(RamlInterpreterFactory.getInterpreterForType(type).interpret(spec.raml, type, codeModel, false));
+		}
+		for (TypeDeclaration property : properties) {
+			blackhole.consume(RamlInterpreterFactory.getInterpreterForType(property).interpret(spec.raml, property, codeModel, true));
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Benchmarks the interpretation of every declared type of a spec whose types
+ * inherit from each other in short chains, so the lookups of the parent
+ * types go through the type registry of the document. Every invocation
+ * interprets into a new code model.
+ *
+ * @since 2.1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TypeRegistryBenchmark {
+
+	@Param({ "100", "1000", "2000" })
+	public int types;
+
+	private File directory;
+
+	private RamlRoot raml;
+
+	@Setup(Level.Trial)
+	public void writeSpec() throws IOException {
+		StringBuilder spec = new StringBuilder("#%RAML 1.0\ntitle: synthetic\ntypes:\n");
+		for (int i = 0; i < types; i++) {
+			spec.append("  Type").append(i).append(":\n");
+			spec.append("    type: ").append(i % 10 == 0 ? "object" : "Type" + (i - 1)).append("\n");
+			spec.append("    properties:\n");
+			spec.append("      field").append(i).append(": string\n");
+		}
+		directory = Files.createTempDirectory("raml-benchmark").toFile();
+		File ramlFile = new File(directory, "types.raml");
+		Files.write(ramlFile.toPath(), spec.toString().getBytes(StandardCharsets.UTF_8));
+		raml = RamlLoader.loadRamlFromFile(ramlFile.toURI().toString());
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteSpec() {
+		FileSystemUtils.deleteRecursively(directory);
+	}
+
+	@Benchmark
+	public JCodeModel interpretAllTypes() {
+		JCodeModel codeModel = new JCodeModel();
+		for (RamlDataType type : raml.getTypes().values()) {
+			RamlTypeHelper.mapTypeToPojo(codeModel, raml, type.getType());
+		}
+		return codeModel;
+	}
+}
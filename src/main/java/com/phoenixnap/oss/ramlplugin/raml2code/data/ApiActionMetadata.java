@@ -66,6 +66,15 @@ public class ApiActionMetadata {
 
 	private String responseContentTypeFilter;
 
+	/**
+	 * Values derived from the metadata which are computed once the controllers
+	 * are fully parsed, see {@link #memoizeDerivedValues()}
+	 */
+	private boolean memoized = false;
+	private String name;
+	private String produces;
+	private String consumes;
+
 	public ApiActionMetadata(ApiResourceMetadata parent, RamlResource resource, RamlActionType actionType, RamlAction action,
 			String responseContentTypeFilter) {
 		super();
@@ -88,8 +97,35 @@ public class ApiActionMetadata {
 
 	}
 
+	/**
+	 * Computes the name, path variables, produces and consumes of this action
+	 * and keeps them for all subsequent calls. This should be invoked only
+	 * after all the controllers have been parsed since the naming depends on
+	 * the request and response bodies.
+	 */
+	public void memoizeDerivedValues() {
+		memoized = false;
+		Set<ApiParameterMetadata> pathVariables = Collections.unmodifiableSet(buildPathVariables());
+		String name = buildName();
+		String produces = buildProduces();
+		String consumes = buildConsumes();
+
+		this.pathVariables = pathVariables;
+		this.name = name;
+		this.produces = produces;
+		this.consumes = consumes;
+		memoized = true;
+	}
+
 	public Set<ApiParameterMetadata> getPathVariables() {
-		pathVariables = new LinkedHashSet<>();
+		if (memoized) {
+			return pathVariables;
+		}
+		return buildPathVariables();
+	}
+
+	private Set<ApiParameterMetadata> buildPathVariables() {
+		Set<ApiParameterMetadata> pathVariables = new LinkedHashSet<>();
 
 		RamlResource targetResource = action.getResource();
 
@@ -244,6 +280,13 @@ public class ApiActionMetadata {
 	}
 
 	public String getName() {
+		if (memoized) {
+			return name;
+		}
+		return buildName();
+	}
+
+	private String buildName() {
 		String name = NamingHelper.getActionName(this);
 		if (responseContentTypeFilter != null) {
 			name += NamingHelper.convertContentTypeToQualifier(responseContentTypeFilter);
@@ -252,6 +295,13 @@ public class ApiActionMetadata {
 	}
 
 	public String getProduces() {
+		if (memoized) {
+			return produces;
+		}
+		return buildProduces();
+	}
+
+	private String buildProduces() {
 		if (responseBody != null && !responseBody.isEmpty()) {
 			String out = "";
 			boolean first = true;
@@ -270,6 +320,13 @@ public class ApiActionMetadata {
 	}
 
 	public String getConsumes() {
+		if (memoized) {
+			return consumes;
+		}
+		return buildConsumes();
+	}
+
+	private String buildConsumes() {
 		if (action.hasBody()) {
 			String out = null;
 			boolean first = true;
@@ -311,6 +368,7 @@ public class ApiActionMetadata {
 	}
 
 	public void setParent(ApiResourceMetadata parent) {
+		this.memoized = false;
 		this.parent = parent;
 	}
 
@@ -319,6 +377,7 @@ public class ApiActionMetadata {
 	}
 
 	public void setResource(RamlResource resource) {
+		this.memoized = false;
 		this.resource = resource;
 	}
 
@@ -327,6 +386,7 @@ public class ApiActionMetadata {
 	}
 
 	public void setActionType(RamlActionType actionType) {
+		this.memoized = false;
 		this.actionType = actionType;
 	}
 
@@ -335,6 +395,7 @@ public class ApiActionMetadata {
 	}
 
 	public void setAction(RamlAction action) {
+		this.memoized = false;
 		this.action = action;
 	}
 
@@ -352,10 +413,12 @@ public class ApiActionMetadata {
 	}
 
 	public void setPathVariables(Set<ApiParameterMetadata> pathVariables) {
+		this.memoized = false;
 		this.pathVariables = pathVariables;
 	}
 
 	public void setRequestParameters(Set<ApiParameterMetadata> requestParameters) {
+		this.memoized = false;
 		this.requestParameters = requestParameters;
 	}
 
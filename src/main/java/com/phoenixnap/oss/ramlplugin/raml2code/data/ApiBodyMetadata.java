@@ -17,6 +17,7 @@ import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingHelper;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlParamType;
 import com.sun.codemodel.JCodeModel;
 
@@ -49,68 +50,31 @@ public class ApiBodyMetadata {
 		// rules for narrowing to List
 	}
 
-	private int nestingCounter(String target, int index) {
-		int nestedLevels = 0;
-
-		for (int i = 0; i < index; i++) {
-			if (target.charAt(i) == '{') {
-				nestedLevels++;
-			}
-			if (target.charAt(i) == '}') {
-				nestedLevels--;
-			}
-		}
-
-		return nestedLevels;
-	}
-
 	public ApiBodyMetadata(String name, String schema, JCodeModel codeModel) {
 		super();
 		this.schema = schema;
 		this.name = name;
 		this.codeModel = codeModel;
 
-		boolean typeFound = false;
-
-		int typeIdx = schema.indexOf("type");
-
-		while (!typeFound) {
-			if (typeIdx == -1) {
-				typeFound = true;
-				break;
-			}
-			if (nestingCounter(schema, typeIdx) == 1) {
-				typeFound = true;
-			} else {
-				typeIdx = schema.indexOf("type", typeIdx + 1);
+		String possibleType = Config.getSchemaSummary(schema).getType();
+		if (possibleType != null) {
+			this.name = NamingHelper.getResourceName(this.name, true);
+			if ("array".equals(possibleType.toLowerCase())) {
+				array = true;
 			}
-		}
-
-		if (typeIdx != -1) {
-			int quoteIdx = schema.indexOf("\"", typeIdx + 6);
-			if (quoteIdx != -1) {
-				int nextQuoteIdxIdx = schema.indexOf("\"", quoteIdx + 1);
-				if (nextQuoteIdxIdx != -1) {
-					String possibleType = schema.substring(quoteIdx + 1, nextQuoteIdxIdx);
-					this.name = NamingHelper.getResourceName(this.name, true);
-					if ("array".equals(possibleType.toLowerCase())) {
-						array = true;
-					}
-					if (codeModel.countArtifacts() == 0) {
-						if (!"object".equals(possibleType.toLowerCase())) {
-							try {
-								this.name = SchemaHelper.mapSimpleType(RamlParamType.valueOf(possibleType.toUpperCase()), null, null)
-										.getSimpleName();
-							} catch (Exception ex) {
-								this.name = String.class.getSimpleName(); // default
-																			// to
-																			// string
-							}
-							this.codeModel = null;
-						}
-
+			if (codeModel.countArtifacts() == 0) {
+				if (!"object".equals(possibleType.toLowerCase())) {
+					try {
+						this.name = SchemaHelper.mapSimpleType(RamlParamType.valueOf(possibleType.toUpperCase()), null, null)
+								.getSimpleName();
+					} catch (Exception ex) {
+						this.name = String.class.getSimpleName(); // default
+																	// to
+																	// string
 					}
+					this.codeModel = null;
 				}
+
 			}
 		}
 	}
@@ -14,16 +14,28 @@ package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.regex.Pattern;
 
 import org.apache.commons.io.output.StringBuilderWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidCodeModelException;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDeclaration;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JFormatter;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JPackage;
@@ -38,6 +50,13 @@ import com.sun.codemodel.JType;
  */
 public abstract class CodeModelHelper {
 
+	/**
+	 * Class Logger
+	 */
+	protected static final Logger logger = LoggerFactory.getLogger(CodeModelHelper.class);
+
+	private static final Pattern SERIAL_VERSION_UID_LINE = Pattern.compile("(?m)^.*serialVersionUID.*$");
+
 	/**
 	 * Returns the string equivalent of the code model element
 	 * 
@@ -53,15 +72,51 @@ public abstract class CodeModelHelper {
 	}
 
 	/**
-	 * Searches inside a JCodeModel for a class with a specified name ignoring
-	 * package
+	 * Replaces the serialVersionUID of every class in the code model by a hash
+	 * of the code of the class, so the same class always gets the same
+	 * serialVersionUID
 	 *
-	 * @param codeModel[]
-	 *            The codemodels which we will look inside
+	 * @param codeModel
+	 *            The code model to update
+	 */
+	public static void updateSerialVersionUIDs(JCodeModel codeModel) {
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			Iterator<JDefinedClass> classes = packages.next().classes();
+			while (classes.hasNext()) {
+				updateSerialVersionUID(classes.next());
+			}
+		}
+	}
+
+	private static void updateSerialVersionUID(JDefinedClass definedClass) {
+		Iterator<JDefinedClass> innerClasses = definedClass.classes();
+		while (innerClasses.hasNext()) {
+			updateSerialVersionUID(innerClasses.next());
+		}
+		JFieldVar serialVersionUID = definedClass.fields().get("serialVersionUID");
+		if (serialVersionUID != null) {
+			// the hash must not depend on the current serialVersionUIDs
+			String code = SERIAL_VERSION_UID_LINE.matcher(getElementAsString(definedClass)).replaceAll("");
+			try {
+				byte[] hash = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+				serialVersionUID.init(JExpr.lit(ByteBuffer.wrap(hash).getLong()));
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("SHA-256 is not supported", e);
+			}
+		}
+	}
+
+	/**
+	 * Searches inside a JCodeModel for a class with a specified name, looking
+	 * in the package of the POJOs first
+	 *
+	 * @param codeModel
+	 *            The codemodel which we will look inside
 	 * @param simpleClassName
 	 *            The class name to search for
-	 * @return the first class in any package that matches the simple class
-	 *         name.
+	 * @return the class in the POJO package or the first class in any other
+	 *         package that matches the simple class name.
 	 */
 	public static JClass findFirstClassBySimpleName(JCodeModel codeModel, String simpleClassName) {
 		return findFirstClassBySimpleName(codeModel == null ? new JCodeModel[] { new JCodeModel() } : new JCodeModel[] { codeModel },
@@ -69,56 +124,141 @@ public abstract class CodeModelHelper {
 	}
 
 	/**
-	 * Searches inside a JCodeModel for a class with a specified name ignoring
-	 * package
+	 * Searches inside JCodeModels for a class with a specified name, looking in
+	 * the package of the POJOs first
 	 *
 	 * @param codeModels
 	 *            The codemodels which we will look inside
 	 * @param simpleClassName
 	 *            The class name to search for
-	 * @return the first class in any package that matches the simple class
-	 *         name.
+	 * @return the class in the POJO package or the first class in any other
+	 *         package that matches the simple class name.
 	 */
 	public static JClass findFirstClassBySimpleName(JCodeModel[] codeModels, String simpleClassName) {
+		return findClassBySimpleName(codeModels, Config.getPojoPackage(), simpleClassName);
+	}
+
+	/**
+	 * Searches inside a JCodeModel for a class with a specified name, looking
+	 * in the supplied package first
+	 *
+	 * @param codeModel
+	 *            The codemodel which we will look inside
+	 * @param packageName
+	 *            The package the class is expected in
+	 * @param simpleClassName
+	 *            The class name to search for
+	 * @return the class in the supplied package or the first class in any other
+	 *         package that matches the simple class name.
+	 */
+	public static JClass findClassBySimpleName(JCodeModel codeModel, String packageName, String simpleClassName) {
+		return findClassBySimpleName(codeModel == null ? new JCodeModel[] { new JCodeModel() } : new JCodeModel[] { codeModel },
+				packageName, simpleClassName);
+	}
+
+	/**
+	 * Searches inside JCodeModels for a class with a specified name. The class
+	 * is looked up in the supplied package first and only if it isn't there, in
+	 * all the other packages. Code models are not thread safe and the code
+	 * models of the bodies are shared by controllers generated in parallel, so
+	 * each code model is locked while it is searched. Resolving a simple type
+	 * adds it to the first code model, which is locked as well.
+	 *
+	 * @param codeModels
+	 *            The codemodels which we will look inside
+	 * @param packageName
+	 *            The package the class is expected in
+	 * @param simpleClassName
+	 *            The class name to search for
+	 * @return the class in the supplied package or the first class in any other
+	 *         package that matches the simple class name.
+	 */
+	public static JClass findClassBySimpleName(JCodeModel[] codeModels, String packageName, String simpleClassName) {
 		if (codeModels != null && codeModels.length > 0) {
-			for (JCodeModel codeModel : codeModels) {
+			if (simpleClassName.indexOf('.') < 0) {
+				JDefinedClass foundClass = findClassInPackage(codeModels, packageName, simpleClassName);
+				if (foundClass == null) {
+					foundClass = findClassInAnyPackage(codeModels, simpleClassName);
+				}
+				if (foundClass != null) {
+					return foundClass;
+				}
+			}
+			synchronized (codeModels[0]) {
+				return resolveSimpleType(codeModels[0], simpleClassName);
+			}
+		}
+
+		throw new InvalidCodeModelException("No code models provided for " + simpleClassName);
+
+	}
+
+	private static JDefinedClass findClassInPackage(JCodeModel[] codeModels, String packageName, String simpleClassName) {
+		if (packageName == null) {
+			return null;
+		}
+		for (JCodeModel codeModel : codeModels) {
+			synchronized (codeModel) {
+				// _package would create the package if it doesn't exist
 				Iterator<JPackage> packages = codeModel.packages();
 				while (packages.hasNext()) {
 					JPackage jPackage = packages.next();
-					Iterator<JDefinedClass> classes = jPackage.classes();
-					while (classes.hasNext()) {
-						JDefinedClass aClass = classes.next();
-						if (aClass.name().equals(simpleClassName)) {
+					if (jPackage.name().equals(packageName)) {
+						JDefinedClass aClass = jPackage._getClass(simpleClassName);
+						if (aClass != null) {
 							return aClass;
 						}
+						break;
 					}
 				}
 			}
-			// Is this a simple type?
-			JType parseType;
-			try {
-				parseType = codeModels[0].parseType(simpleClassName);
-				if (parseType != null) {
-					if (parseType.isPrimitive()) {
-						return parseType.boxify();
-					} else if (parseType instanceof JClass) {
-						return (JClass) parseType;
+		}
+		return null;
+	}
+
+	private static JDefinedClass findClassInAnyPackage(JCodeModel[] codeModels, String simpleClassName) {
+		// every package keeps its classes mapped by simple name so we only
+		// need a lookup per package instead of visiting every class
+		Map<String, JDefinedClass> foundClasses = new LinkedHashMap<>();
+		for (JCodeModel codeModel : codeModels) {
+			synchronized (codeModel) {
+				Iterator<JPackage> packages = codeModel.packages();
+				while (packages.hasNext()) {
+					JDefinedClass aClass = packages.next()._getClass(simpleClassName);
+					if (aClass != null) {
+						foundClasses.putIfAbsent(aClass.fullName(), aClass);
 					}
 				}
-			} catch (ClassNotFoundException e) {
-				; // Do nothing we will throw an exception further down
 			}
+		}
+		if (foundClasses.size() > 1) {
+			logger.warn("Ambiguous simple class name " + simpleClassName + " matches " + foundClasses.keySet() + ", using the first one");
+		}
+		return foundClasses.isEmpty() ? null : foundClasses.values().iterator().next();
+	}
 
-			JClass boxedPrimitive = codeModels[0].ref("java.lang." + simpleClassName);
-			if (boxedPrimitive != null) {
-				return boxedPrimitive;
+	private static JClass resolveSimpleType(JCodeModel codeModel, String simpleClassName) {
+		// Is this a simple type?
+		JType parseType;
+		try {
+			parseType = codeModel.parseType(simpleClassName);
+			if (parseType != null) {
+				if (parseType.isPrimitive()) {
+					return parseType.boxify();
+				} else if (parseType instanceof JClass) {
+					return (JClass) parseType;
+				}
 			}
-
-			throw new InvalidCodeModelException("No unique class found for simple class name " + simpleClassName);
+		} catch (ClassNotFoundException e) {
+			; // Do nothing we will throw an exception further down
 		}
 
-		throw new InvalidCodeModelException("No code models provided for " + simpleClassName);
+		JClass boxedPrimitive = codeModel.ref("java.lang." + simpleClassName);
+		if (boxedPrimitive != null) {
+			return boxedPrimitive;
+		}
 
+		throw new InvalidCodeModelException("No unique class found for simple class name " + simpleClassName);
 	}
 
 	public static JExtMethod ext(JMethod jMethod, JCodeModel jCodeModel) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * The top level keywords of a JSON schema which are needed to name and classify
+ * a body: type, id, javaType and $ref, for the schema itself and for the object
+ * in its items. The schema is read in a single streaming pass, nested schemas
+ * other than the items are skipped without being inspected.
+ *
+ * @since 2.1.0
+ */
+public final class JsonSchemaSummary {
+
+	protected static final Logger logger = LoggerFactory.getLogger(JsonSchemaSummary.class);
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory().enable(JsonParser.Feature.ALLOW_COMMENTS);
+
+	private String type;
+
+	private String id;
+
+	private String javaType;
+
+	private String ref;
+
+	private JsonSchemaSummary items;
+
+	private JsonSchemaSummary() {
+	}
+
+	/**
+	 * Reads the keywords of a schema. If the schema is not valid JSON, the
+	 * keywords read up to the error are kept.
+	 *
+	 * @param schema
+	 *            The JSON schema
+	 * @return the keywords of the schema
+	 */
+	public static JsonSchemaSummary parse(String schema) {
+		JsonSchemaSummary summary = new JsonSchemaSummary();
+		if (schema == null) {
+			return summary;
+		}
+		try (JsonParser parser = JSON_FACTORY.createParser(schema)) {
+			if (parser.nextToken() == JsonToken.START_OBJECT) {
+				readObject(parser, summary, true);
+			}
+		} catch (IOException e) {
+			logger.debug("Schema is not valid JSON, using the keywords read so far", e);
+		}
+		return summary;
+	}
+
+	/**
+	 * Reads the fields of the object the parser is positioned at, up to and
+	 * including its end
+	 */
+	private static void readObject(JsonParser parser, JsonSchemaSummary summary, boolean readItems) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (value == JsonToken.VALUE_STRING) {
+				summary.setKeyword(field, parser.getText());
+			} else if (value == JsonToken.START_ARRAY && "type".equals(field)) {
+				// a union of types, such as ["object", "null"]
+				for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+					if (token == JsonToken.VALUE_STRING) {
+						summary.setKeyword(field, parser.getText());
+					} else {
+						parser.skipChildren();
+					}
+				}
+			} else if (readItems && value == JsonToken.START_OBJECT && "items".equals(field) && summary.items == null) {
+				summary.items = new JsonSchemaSummary();
+				readObject(parser, summary.items, false);
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void setKeyword(String field, String value) {
+		switch (field) {
+			case "type":
+				type = type != null ? type : value;
+				break;
+			case "id":
+				id = id != null ? id : value;
+				break;
+			case "javaType":
+				javaType = javaType != null ? javaType : value;
+				break;
+			case "$ref":
+				ref = ref != null ? ref : value;
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * @return the type, the first one if the schema lists several
+	 */
+	public String getType() {
+		return type;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getJavaType() {
+		return javaType;
+	}
+
+	public String getRef() {
+		return ref;
+	}
+
+	/**
+	 * @return the keywords of the items if they are a single schema, null
+	 *         otherwise
+	 */
+	public JsonSchemaSummary getItems() {
+		return items;
+	}
+
+	/**
+	 * @return true if the type of the schema is array
+	 */
+	public boolean isArray() {
+		return "array".equalsIgnoreCase(type);
+	}
+}
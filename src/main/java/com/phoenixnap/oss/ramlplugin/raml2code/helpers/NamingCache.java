@@ -0,0 +1,172 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the names computed by the {@link NamingHelper} during an execution,
+ * since the same resource, field and enum names are cleaned, singularized and
+ * pluralized many times. The least recently used names are dropped once the
+ * cache is full. Only functions whose result depends on nothing but their input
+ * may be cached.
+ *
+ * @since 2.1.0
+ */
+public final class NamingCache {
+
+	/**
+	 * The number of names kept if no other size is given
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final int maximumSize;
+
+	private final Map<Key, String> names;
+
+	private long hits = 0;
+
+	private long misses = 0;
+
+	private long evictions = 0;
+
+	public NamingCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * @param maximumSize
+	 *            The maximum number of names kept
+	 */
+	public NamingCache(int maximumSize) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size of the naming cache must be positive, but was " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.names = new LinkedHashMap<Key, String>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+				if (size() > NamingCache.this.maximumSize) {
+					evictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached name or computes and caches it. The name is computed
+	 * outside of the lock, so concurrent callers may compute the same name
+	 * twice.
+	 *
+	 * @param operation
+	 *            The name of the naming function, the input is cached
+	 *            separately for every function
+	 * @param input
+	 *            The input of the function
+	 * @param function
+	 *            The naming function
+	 * @return the name, null results are not cached
+	 */
+	public String get(String operation, String input, Function<String, String> function) {
+		Key key = new Key(operation, input);
+		synchronized (this) {
+			String name = names.get(key);
+			if (name != null) {
+				hits++;
+				return name;
+			}
+			misses++;
+		}
+		String name = function.apply(input);
+		if (name != null) {
+			synchronized (this) {
+				names.put(key, name);
+			}
+		}
+		return name;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return the share of the lookups answered from the cache, between 0 and 1
+	 */
+	public synchronized double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	public synchronized int size() {
+		return names.size();
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(Locale.ROOT, "%d hits, %d misses (%.1f%% hit rate), %d of %d names cached, %d evicted", hits, misses,
+				getHitRate() * 100, names.size(), maximumSize, evictions);
+	}
+
+	private static final class Key {
+
+		private final String operation;
+
+		private final String input;
+
+		private final int hash;
+
+		private Key(String operation, String input) {
+			this.operation = operation;
+			this.input = input;
+			this.hash = 31 * operation.hashCode() + input.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash == other.hash && operation.equals(other.operation) && input.equals(other.input);
+		}
+	}
+}
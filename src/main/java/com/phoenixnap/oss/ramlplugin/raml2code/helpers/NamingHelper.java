@@ -12,18 +12,13 @@
  */
 package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
 
-import static java.util.Arrays.asList;
-import static org.apache.commons.lang3.StringUtils.containsOnly;
 import static org.apache.commons.lang3.StringUtils.difference;
-import static org.apache.commons.lang3.StringUtils.isEmpty;
-import static org.apache.commons.lang3.StringUtils.join;
-import static org.apache.commons.lang3.StringUtils.splitByCharacterTypeCamelCase;
-import static org.apache.commons.lang3.StringUtils.upperCase;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -56,8 +51,6 @@ public class NamingHelper {
 
 	private static final Pattern SLASH = Pattern.compile("/");
 
-	private static final String ILLEGAL_CHARACTER_REGEX = "[^0-9a-zA-Z_$]";
-
 	private static final String KEYWORDS[] = { "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const",
 			"continue", "default", "do", "double", "else", "extends", "false", "final", "finally", "float", "for", "goto", "if",
 			"implements", "import", "instanceof", "int", "interface", "long", "native", "new", "null", "package", "private", "protected",
@@ -78,6 +71,18 @@ public class NamingHelper {
 
 	}
 
+	/**
+	 * Applies a naming function through the naming cache of the current
+	 * execution, if there is one
+	 */
+	private static String memoize(String operation, String input, Function<String, String> function) {
+		NamingCache cache = Config.getNamingCache();
+		if (cache == null || input == null) {
+			return function.apply(input);
+		}
+		return cache.get(operation, input, function);
+	}
+
 	/**
 	 * Converts an http contentType into a qualifier that can be used within a
 	 * Java method
@@ -202,18 +207,68 @@ public class NamingHelper {
 		if (!StringUtils.hasText(input)) {
 			return input;
 		}
-		String output = input;
-		output = output.replaceAll("[\\s]+\\*[\\s]+", " ");
-		while (output.startsWith("/") || output.startsWith("\n") || output.startsWith("*") || output.startsWith("-")
-				|| output.startsWith("\t") || output.startsWith(" ") || output.startsWith("\\")) {
-			output = output.substring(1);
+		String output = collapseCommentAsterisks(input);
+		int start = 0;
+		int end = output.length();
+		while (start < end && isLeadingNoise(output.charAt(start))) {
+			start++;
 		}
+		while (end > start && isTrailingNoise(output.charAt(end - 1))) {
+			end--;
+		}
+		return output.substring(start, end);
+	}
 
-		while (output.endsWith("/") || output.endsWith("\n") || output.endsWith(" ") || output.endsWith(",") || output.endsWith("\t")
-				|| output.endsWith("-") || output.endsWith("*")) {
-			output = output.substring(0, output.length() - 1);
+	/**
+	 * Replaces every asterisk surrounded by whitespace, including the
+	 * whitespace, with a single space. Same as replaceAll("[\\s]+\\*[\\s]+", "
+	 * ") in a single pass.
+	 */
+	private static String collapseCommentAsterisks(String input) {
+		StringBuilder output = null;
+		int copied = 0;
+		int length = input.length();
+		int i = 0;
+		while (i < length) {
+			if (!isRegexWhitespace(input.charAt(i))) {
+				i++;
+				continue;
+			}
+			int asterisk = i + 1;
+			while (asterisk < length && isRegexWhitespace(input.charAt(asterisk))) {
+				asterisk++;
+			}
+			if (asterisk + 1 < length && input.charAt(asterisk) == '*' && isRegexWhitespace(input.charAt(asterisk + 1))) {
+				int end = asterisk + 2;
+				while (end < length && isRegexWhitespace(input.charAt(end))) {
+					end++;
+				}
+				if (output == null) {
+					output = new StringBuilder(length);
+				}
+				output.append(input, copied, i).append(' ');
+				copied = end;
+				i = end;
+			} else {
+				i = asterisk;
+			}
+		}
+		if (output == null) {
+			return input;
 		}
-		return output;
+		return output.append(input, copied, length).toString();
+	}
+
+	private static boolean isRegexWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+	}
+
+	private static boolean isLeadingNoise(char c) {
+		return c == '/' || c == '\n' || c == '*' || c == '-' || c == '\t' || c == ' ' || c == '\\';
+	}
+
+	private static boolean isTrailingNoise(char c) {
+		return c == '/' || c == '\n' || c == ' ' || c == ',' || c == '\t' || c == '-' || c == '*';
 	}
 
 	/**
@@ -294,6 +349,13 @@ public class NamingHelper {
 	 *         inferred
 	 */
 	public static String getResourceName(String resource, boolean singularize) {
+		if (singularize) {
+			return memoize("getSingularResourceName", resource, name -> computeResourceName(name, true));
+		}
+		return memoize("getResourceName", resource, name -> computeResourceName(name, false));
+	}
+
+	private static String computeResourceName(String resource, boolean singularize) {
 		if (StringUtils.hasText(resource)) {
 			String resourceName = StringUtils.capitalize(resource);
 			if (singularize) {
@@ -314,6 +376,10 @@ public class NamingHelper {
 	 * @return singularized name
 	 */
 	public static String singularize(String target) {
+		return memoize("singularize", target, NamingHelper::computeSingular);
+	}
+
+	private static String computeSingular(String target) {
 		// TODO we should add this as an issue in the RamlBase project and
 		// provide a pull request
 		String result = Inflector.singularize(target);
@@ -324,6 +390,10 @@ public class NamingHelper {
 	}
 
 	public static String pluralize(String target) {
+		return memoize("pluralize", target, NamingHelper::computePlural);
+	}
+
+	private static String computePlural(String target) {
 		if ((target.endsWith("s"))) {
 			return target;
 		}
@@ -355,6 +425,13 @@ public class NamingHelper {
 	}
 
 	private static String cleanNameForJava(String resourceName, boolean filterKeywords) {
+		if (filterKeywords) {
+			return memoize("cleanNameForJava", resourceName, name -> computeNameForJava(name, true));
+		}
+		return memoize("cleanNameForJavaKeepKeywords", resourceName, name -> computeNameForJava(name, false));
+	}
+
+	private static String computeNameForJava(String resourceName, boolean filterKeywords) {
 		String outString = resourceName;
 		if (StringUtils.hasText(resourceName)) {
 			outString = getNameHelper().replaceIllegalCharacters(resourceName);
@@ -389,19 +466,61 @@ public class NamingHelper {
 		if (!StringUtils.hasText(enumConstant)) {
 			return enumConstant;
 		}
+		return memoize("cleanNameForJavaEnum", enumConstant, NamingHelper::computeNameForJavaEnum);
+	}
 
-		List<String> nameGroups = new ArrayList<>(asList(splitByCharacterTypeCamelCase(enumConstant)));
-
-		nameGroups.removeIf(s -> containsOnly(s.replaceAll(ILLEGAL_CHARACTER_REGEX, "_"), "_"));
+	/**
+	 * Splits the constant into groups of characters of the same type, as
+	 * splitByCharacterTypeCamelCase does, drops the groups without any
+	 * character which is valid in an identifier and joins the rest in upper
+	 * case with underscores, in a single pass
+	 */
+	private static String computeNameForJavaEnum(String enumConstant) {
+		StringBuilder enumName = new StringBuilder(enumConstant.length() + 8);
+		int length = enumConstant.length();
+		int tokenStart = 0;
+		int currentType = Character.getType(enumConstant.charAt(0));
+		for (int pos = 1; pos < length; pos++) {
+			int type = Character.getType(enumConstant.charAt(pos));
+			if (type == currentType) {
+				continue;
+			}
+			if (type == Character.LOWERCASE_LETTER && currentType == Character.UPPERCASE_LETTER) {
+				// the last upper case letter starts the next camel case word
+				int newTokenStart = pos - 1;
+				if (newTokenStart != tokenStart) {
+					appendEnumNameGroup(enumName, enumConstant, tokenStart, newTokenStart);
+					tokenStart = newTokenStart;
+				}
+			} else {
+				appendEnumNameGroup(enumName, enumConstant, tokenStart, pos);
+				tokenStart = pos;
+			}
+			currentType = type;
+		}
+		appendEnumNameGroup(enumName, enumConstant, tokenStart, length);
 
-		String enumName = upperCase(join(nameGroups, "_"));
-		if (isEmpty(enumName)) {
-			enumName = "_DEFAULT_";
-		} else if (Character.isDigit(enumName.charAt(0))) {
-			enumName = "_" + enumName;
+		if (enumName.length() == 0) {
+			return filterKeywords("_DEFAULT_");
+		}
+		String upperCaseName = enumName.toString().toUpperCase();
+		if (Character.isDigit(upperCaseName.charAt(0))) {
+			upperCaseName = "_" + upperCaseName;
 		}
+		return filterKeywords(upperCaseName);
+	}
 
-		return filterKeywords(enumName);
+	private static void appendEnumNameGroup(StringBuilder enumName, String enumConstant, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = enumConstant.charAt(i);
+			if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '$') {
+				if (enumName.length() > 0) {
+					enumName.append('_');
+				}
+				enumName.append(enumConstant, start, end);
+				return;
+			}
+		}
 	}
 
 	private static boolean doesUriEndsWithParam(String uri) {
@@ -12,12 +12,17 @@
  */
 package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationReport;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlAction;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlActionType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlResource;
@@ -58,41 +63,88 @@ public class RamlParser {
 	 *         system
 	 */
 	public Set<ApiResourceMetadata> extractControllers(JCodeModel bodyCodeModel, RamlRoot raml) {
-
 		Set<ApiResourceMetadata> controllers = new LinkedHashSet<>();
+		JCodeModel codeModel = bodyCodeModel != null ? bodyCodeModel : new JCodeModel();
+		extractControllers(raml, () -> codeModel, (resourceCodeModel, resources) -> controllers.addAll(resources));
+		return controllers;
+	}
+
+	/**
+	 * Extracts the controllers one top level resource at a time and hands them
+	 * over to a consumer. Nothing is kept once the consumer returns, so the
+	 * controllers and body objects of a resource can be released as soon as
+	 * their code is generated. Name collisions between controllers are resolved
+	 * upfront, the controllers are the same as the ones returned by
+	 * {@link #extractControllers(JCodeModel, RamlRoot)}.
+	 * 
+	 * @param raml
+	 *            The raml document to be parsed
+	 * @param bodyCodeModels
+	 *            Supplies the code model for the body objects of each top level
+	 *            resource
+	 * @param consumer
+	 *            Receives the code model and the controllers of each top level
+	 *            resource
+	 */
+	public void extractControllers(RamlRoot raml, Supplier<JCodeModel> bodyCodeModels,
+			BiConsumer<JCodeModel, Set<ApiResourceMetadata>> consumer) {
 		if (raml == null) {
-			return controllers;
-		}
-		if (bodyCodeModel == null) {
-			bodyCodeModel = new JCodeModel();
+			return;
 		}
+		GenerationReport report = Config.getReport();
+		Set<String> namesToDisable = getCollidingResourceNames(raml);
 
-		Set<String> names = new LinkedHashSet<>();
-		Set<String> namesToDisable = new LinkedHashSet<>();
 		// Iterate on all parent resources
 		// if we have child resources, just append the url and go down the chain
 		// until we hit the first action.
 		// if an action is found we need to
-		for (Entry<String, RamlResource> resource : raml.getResources().entrySet()) {
-			Set<ApiResourceMetadata> resources = checkResource(bodyCodeModel, startUrl, resource.getValue(), null, raml);
-			for (ApiResourceMetadata resourceMetadata : resources) {
-				if (names.contains(resourceMetadata.getResourceName())) {
-					// collision has occured, lets mark this for 2nd pass
-					namesToDisable.add(resourceMetadata.getResourceName());
+		for (RamlResource resource : raml.getResources().values()) {
+			JCodeModel codeModel = bodyCodeModels.get();
+			Set<ApiResourceMetadata> controllers = report.measure(GenerationReport.EXTRACTION, resource.getUri(), () -> {
+				Set<ApiResourceMetadata> resources = checkResource(codeModel, startUrl, resource, null, raml);
+				for (ApiResourceMetadata resourceMetadata : resources) {
+					// collisions are known upfront, disabling singularisation
+					if (namesToDisable.contains(resourceMetadata.getResourceName())) {
+						resourceMetadata.setSingularizeName(false);
+					}
+					// names and parameters won't change anymore so there is no
+					// need to compute them every time they are used
+					resourceMetadata.getApiCalls().forEach(ApiActionMetadata::memoizeDerivedValues);
 				}
-				names.add(resourceMetadata.getResourceName());
-				controllers.add(resourceMetadata);
-			}
+				return resources;
+			});
+			consumer.accept(codeModel, controllers);
 		}
+	}
 
-		// second pass, disabling singularisation
-		for (ApiResourceMetadata resourceMetadata : controllers) {
-			if (namesToDisable.contains(resourceMetadata.getResourceName())) {
-				resourceMetadata.setSingularizeName(false);
-			}
+	/**
+	 * Finds the names shared by multiple controllers. Follows the controller
+	 * creation of checkResource without extracting any actions.
+	 * 
+	 * @param raml
+	 *            The raml document to be parsed
+	 * @return the names of more than one controller
+	 */
+	private Set<String> getCollidingResourceNames(RamlRoot raml) {
+		Set<String> names = new HashSet<>();
+		Set<String> collisions = new HashSet<>();
+		for (RamlResource resource : raml.getResources().values()) {
+			collectControllerNames(resource, names, collisions);
 		}
+		return collisions;
+	}
 
-		return controllers;
+	private void collectControllerNames(RamlResource resource, Set<String> names, Set<String> collisions) {
+		if (shouldCreateController(resource)) {
+			String name = NamingHelper.getResourceName(resource, true);
+			if (!names.add(name)) {
+				collisions.add(name);
+			}
+		} else if (resource.getResources() != null) {
+			for (RamlResource childResource : resource.getResources().values()) {
+				collectControllerNames(childResource, names, collisions);
+			}
+		}
 	}
 
 	private boolean shouldCreateController(RamlResource resource) {
@@ -12,9 +12,12 @@
  */
 package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.raml.v2.api.model.common.ValidationResult;
 import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
@@ -35,6 +38,9 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlInterpretationResult;
 import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlInterpreterFactory;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationReport;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
 import com.sun.codemodel.JAnnotationUse;
 import com.sun.codemodel.JClass;
@@ -97,6 +103,19 @@ public class RamlTypeHelper {
 	 * @return Object representing this Body
 	 */
 	public static ApiBodyMetadata mapTypeToPojo(JCodeModel pojoCodeModel, RamlRoot document, TypeDeclaration type) {
+		return Config.getReport().measure(GenerationReport.TYPE_INTERPRETATION, null, () -> {
+			if (pojoCodeModel == null) {
+				return interpretTypeToPojo(null, document, type);
+			}
+			// the interpreters add classes to the code model, which is not
+			// thread safe and may be read by other threads
+			synchronized (pojoCodeModel) {
+				return interpretTypeToPojo(pojoCodeModel, document, type);
+			}
+		});
+	}
+
+	private static ApiBodyMetadata interpretTypeToPojo(JCodeModel pojoCodeModel, RamlRoot document, TypeDeclaration type) {
 		RamlInterpretationResult interpret = RamlInterpreterFactory.getInterpreterForType(type).interpret(document, type, pojoCodeModel,
 				false);
 
@@ -228,6 +247,35 @@ public class RamlTypeHelper {
 		return type.equalsIgnoreCase(Object.class.getSimpleName());
 	}
 
+	/**
+	 * Collects the data types which extend a data type directly or through
+	 * other data types, e.g. for the subtypes of a discriminator. Each child is
+	 * followed by its own subtypes.
+	 * 
+	 * @param document
+	 *            The RAML document declaring the data types
+	 * @param typeName
+	 *            The name of the parent data type
+	 * @return the subtypes, empty if there are none
+	 */
+	public static List<RamlDataType> getSubtypes(RamlRoot document, String typeName) {
+		List<RamlDataType> subtypes = new ArrayList<>();
+		Set<String> visited = new HashSet<>();
+		visited.add(typeName);
+		collectSubtypes(document, typeName, subtypes, visited);
+		return subtypes;
+	}
+
+	private static void collectSubtypes(RamlRoot document, String typeName, List<RamlDataType> subtypes, Set<String> visited) {
+		for (RamlDataType childType : document.getChildTypes(typeName)) {
+			String childName = childType.getType().name();
+			if (visited.add(childName)) {
+				subtypes.add(childType);
+				collectSubtypes(document, childName, subtypes, visited);
+			}
+		}
+	}
+
 	/**
 	 * Adds appropriate <code>pattern</code> attribute to provided annotation on
 	 * {@link Date} property.
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.ContentResolver;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.SchemaGenerator;
+import org.jsonschema2pojo.SchemaMapper;
+import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+
+/**
+ * Generates the classes of all the JSON schemas of an execution into one code
+ * model, which is shared with the RAML data types. A single {@link SchemaStore}
+ * and {@link RuleFactory} are used, so a schema referenced with $ref is
+ * fetched, parsed and generated once per URI, and a body schema used by several
+ * resources is generated once.
+ *
+ * @since 2.1.0
+ */
+public final class SchemaGenerationEngine {
+
+	protected static final Logger logger = LoggerFactory.getLogger(SchemaGenerationEngine.class);
+
+	private final JCodeModel codeModel;
+
+	private final String schemaLocation;
+
+	private final Annotator annotator;
+
+	/**
+	 * The types generated for the body schemas, by base URI and schema
+	 */
+	private final Map<String, JType> generatedTypes = new HashMap<>();
+
+	private SchemaMapper mapper;
+
+	private EvictingSchemaStore schemaStore;
+
+	private int reusedSchemas = 0;
+
+	/**
+	 * @param codeModel
+	 *            The code model the classes are generated into
+	 * @param schemaLocation
+	 *            The location $ref tags are resolved against if no other one is
+	 *            given, "classpath:/" if empty
+	 * @param annotator
+	 *            JsonSchema2Pojo annotator. if null a default annotator will be
+	 *            used
+	 */
+	public SchemaGenerationEngine(JCodeModel codeModel, String schemaLocation, Annotator annotator) {
+		this.codeModel = codeModel;
+		this.schemaLocation = StringUtils.hasText(schemaLocation) ? schemaLocation : "classpath:/";
+		this.annotator = annotator;
+	}
+
+	/**
+	 * @return the code model the classes are generated into
+	 */
+	public JCodeModel getCodeModel() {
+		return codeModel;
+	}
+
+	/**
+	 * Generates the classes of a schema unless it was generated before. If the
+	 * schema can't be generated, the classes which were created for it are
+	 * removed again together with the schemas of the {@link SchemaStore} which
+	 * refer to them, the schemas generated before are kept. The code model is
+	 * locked while the classes are generated as it is shared with the RAML data
+	 * types.
+	 *
+	 * @param basePackage
+	 *            The package we will be using for the domain objects
+	 * @param location
+	 *            The location $ref tags are resolved against, the location of
+	 *            this engine if empty
+	 * @param name
+	 *            The class name
+	 * @param schema
+	 *            The JSON Schema representing this class
+	 * @return the generated type or null if the schema couldn't be generated
+	 */
+	public JType generate(String basePackage, String location, String name, String schema) {
+		String baseUri = StringUtils.hasText(location) ? location : schemaLocation;
+		String key = baseUri + "\n" + basePackage + "\n" + schema;
+		synchronized (codeModel) {
+			JType type = generatedTypes.get(key);
+			if (type != null) {
+				reusedSchemas++;
+				return type;
+			}
+
+			Set<JDefinedClass> existingClasses = getClasses();
+			try {
+				type = getMapper().generate(codeModel, name, basePackage, schema, new URI(baseUri));
+			} catch (Exception e) {
+				logger.debug("Schema " + name + " can't be generated into the shared code model", e);
+				schemaStore.evict(removeClassesExcept(existingClasses));
+				return null;
+			}
+			generatedTypes.put(key, type);
+			return type;
+		}
+	}
+
+	/**
+	 * @return the number of distinct body schemas generated
+	 */
+	public int getGeneratedSchemas() {
+		synchronized (codeModel) {
+			return generatedTypes.size();
+		}
+	}
+
+	/**
+	 * @return the number of times a body schema was reused instead of being
+	 *         generated again
+	 */
+	public int getReusedSchemas() {
+		synchronized (codeModel) {
+			return reusedSchemas;
+		}
+	}
+
+	private SchemaMapper getMapper() {
+		if (mapper == null) {
+			GenerationConfig config = Config.getPojoConfig();
+			if (config == null) {
+				config = SchemaHelper.getDefaultGenerationConfig();
+			}
+			schemaStore = new EvictingSchemaStore(Config.getSchemaResolver());
+			RuleFactory ruleFactory = new RuleFactory(config, annotator != null ? annotator : new Jackson2Annotator(config), schemaStore);
+			mapper = new SchemaMapper(ruleFactory, new SchemaGenerator());
+		}
+		return mapper;
+	}
+
+	private Set<JDefinedClass> getClasses() {
+		Set<JDefinedClass> classes = Collections.newSetFromMap(new IdentityHashMap<>());
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			packages.next().classes().forEachRemaining(classes::add);
+		}
+		return classes;
+	}
+
+	private Set<JDefinedClass> removeClassesExcept(Set<JDefinedClass> existingClasses) {
+		Set<JDefinedClass> removedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			JPackage pkg = packages.next();
+			List<JDefinedClass> createdClasses = new ArrayList<>();
+			pkg.classes().forEachRemaining(definedClass -> {
+				if (!existingClasses.contains(definedClass)) {
+					createdClasses.add(definedClass);
+				}
+			});
+			createdClasses.forEach(pkg::remove);
+			removedClasses.addAll(createdClasses);
+		}
+		return removedClasses;
+	}
+
+	/**
+	 * Schema store which can forget the schemas whose classes were removed from
+	 * the code model, so they are generated again when referenced later
+	 */
+	private static final class EvictingSchemaStore extends SchemaStore {
+
+		EvictingSchemaStore(ContentResolver contentResolver) {
+			super(contentResolver);
+		}
+
+		synchronized void evict(Set<JDefinedClass> removedClasses) {
+			schemas.values().removeIf(schema -> refersTo(schema.getJavaType(), removedClasses));
+		}
+
+		private static boolean refersTo(JType type, Set<JDefinedClass> classes) {
+			if (type == null || type.isPrimitive()) {
+				return false;
+			}
+			if (type.isArray()) {
+				return refersTo(type.elementType(), classes);
+			}
+			JClass jClass = (JClass) type;
+			if (classes.contains(jClass.erasure()) || refersTo(jClass.outer(), classes)) {
+				return true;
+			}
+			for (JClass typeParameter : jClass.getTypeParameters()) {
+				if (refersTo(typeParameter, classes)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
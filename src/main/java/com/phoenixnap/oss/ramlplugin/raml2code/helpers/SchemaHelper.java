@@ -17,9 +17,9 @@ import java.math.BigDecimal;
 import java.net.URI;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.io.IOUtils;
 import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.DefaultGenerationConfig;
 import org.jsonschema2pojo.GenerationConfig;
@@ -35,10 +35,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationReport;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlParamType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
 
 /**
  * Class containing convenience methods relating to the extracting of
@@ -186,32 +190,44 @@ public class SchemaHelper {
 	 * @return The Name for this Class (POJO)
 	 */
 	public static String extractNameFromSchema(String schema, String schemaName, String fallbackName) {
+		return extractNameFromSchema(schema, schemaName, fallbackName, null);
+	}
+
+	/**
+	 * Extracts the name from a schema, as
+	 * {@link #extractNameFromSchema(String, String, String)} does, resolving
+	 * the $ref of array items against the given location
+	 *
+	 * @param schema
+	 *            The Actual JSON Schema
+	 * @param schemaName
+	 *            The name of the schema within the document
+	 * @param fallbackName
+	 *            any arbitrary name
+	 * @param schemaLocation
+	 *            Base location of this schema eg "classpath:/"
+	 * @return The Name for this Class (POJO)
+	 */
+	public static String extractNameFromSchema(String schema, String schemaName, String fallbackName, String schemaLocation) {
 		String resolvedName = null;
 		if (schema != null) {
+			JsonSchemaSummary summary = Config.getSchemaSummary(schema);
 			// if we have an array type we need to recurse into it
-			int startIdx = 0;
-			String type = extractTopItem("type", schema, startIdx);
-			if (type != null && type.equalsIgnoreCase("array")) {
-				int itemsIdx = schema.indexOf("\"items\"");
-				if (itemsIdx != -1) {
-					startIdx = itemsIdx + 7;
+			if (summary.isArray()) {
+				if (summary.getItems() != null) {
+					summary = summary.getItems();
 				}
 				// lets check if we have a ref
-				String ref = extractTopItem("$ref", schema, startIdx);
+				String ref = summary.getRef();
 				if (ref != null) {
-					logger.info("Loading referenced schema " + ref);
-					ref = ref.replace("classpath:", "");
-					try {
-						schema = IOUtils.toString(Thread.currentThread().getContextClassLoader().getResourceAsStream(ref), "UTF-8");
-						startIdx = 0; // reset pointer since we recursed into
-										// schema
-					} catch (IOException e) {
-						logger.info("Erro Loading referenced schema " + ref, e);
+					JsonSchemaSummary referencedSummary = loadReferencedSchema(schemaLocation, ref);
+					if (referencedSummary != null) {
+						summary = referencedSummary;
 					}
 				}
 			}
 			// check if javaType can give us exact name
-			String javaType = extractTopItem("javaType", schema, startIdx);
+			String javaType = summary.getJavaType();
 			if (StringUtils.hasText(javaType)) {
 				// do stuff to it
 				int dotIdx = javaType.lastIndexOf(".");
@@ -221,7 +237,7 @@ public class SchemaHelper {
 				resolvedName = javaType;
 
 			} else {
-				String id = extractTopItem("id", schema, startIdx);
+				String id = summary.getId();
 				if (StringUtils.hasText(id)) {
 					// do stuff to it
 					if (id.startsWith("urn:") && ((id.lastIndexOf(":") + 1) < id.length())) {
@@ -250,34 +266,24 @@ public class SchemaHelper {
 	}
 
 	/**
-	 * Extracts the value of a specified parameter in a schema
+	 * Loads a schema referenced from the items of an array
 	 * 
-	 * @param searchString
-	 *            element to search for
-	 * @param schema
-	 *            Schema as a string
-	 * @return the value or null if not found
+	 * @param schemaLocation
+	 *            The location the reference is relative to
+	 * @param ref
+	 *            The reference
+	 * @return the keywords of the referenced schema or null if it can't be
+	 *         loaded
 	 */
-	private static String extractTopItem(String searchString, String schema, int startIdx) {
-		String extracted = null;
-		int propIdx = schema.indexOf("\"properties\"", startIdx);
-		if (propIdx == -1) {
-			propIdx = Integer.MAX_VALUE;
-		}
-		// check for second
-		int idIdx = schema.indexOf("\"" + searchString + "\"", startIdx);
-		int secondIdIdx = schema.indexOf("\"" + searchString + "\"", idIdx + 1);
-		if (secondIdIdx != -1 && propIdx > secondIdIdx) {
-			idIdx = secondIdIdx;
-		}
-		if (idIdx != -1 && propIdx > idIdx) { // make sure we're not in a nested
-												// id
-			// find the 1st and second " after the idx
-			int valueStartIdx = schema.indexOf("\"", idIdx + (searchString.length() + 2));
-			int valueEndIdx = schema.indexOf("\"", valueStartIdx + 1);
-			extracted = schema.substring(valueStartIdx + 1, valueEndIdx);
+	private static JsonSchemaSummary loadReferencedSchema(String schemaLocation, String ref) {
+		logger.info("Loading referenced schema " + ref);
+		try {
+			URI uri = SchemaResolver.resolveReference(schemaLocation, ref);
+			return Config.getSchemaSummary(Config.getSchemaResolver().getDocument(uri));
+		} catch (IOException | IllegalArgumentException e) {
+			logger.info("Erro Loading referenced schema " + ref, e);
+			return null;
 		}
-		return extracted;
 	}
 
 	private static String JSON_SCHEMA_IDENT = "http://jsonschema.net";
@@ -303,6 +309,12 @@ public class SchemaHelper {
 	 */
 	public static ApiBodyMetadata mapSchemaToPojo(RamlRoot document, String schema, String basePackage, String name,
 			String schemaLocation) {
+		return Config.getReport().measure(GenerationReport.TYPE_INTERPRETATION, null,
+				() -> interpretSchemaToPojo(document, schema, basePackage, name, schemaLocation));
+	}
+
+	private static ApiBodyMetadata interpretSchemaToPojo(RamlRoot document, String schema, String basePackage, String name,
+			String schemaLocation) {
 		String resolvedName = null;
 		String schemaName = schema;
 
@@ -314,7 +326,16 @@ public class SchemaHelper {
 		}
 
 		// Extract name from schema
-		resolvedName = extractNameFromSchema(resolvedSchema, schemaName, name);
+		resolvedName = extractNameFromSchema(resolvedSchema, schemaName, name, schemaLocation);
+		SchemaGenerationEngine schemaEngine = Config.getSchemaEngine();
+		if (schemaEngine != null) {
+			String className = getGeneratedClassName(schemaEngine.generate(basePackage, schemaLocation, resolvedName, resolvedSchema));
+			if (className != null) {
+				return new ApiBodyMetadata(className, resolvedSchema, schemaEngine.getCodeModel());
+			}
+			// simple types and failed schemas get a code model of their own,
+			// as without the engine
+		}
 		JCodeModel codeModel = buildBodyJCodeModel(basePackage, StringUtils.hasText(schemaLocation) ? schemaLocation : "classpath:/",
 				resolvedName, resolvedSchema, null);
 		if (codeModel != null) {
@@ -343,6 +364,27 @@ public class SchemaHelper {
 		}
 	}
 
+	/**
+	 * The name of the class generated for a body. For arrays this is the class
+	 * of the items.
+	 *
+	 * @param type
+	 *            The type generated for the schema
+	 * @return the class name or null if no class was generated
+	 */
+	private static String getGeneratedClassName(JType type) {
+		if (type instanceof JDefinedClass) {
+			return type.name();
+		}
+		if (type instanceof JClass) {
+			List<JClass> typeParameters = ((JClass) type).getTypeParameters();
+			if (typeParameters.size() == 1 && typeParameters.get(0) instanceof JDefinedClass) {
+				return typeParameters.get(0).name();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Builds a JCodeModel for classes that will be used as Request or Response
 	 * bodies
@@ -364,7 +406,7 @@ public class SchemaHelper {
 	public static JCodeModel buildBodyJCodeModel(String basePackage, String schemaLocation, String name, String schema,
 			Annotator annotator) {
 		JCodeModel codeModel = new JCodeModel();
-		SchemaStore schemaStore = new SchemaStore();
+		SchemaStore schemaStore = new SchemaStore(Config.getSchemaResolver());
 
 		GenerationConfig config = Config.getPojoConfig();
 		if (config == null) {
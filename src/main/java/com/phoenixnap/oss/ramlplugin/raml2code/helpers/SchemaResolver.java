@@ -0,0 +1,216 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.jsonschema2pojo.ContentResolver;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Loads the JSON schemas referenced by the bodies of an execution and caches
+ * them by their canonical URI, so a schema referenced by many bodies is read
+ * once. Supports file, jar and classpath URIs, other URIs are read through
+ * their URL. Classpath URIs are looked up in the schema directories first and
+ * then on the class path, which replaces adding the schema directory to the
+ * class path of the JVM. <p> The resolver is also used as the
+ * {@link ContentResolver} of the jsonschema2pojo schema stores.
+ *
+ * @since 2.1.0
+ */
+public class SchemaResolver extends ContentResolver {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(JsonParser.Feature.ALLOW_COMMENTS);
+
+	private final List<Path> schemaDirectories;
+
+	/**
+	 * The schemas read so far, by canonical URI
+	 */
+	private final Map<URI, String> documents = new ConcurrentHashMap<>();
+
+	/**
+	 * The parsed schemas, by canonical URI
+	 */
+	private final Map<URI, JsonNode> nodes = new ConcurrentHashMap<>();
+
+	/**
+	 * The URIs of all the schemas requested so far, canonical unless the schema
+	 * couldn't be found
+	 */
+	private final Set<URI> requestedDocuments = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param schemaDirectories
+	 *            The directories searched for classpath URIs before the class
+	 *            path
+	 */
+	public SchemaResolver(List<File> schemaDirectories) {
+		List<Path> directories = new ArrayList<>();
+		if (schemaDirectories != null) {
+			schemaDirectories.forEach(directory -> directories.add(directory.toPath().toAbsolutePath().normalize()));
+		}
+		this.schemaDirectories = Collections.unmodifiableList(directories);
+	}
+
+	/**
+	 * Resolves a reference against a base location
+	 *
+	 * @param baseLocation
+	 *            The location the reference is relative to, "classpath:/" if
+	 *            empty
+	 * @param ref
+	 *            The reference
+	 * @return the URI of the referenced schema
+	 */
+	public static URI resolveReference(String baseLocation, String ref) {
+		URI base = URI.create(baseLocation != null && !baseLocation.isEmpty() ? baseLocation : "classpath:/");
+		return base.resolve(URI.create(ref));
+	}
+
+	/**
+	 * Reads a schema
+	 *
+	 * @param uri
+	 *            The URI of the schema
+	 * @return the schema
+	 * @throws IOException
+	 *             if the schema can't be found or read
+	 */
+	public String getDocument(URI uri) throws IOException {
+		URI canonicalUri;
+		try {
+			canonicalUri = canonicalize(uri);
+		} catch (IOException e) {
+			requestedDocuments.add(uri);
+			throw e;
+		}
+		requestedDocuments.add(canonicalUri);
+		String document = documents.get(canonicalUri);
+		if (document == null) {
+			document = read(canonicalUri);
+			documents.putIfAbsent(canonicalUri, document);
+		}
+		return document;
+	}
+
+	/**
+	 * @return the URIs of all the schemas requested so far, including the ones
+	 *         which couldn't be read
+	 */
+	public Set<URI> getRequestedDocuments() {
+		return Collections.unmodifiableSet(requestedDocuments);
+	}
+
+	/**
+	 * Reads and parses a schema for jsonschema2pojo. Each schema is parsed
+	 * once, callers get their own copy.
+	 *
+	 * @param uri
+	 *            The URI of the schema
+	 * @return the parsed schema
+	 */
+	@Override
+	public JsonNode resolve(URI uri) {
+		try {
+			URI canonicalUri = canonicalize(uri);
+			JsonNode node = nodes.get(canonicalUri);
+			if (node == null) {
+				node = OBJECT_MAPPER.readTree(getDocument(canonicalUri));
+				nodes.putIfAbsent(canonicalUri, node);
+			}
+			return node.deepCopy();
+		} catch (IOException e) {
+			requestedDocuments.add(uri);
+			throw new IllegalArgumentException("Couldn't read content from " + uri, e);
+		}
+	}
+
+	/**
+	 * @param uri
+	 *            The URI of a schema
+	 * @return the URI the schema is found at, classpath URIs are resolved to
+	 *         the file or jar containing the schema
+	 * @throws IOException
+	 *             if a classpath schema can't be found
+	 */
+	URI canonicalize(URI uri) throws IOException {
+		String scheme = uri.getScheme();
+		if ("classpath".equals(scheme) || "resource".equals(scheme) || "java".equals(scheme)) {
+			return findOnClasspath(uri);
+		}
+		if ("file".equals(scheme)) {
+			Path path = Paths.get(uri);
+			return (Files.exists(path) ? path.toRealPath() : path.normalize()).toUri();
+		}
+		return uri.normalize();
+	}
+
+	private URI findOnClasspath(URI uri) throws IOException {
+		String resource = uri.getSchemeSpecificPart();
+		while (resource.startsWith("/")) {
+			resource = resource.substring(1);
+		}
+		for (Path directory : schemaDirectories) {
+			Path path = directory.resolve(resource).normalize();
+			if (path.startsWith(directory) && Files.isRegularFile(path)) {
+				return path.toRealPath().toUri();
+			}
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		URL url = classLoader != null ? classLoader.getResource(resource) : null;
+		if (url == null) {
+			url = SchemaResolver.class.getClassLoader().getResource(resource);
+		}
+		if (url == null) {
+			throw new IOException("Schema " + uri + " not found in the schema location or on the classpath");
+		}
+		try {
+			return canonicalize(url.toURI());
+		} catch (URISyntaxException e) {
+			throw new IOException("Invalid location " + url + " of schema " + uri, e);
+		}
+	}
+
+	private static String read(URI uri) throws IOException {
+		if ("file".equals(uri.getScheme())) {
+			return new String(Files.readAllBytes(Paths.get(uri)), StandardCharsets.UTF_8);
+		}
+		URLConnection connection = uri.toURL().openConnection();
+		// don't keep jar files open after the generation
+		connection.setUseCaches(false);
+		try (InputStream stream = connection.getInputStream()) {
+			return IOUtils.toString(stream, StandardCharsets.UTF_8);
+		}
+	}
+}
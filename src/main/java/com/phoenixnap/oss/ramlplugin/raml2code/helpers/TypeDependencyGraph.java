@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.UnionTypeDeclaration;
+import org.springframework.util.StringUtils;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+
+/**
+ * Dependencies between the data types declared in a RAML document. A type
+ * depends on its parent types, the types of its properties, array items and
+ * union members and, if it declares a discriminator, on its child types. The
+ * graph tells which types a resource uses, the types themselves are still
+ * interpreted on demand.
+ *
+ * @since 2.1.0
+ */
+public final class TypeDependencyGraph {
+
+	private static final Set<String> BUILT_IN_TYPES = new HashSet<>(Arrays.asList("any", "object", "array", "union", "nil", "string",
+			"number", "integer", "boolean", "date-only", "time-only", "datetime-only", "datetime", "file"));
+
+	/**
+	 * Inline declarations are nested rarely, this only guards against
+	 * declarations which refer to themselves without a name
+	 */
+	private static final int MAX_INLINE_DEPTH = 32;
+
+	private final Map<String, Set<String>> dependencies;
+
+	private final Map<String, Set<String>> subtypes;
+
+	/**
+	 * @param dependencies
+	 *            The parent, property, array item and union member types of
+	 *            every type, in declaration order
+	 * @param subtypes
+	 *            The child types, including their own child types, of the types
+	 *            declaring a discriminator
+	 */
+	TypeDependencyGraph(Map<String, Set<String>> dependencies, Map<String, Set<String>> subtypes) {
+		this.dependencies = dependencies;
+		this.subtypes = subtypes;
+	}
+
+	/**
+	 * Builds the dependency graph of all the types declared in a RAML document
+	 *
+	 * @param document
+	 *            The RAML document
+	 * @return the dependency graph
+	 */
+	public static TypeDependencyGraph build(RamlRoot document) {
+		Map<String, RamlDataType> types = document.getTypes() != null ? document.getTypes() : Collections.emptyMap();
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+		for (Map.Entry<String, RamlDataType> type : types.entrySet()) {
+			Set<String> references = new LinkedHashSet<>();
+			collectReferences(type.getValue().getType(), types.keySet(), references, 0);
+			references.remove(type.getKey());
+			dependencies.put(type.getKey(), references);
+		}
+
+		// a parent with a discriminator lists all its descendants in its
+		// subtypes
+		Map<String, Set<String>> subtypes = new HashMap<>();
+		for (Map.Entry<String, RamlDataType> type : types.entrySet()) {
+			TypeDeclaration declaration = type.getValue().getType();
+			if (declaration instanceof ObjectTypeDeclaration
+					&& !StringUtils.isEmpty(((ObjectTypeDeclaration) declaration).discriminator())) {
+				for (RamlDataType child : RamlTypeHelper.getSubtypes(document, type.getKey())) {
+					subtypes.computeIfAbsent(type.getKey(), key -> new LinkedHashSet<>()).add(child.getType().name());
+				}
+			}
+		}
+		return new TypeDependencyGraph(dependencies, subtypes);
+	}
+
+	/**
+	 * Collects the names of the declared types a declaration refers to. Inline
+	 * declarations are inspected recursively, declared types are only
+	 * referenced.
+	 */
+	private static void collectReferences(TypeDeclaration declaration, Set<String> declaredTypes, Set<String> references, int depth) {
+		if (declaration == null) {
+			return;
+		}
+		if (depth > 0 && declaredTypes.contains(declaration.name())) {
+			references.add(declaration.name());
+			return;
+		}
+		boolean inline = true;
+		String typeExpression = declaration.type();
+		if (typeExpression != null) {
+			for (String name : typeExpression.replace("(", " ").replace(")", " ").replace("[]", " ").split("\\|")) {
+				name = name.trim();
+				if (declaredTypes.contains(name)) {
+					references.add(name);
+					inline = false;
+				} else if (!name.isEmpty() && !BUILT_IN_TYPES.contains(name) && !name.contains("/")) {
+					// a type which isn't declared in the document, e.g. a
+					// library type
+					inline = false;
+				}
+			}
+		}
+		if (declaration.parentTypes() != null) {
+			for (TypeDeclaration parent : declaration.parentTypes()) {
+				if (parent != null && declaredTypes.contains(parent.name())) {
+					references.add(parent.name());
+				}
+			}
+		}
+		if ((!inline && depth > 0) || depth >= MAX_INLINE_DEPTH) {
+			// the members of declared types are their own dependencies
+			return;
+		}
+
+		if (declaration instanceof ObjectTypeDeclaration) {
+			for (TypeDeclaration property : ((ObjectTypeDeclaration) declaration).properties()) {
+				collectReferences(property, declaredTypes, references, depth + 1);
+			}
+		} else if (declaration instanceof ArrayTypeDeclaration) {
+			collectReferences(((ArrayTypeDeclaration) declaration).items(), declaredTypes, references, depth + 1);
+		} else if (declaration instanceof UnionTypeDeclaration) {
+			for (TypeDeclaration member : ((UnionTypeDeclaration) declaration).of()) {
+				collectReferences(member, declaredTypes, references, depth + 1);
+			}
+		}
+	}
+
+	/**
+	 * @return the names of the declared types, in declaration order
+	 */
+	public Set<String> getTypeNames() {
+		return Collections.unmodifiableSet(dependencies.keySet());
+	}
+
+	/**
+	 * @param typeName
+	 *            The name of a declared type
+	 * @return the declared types the type depends on directly, including its
+	 *         discriminator child types
+	 */
+	public Set<String> getDependencies(String typeName) {
+		Set<String> typeDependencies = new LinkedHashSet<>();
+		if (dependencies.containsKey(typeName)) {
+			typeDependencies.addAll(dependencies.get(typeName));
+		}
+		if (subtypes.containsKey(typeName)) {
+			typeDependencies.addAll(subtypes.get(typeName));
+		}
+		return typeDependencies;
+	}
+
+	/**
+	 * Returns the types which can be reached from the given types through their
+	 * parent, property, array item and union member types. Discriminator child
+	 * types are only referenced by name from their parent, so they are only
+	 * followed on request.
+	 *
+	 * @param typeNames
+	 *            The types to start from, names which aren't declared in the
+	 *            document are ignored
+	 * @param includeSubtypes
+	 *            true to follow discriminator child types as well
+	 * @return the reachable types, including the declared given types
+	 */
+	public Set<String> getReachableTypes(Collection<String> typeNames, boolean includeSubtypes) {
+		Set<String> reachable = new LinkedHashSet<>();
+		Deque<String> pending = new ArrayDeque<>();
+		for (String typeName : typeNames) {
+			if (dependencies.containsKey(typeName) && reachable.add(typeName)) {
+				pending.push(typeName);
+			}
+		}
+		while (!pending.isEmpty()) {
+			String typeName = pending.pop();
+			Set<String> next = includeSubtypes ? getDependencies(typeName) : dependencies.get(typeName);
+			for (String dependency : next) {
+				if (dependencies.containsKey(dependency) && reachable.add(dependency)) {
+					pending.push(dependency);
+				}
+			}
+		}
+		return reachable;
+	}
+}
@@ -18,6 +18,7 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Random;
+import java.util.TimeZone;
 
 import javax.annotation.Generated;
 
@@ -69,7 +70,7 @@ public class AbstractBuilder {
 		if (this.pojo.name().equals(className)) {
 			throw new IllegalStateException("A class cannot extend itself");
 		}
-		this.pojo._extends(CodeModelHelper.findFirstClassBySimpleName(pojoModel, className));
+		this.pojo._extends(CodeModelHelper.findClassBySimpleName(pojoModel, this.pojo._package().name(), className));
 		return this;
 	}
 
@@ -84,9 +85,11 @@ public class AbstractBuilder {
 		// Implement Serializable
 		this.pojo._implements(Serializable.class);
 
-		// Add constant serializable id
-		this.pojo.field(JMod.STATIC | JMod.FINAL, this.pojoModel.LONG, "serialVersionUID",
-				JExpr.lit(new Random(System.currentTimeMillis()).nextLong()));
+		// Add constant serializable id. For reproducible output it is replaced
+		// by a hash of the class once the class is complete
+		long serialVersionUID = Boolean.TRUE.equals(Config.isReproducibleOutput()) ? this.pojo.fullName().hashCode()
+				: new Random(System.currentTimeMillis()).nextLong();
+		this.pojo.field(JMod.STATIC | JMod.FINAL, this.pojoModel.LONG, "serialVersionUID", JExpr.lit(serialVersionUID));
 	}
 
 	protected void implementsGeneratedAnnotation() {
@@ -125,7 +128,16 @@ public class AbstractBuilder {
 		JDocComment javadoc = this.pojo.javadoc();
 		// javadoc.add
 		javadoc.add(toJavaComment(classComment));
-		javadoc.add("\n\nGenerated using springmvc-raml-plugin on " + new SimpleDateFormat("MM/dd/yyyy HH:mm:ss").format(new Date()));
+		Date generationDate = Config.getGenerationDate();
+		if (generationDate == null) {
+			javadoc.add("\n\nGenerated using springmvc-raml-plugin");
+		} else {
+			SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm:ss");
+			if (Boolean.TRUE.equals(Config.isReproducibleOutput())) {
+				dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+			}
+			javadoc.add("\n\nGenerated using springmvc-raml-plugin on " + dateFormat.format(generationDate));
+		}
 		return this;
 	}
 
@@ -15,7 +15,6 @@ package com.phoenixnap.oss.ramlplugin.raml2code.interpreters;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
@@ -64,7 +63,6 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 		} else {
 			name = StringUtils.capitalize(objectType.name());
 		}
-		Map<String, RamlDataType> types = document.getTypes();
 		String typeName = objectType.type();
 
 		// When we have base arrays with type in the object they differ from
@@ -79,31 +77,29 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 		// create them
 		if (!RamlTypeHelper.isBaseObject(objectType.name()) && !RamlTypeHelper.isBaseObject(typeName) && property) {
 			name = typeName;
-			if (types.get(name) == null) {
+			RamlDataType dataType = document.getType(name);
+			if (dataType == null) {
 				throw new IllegalStateException("Data type " + name + " can't be found!");
 			}
-			typeName = types.get(name).getType().type();
+			typeName = dataType.getType().type();
 		}
 
 		// For mime types we need to take the type not the name
 		try {
 			MimeType.valueOf(name);
 			name = typeName;
-			typeName = types.get(name).getType().type();
+			typeName = document.getType(name).getType().type();
 
 		} catch (Exception ex) {
 			// not a valid mimetype do nothing
 			logger.debug("mime: " + name);
 		}
 
-		// check if there is a discriminator and child data types
-		List<RamlDataType> childTypes = new ArrayList<>();
+		// check if there is a discriminator and child data types, including
+		// the children of the children
+		List<RamlDataType> childTypes = Collections.emptyList();
 		if (!StringUtils.isEmpty(objectType.discriminator())) {
-			for (RamlDataType ramlDataType : document.getTypes().values()) {
-				if (name.equals(ramlDataType.getType().type())) {
-					childTypes.add(ramlDataType);
-				}
-			}
+			childTypes = RamlTypeHelper.getSubtypes(document, name);
 		}
 
 		// Lets check if we've already handled this class before.
@@ -127,7 +123,7 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 
 		// lets handle extensions first
 		if (!RamlTypeHelper.isBaseObject(typeName)) {
-			parent = types.get(typeName).getType();
+			parent = document.getType(typeName).getType();
 		} else if (objectType.parentTypes() != null && objectType.parentTypes().size() > 0) {
 			TypeDeclaration tempParent = objectType.parentTypes().get(0); // java
 																			// doesnt
@@ -137,7 +133,7 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 																			// take
 																			// first;
 			if (!RamlTypeHelper.isBaseObject(tempParent.name())) {
-				parent = types.get(tempParent.name()).getType();
+				parent = document.getType(tempParent.name()).getType();
 			}
 		} else {
 			parent = null;
@@ -179,7 +175,7 @@ public class ObjectTypeInterpreter extends BaseTypeInterpreter {
 			}
 			RamlInterpretationResult childResult = RamlInterpreterFactory.getInterpreterForType(objectProperty).interpret(document,
 					objectProperty, builderModel, true);
-			String childType = childResult.getResolvedClassOrBuiltOrObject().fullName();
+			JClass childType = childResult.getResolvedClassOrBuiltOrObject();
 			builder.withField(fieldName, childType, RamlTypeHelper.getDescription(objectProperty), childResult.getValidations(),
 					objectProperty);
 
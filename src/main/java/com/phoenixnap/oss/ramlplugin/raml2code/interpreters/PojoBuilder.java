@@ -88,7 +88,7 @@ public class PojoBuilder extends AbstractBuilder {
 		if (this.pojo.name().equals(className)) {
 			throw new IllegalStateException("A class cannot extend itself");
 		}
-		this.pojo._extends(CodeModelHelper.findFirstClassBySimpleName(pojoModel, className));
+		this.pojo._extends(CodeModelHelper.findClassBySimpleName(pojoModel, this.pojo._package().name(), className));
 		return this;
 	}
 
@@ -177,13 +177,55 @@ public class PojoBuilder extends AbstractBuilder {
 	public PojoBuilder withField(String name, String type, String comment, RamlTypeValidations validations,
 			TypeDeclaration typeDeclaration) {
 		pojoCreationCheck();
+		return addField(name, type, resolveType(type), comment, validations, typeDeclaration);
+	}
+
+	/**
+	 * Adds a field of an already resolved type together with its getter, setter
+	 * and (optionally) with method
+	 * 
+	 * @param name
+	 *            The name of the field
+	 * @param type
+	 *            The resolved class of the field
+	 * @param comment
+	 *            The javadoc of the field
+	 * @param validations
+	 *            The validations to apply to the field
+	 * @param typeDeclaration
+	 *            The RAML declaration of the field
+	 * @return This builder instance
+	 */
+	public PojoBuilder withField(String name, JClass type, String comment, RamlTypeValidations validations,
+			TypeDeclaration typeDeclaration) {
+		pojoCreationCheck();
+		return addField(name, type.fullName(), qualifyTypeArguments(type), comment, validations, typeDeclaration);
+	}
 
+	/**
+	 * Replaces the model classes used as type arguments by references to their
+	 * full names, so collections of model classes are written with qualified
+	 * type arguments like the String overload writes them
+	 */
+	private JClass qualifyTypeArguments(JClass type) {
+		List<JClass> typeArguments = type.getTypeParameters();
+		if (typeArguments.isEmpty()) {
+			return type;
+		}
+		List<JClass> qualifiedArguments = new ArrayList<>(typeArguments.size());
+		for (JClass typeArgument : typeArguments) {
+			qualifiedArguments.add(typeArgument instanceof JDefinedClass ? pojoModel.directClass(typeArgument.fullName())
+					: qualifyTypeArguments(typeArgument));
+		}
+		return type.erasure().narrow(qualifiedArguments);
+	}
+
+	private PojoBuilder addField(String name, String type, JClass resolvedType, String comment, RamlTypeValidations validations,
+			TypeDeclaration typeDeclaration) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Adding field: {} to {}", name, this.pojo.name());
 		}
 
-		JClass resolvedType = resolveType(type);
-
 		try {
 			// If this class is a collection (List)- lets add an import
 			if (resolvedType.fullName().startsWith(List.class.getName() + "<")) {
@@ -364,7 +406,7 @@ public class PojoBuilder extends AbstractBuilder {
 		Map<String, JVar> tFields = new LinkedHashMap<>();
 		JClass parent = pojo._extends();
 		if (!parent.name().equals(Object.class.getSimpleName())) {
-			parent = CodeModelHelper.findFirstClassBySimpleName(this.pojoModel, parent.name());
+			parent = CodeModelHelper.findClassBySimpleName(this.pojoModel, parent._package().name(), parent.name());
 			if (parent instanceof JDefinedClass) {
 				JDefinedClass jParent = (JDefinedClass) parent;
 				JMethod constructor = null;
@@ -421,6 +463,17 @@ public class PojoBuilder extends AbstractBuilder {
 		}
 	}
 
+	/**
+	 * Adds @JsonTypeInfo and @JsonSubTypes for a discriminator. All the
+	 * subtypes are listed, not just the direct children, so Jackson can resolve
+	 * every level of the hierarchy from the parent.
+	 * 
+	 * @param childTypes
+	 *            The data types extending the POJO directly or through other
+	 *            data types
+	 * @param discriminator
+	 *            The name of the discriminator property
+	 */
 	public void withJsonDiscriminator(List<RamlDataType> childTypes, String discriminator) {
 		this.pojo.annotate(JsonTypeInfo.class).param("property", discriminator).param("use", JsonTypeInfo.Id.NAME)
 				.param("include", As.EXISTING_PROPERTY).param("visible", true);
@@ -433,9 +486,20 @@ public class PojoBuilder extends AbstractBuilder {
 				// default value for discriminator is the name of the type
 				discriminatorValue = childType.getType().name();
 			}
-			jAnnotationArrayMember.annotate(JsonSubTypes.Type.class).param("value", resolveType(childType.getType().name())).param("name",
-					discriminatorValue);
+			jAnnotationArrayMember.annotate(JsonSubTypes.Type.class).param("value", resolveSubType(childType.getType().name()))
+					.param("name", discriminatorValue);
+		}
+	}
+
+	private JClass resolveSubType(String name) {
+		String className = NamingHelper.convertToClassName(name);
+		JClass subType = resolveType(className);
+		if (subType instanceof JDefinedClass) {
+			return subType;
 		}
+		// a subtype which wasn't interpreted yet, or is generated into the code
+		// model of another resource, is declared in the package of its parent
+		return this.pojoModel.directClass(this.pojo._package().name() + "." + className);
 	}
 
 	private void withToString(List<String> excludeFieldsFromToString) {
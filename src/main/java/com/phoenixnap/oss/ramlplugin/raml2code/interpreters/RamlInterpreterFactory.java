@@ -14,11 +14,15 @@ package com.phoenixnap.oss.ramlplugin.raml2code.interpreters;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+
 /**
  * Factory that will map PojoBuilders for specific RAML types
  * 
@@ -35,10 +39,17 @@ public class RamlInterpreterFactory {
 			new NullTypeInterpreter(), new NumberTypeInterpreter(), new ArrayTypeInterpreter(), new AnyTypeInterpreter(),
 			new FileTypeInterpreter(), new DateTypeInterpreter(), new UnionTypeInterpreter(), DEFAULT_INTERPRETER };
 
-	private static Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreters = new LinkedHashMap<>();
-	private static Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreterCache = new LinkedHashMap<>();
+	private static final Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreters = buildInterpreters();
+
+	/**
+	 * Dispatch table from the concrete (proxy) class of a type declaration to
+	 * the built in interpreter that handles it. Every concrete class is
+	 * resolved only once.
+	 */
+	private static final ConcurrentMap<Class<?>, RamlTypeInterpreter> interpreterCache = new ConcurrentHashMap<>();
 
-	static {
+	private static Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> buildInterpreters() {
+		Map<Class<? extends TypeDeclaration>, RamlTypeInterpreter> interpreters = new LinkedHashMap<>();
 		for (RamlTypeInterpreter interpreter : SUPPORTED_INTERPRETERS) {
 			for (Class<? extends TypeDeclaration> type : interpreter.getSupportedTypes()) {
 				if (interpreters.containsKey(type)) {
@@ -50,6 +61,7 @@ public class RamlInterpreterFactory {
 				logger.info("Adding Interpreter " + identifyByClass(interpreter) + " for type " + type.getSimpleName());
 			}
 		}
+		return interpreters;
 	}
 
 	private static String identifyByClass(Object obj) {
@@ -61,23 +73,38 @@ public class RamlInterpreterFactory {
 	}
 
 	public static RamlTypeInterpreter getInterpreterForType(TypeDeclaration type) {
-		RamlTypeInterpreter interpreter = interpreterCache.get(identifyByClass(type));
-		if (interpreter != null) {
-			return interpreter;
+		RamlTypeInterpreter customInterpreter = getCustomInterpreter(type);
+		if (customInterpreter != null) {
+			return customInterpreter;
 		}
+		return interpreterCache.computeIfAbsent(type.getClass(), typeClass -> resolveInterpreter(type));
+	}
 
-		for (Class<? extends TypeDeclaration> key : interpreters.keySet()) {
-			if (key.isAssignableFrom(type.getClass())) {
-				interpreter = interpreters.get(key);
-				interpreterCache.put(type.getClass(), interpreter);
-				break;
+	/**
+	 * Looks up the custom interpreters of the current execution, configured
+	 * with the typeInterpreters parameter. They take precedence over the built
+	 * in ones and are not part of the shared dispatch table as every execution
+	 * can configure its own.
+	 */
+	private static RamlTypeInterpreter getCustomInterpreter(TypeDeclaration type) {
+		for (RamlTypeInterpreter interpreter : Config.getTypeInterpreters()) {
+			for (Class<? extends TypeDeclaration> supportedType : interpreter.getSupportedTypes()) {
+				if (supportedType.isAssignableFrom(type.getClass())) {
+					return interpreter;
+				}
 			}
 		}
-		if (interpreter == null) {
-			logger.error("Missing Interpreter for type " + identifyByClass(type) + ":" + type.type());
-			interpreter = DEFAULT_INTERPRETER;
+		return null;
+	}
+
+	private static RamlTypeInterpreter resolveInterpreter(TypeDeclaration type) {
+		for (Map.Entry<Class<? extends TypeDeclaration>, RamlTypeInterpreter> entry : interpreters.entrySet()) {
+			if (entry.getKey().isAssignableFrom(type.getClass())) {
+				return entry.getValue();
+			}
 		}
-		return interpreter;
+		logger.error("Missing Interpreter for type " + identifyByClass(type) + ":" + type.type());
+		return DEFAULT_INTERPRETER;
 	}
 
 }
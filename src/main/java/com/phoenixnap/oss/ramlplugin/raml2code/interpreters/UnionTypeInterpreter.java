@@ -13,7 +13,6 @@
 package com.phoenixnap.oss.ramlplugin.raml2code.interpreters;
 
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
 
 import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
@@ -25,7 +24,6 @@ import org.springframework.util.StringUtils;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
-import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JCodeModel;
@@ -61,12 +59,10 @@ public class UnionTypeInterpreter extends BaseTypeInterpreter {
 	}
 
 	private TypeDeclaration getParent(UnionTypeDeclaration objectType, String typeName, RamlRoot document) {
-		Map<String, RamlDataType> types = document.getTypes();
-
 		TypeDeclaration parent = null;
 
 		if (!RamlTypeHelper.isBaseObject(typeName)) {
-			parent = types.get(typeName).getType();
+			parent = document.getType(typeName).getType();
 		} else if (objectType.parentTypes() != null && objectType.parentTypes().size() > 0) {
 			TypeDeclaration tempParent = objectType.parentTypes().get(0); // java
 																			// doesnt
@@ -76,7 +72,7 @@ public class UnionTypeInterpreter extends BaseTypeInterpreter {
 																			// take
 																			// first;
 			if (!RamlTypeHelper.isBaseObject(tempParent.name())) {
-				parent = types.get(tempParent.name()).getType();
+				parent = document.getType(tempParent.name()).getType();
 			}
 		} else {
 			parent = null;
@@ -125,10 +121,12 @@ public class UnionTypeInterpreter extends BaseTypeInterpreter {
 		}
 
 		for (TypeDeclaration objectProperty : objectType.of()) {
+			// the members are declared types, not properties named after
+			// their type, a subtype must not be interpreted as its parent
 			RamlInterpretationResult childResult = RamlInterpreterFactory.getInterpreterForType(objectProperty).interpret(document,
-					objectProperty, builderModel, true);
+					objectProperty, builderModel, false);
 
-			String childType = childResult.getResolvedClassOrBuiltOrObject().fullName();
+			JClass childType = childResult.getResolvedClassOrBuiltOrObject();
 			builder.withField(objectProperty.name(), childType, RamlTypeHelper.getDescription(objectProperty), childResult.getValidations(),
 					objectProperty);
 		}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * {@link CodeWriter} which renders every file in memory and only writes it if
+ * its content differs from the file on disk. Unchanged files keep their
+ * modification time so the compiler and IDEs don't recompile them. Changed
+ * files are written to a temporary file which is then moved over the target, so
+ * a file is never left half written. A replaced file keeps its permissions, a
+ * new file gets the default permissions of the file system.
+ *
+ * @since 2.1.0
+ */
+final class ChangedFilesCodeWriter extends CodeWriter {
+
+	private final Path target;
+
+	private final Set<String> skippedFiles;
+
+	private final Map<String, Integer> writePositions;
+
+	private final int position;
+
+	private int writtenCount = 0;
+
+	private int unchangedCount = 0;
+
+	private int skippedCount = 0;
+
+	private IOException failure;
+
+	/**
+	 * @param target
+	 *            The output directory
+	 */
+	ChangedFilesCodeWriter(File target) {
+		this(target, Collections.emptySet());
+	}
+
+	/**
+	 * @param target
+	 *            The output directory
+	 * @param skippedFiles
+	 *            Files, relative to the output directory, which are known to be
+	 *            up to date and are not even compared
+	 */
+	ChangedFilesCodeWriter(File target, Set<String> skippedFiles) {
+		this(target, skippedFiles, null, 0);
+	}
+
+	/**
+	 * @param target
+	 *            The output directory
+	 * @param writePositions
+	 *            The position of the last resource which wrote each file,
+	 *            shared by the code writers of the resources generated in
+	 *            parallel
+	 * @param position
+	 *            The position of the resource in the serial generation order. A
+	 *            file already written by a later resource is not written again,
+	 *            so the same resource wins as in the serial generation.
+	 */
+	ChangedFilesCodeWriter(File target, Map<String, Integer> writePositions, int position) {
+		this(target, Collections.emptySet(), writePositions, position);
+	}
+
+	private ChangedFilesCodeWriter(File target, Set<String> skippedFiles, Map<String, Integer> writePositions, int position) {
+		this.target = target.toPath();
+		this.skippedFiles = skippedFiles;
+		this.writePositions = writePositions;
+		this.position = position;
+	}
+
+	@Override
+	public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+		String file = getOutputFile(pkg, fileName);
+		if (skippedFiles.contains(file)) {
+			skippedCount++;
+			return new OutputStream() {
+				@Override
+				public void write(int b) {
+					// discarded, the file on disk is up to date
+				}
+			};
+		}
+		Path path = target.resolve(file);
+		return new ByteArrayOutputStream() {
+
+			private boolean closed = false;
+
+			@Override
+			public void close() throws IOException {
+				if (!closed) {
+					closed = true;
+					try {
+						writeFile(file, path, toByteArray());
+					} catch (IOException e) {
+						recordFailure(e);
+						throw e;
+					}
+				}
+			}
+		};
+	}
+
+	private void writeFile(String file, Path path, byte[] content) throws IOException {
+		if (writePositions == null) {
+			writeIfChanged(path, content);
+			return;
+		}
+		try {
+			// the file is written while its entry is locked, so a later
+			// resource can't be overwritten by an earlier one
+			writePositions.compute(file, (key, previous) -> {
+				if (previous != null && previous > position) {
+					skippedCount++;
+					return previous;
+				}
+				try {
+					writeIfChanged(path, content);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return position;
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void writeIfChanged(Path path, byte[] content) throws IOException {
+		if (Files.isRegularFile(path) && Files.size(path) == content.length && Arrays.equals(Files.readAllBytes(path), content)) {
+			unchangedCount++;
+			return;
+		}
+		Files.createDirectories(path.getParent());
+		// created like any other file rather than with Files.createTempFile,
+		// which restricts the permissions to the owner
+		Path temporaryFile = path
+				.resolveSibling(path.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(temporaryFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+				out.write(content);
+			}
+			copyPermissions(path, temporaryFile);
+			try {
+				Files.move(temporaryFile, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+		writtenCount++;
+	}
+
+	/**
+	 * Keeps the permissions of a file which is replaced
+	 */
+	private static void copyPermissions(Path source, Path target) throws IOException {
+		PosixFileAttributeView sourceAttributes = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+		if (sourceAttributes != null && Files.isRegularFile(source)) {
+			Files.setPosixFilePermissions(target, sourceAttributes.readAttributes().permissions());
+		}
+	}
+
+	/**
+	 * Writes files which were already rendered
+	 *
+	 * @param files
+	 *            The content of the files by their path relative to the output
+	 *            directory
+	 * @throws IOException
+	 *             if a file can't be written
+	 */
+	void write(Map<String, byte[]> files) throws IOException {
+		for (Map.Entry<String, byte[]> file : files.entrySet()) {
+			if (skippedFiles.contains(file.getKey())) {
+				skippedCount++;
+			} else {
+				writeFile(file.getKey(), target.resolve(file.getKey()), file.getValue());
+			}
+		}
+	}
+
+	private void recordFailure(IOException e) {
+		if (failure == null) {
+			failure = e;
+		} else {
+			failure.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * Every file is written as soon as it is closed. The code model closes the
+	 * files through a {@link java.io.PrintWriter} which swallows exceptions, so
+	 * a failed write is rethrown here.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	int getWrittenCount() {
+		return writtenCount;
+	}
+
+	int getUnchangedCount() {
+		return unchangedCount;
+	}
+
+	int getSkippedCount() {
+		return skippedCount;
+	}
+
+	/**
+	 * Renders a code model in memory
+	 *
+	 * @param codeModel
+	 *            The code model
+	 * @return the content of the files by their path relative to the output
+	 *         directory
+	 */
+	static Map<String, byte[]> render(JCodeModel codeModel) {
+		Map<String, byte[]> files = new LinkedHashMap<>();
+		try {
+			codeModel.build(new CodeWriter() {
+
+				@Override
+				public OutputStream openBinary(JPackage pkg, String fileName) {
+					String file = getOutputFile(pkg, fileName);
+					return new ByteArrayOutputStream() {
+
+						@Override
+						public void close() {
+							files.put(file, toByteArray());
+						}
+					};
+				}
+
+				@Override
+				public void close() {
+					// the files are kept in memory
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not render code model", e);
+		}
+		return files;
+	}
+
+	/**
+	 * Lists the source files written when building a code model
+	 *
+	 * @param codeModel
+	 *            The code model
+	 * @return the files, relative to the output directory
+	 */
+	static List<String> getOutputFiles(JCodeModel codeModel) {
+		List<String> files = new ArrayList<>();
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			Iterator<JDefinedClass> classes = packages.next().classes();
+			while (classes.hasNext()) {
+				files.add(getOutputFile(classes.next()));
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * @param definedClass
+	 *            A top level class
+	 * @return the source file of the class, relative to the output directory
+	 */
+	static String getOutputFile(JDefinedClass definedClass) {
+		return getOutputFile(definedClass._package(), definedClass.name() + ".java");
+	}
+
+	private static String getOutputFile(JPackage pkg, String fileName) {
+		return pkg.isUnnamed() ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+	}
+}
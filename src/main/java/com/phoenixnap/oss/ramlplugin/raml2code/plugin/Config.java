@@ -1,14 +1,38 @@
 package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.JsonSchemaSummary;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingCache;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaGenerationEngine;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlTypeInterpreter;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.SpringMvcEndpointGeneratorMojo.MethodsNamingLogic;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.SpringMvcEndpointGeneratorMojo.OverrideNamingLogicWith;
 
+/**
+ * The configuration of the code generation. An execution of the plugin binds
+ * its immutable {@link GenerationContext} to the threads generating its code,
+ * the getters read it from there. The configuration isn't passed through the
+ * parser, interpreters and rules as parameters, as their public signatures
+ * would change, so a thread working for an execution has to be started with
+ * {@link #runWithContext(GenerationContext, Runnable)}. The static settings are
+ * only used when no execution is running, for example in tests.
+ */
 public class Config {
 
 	private static PojoGenerationConfig pojoGenerationConfig = new PojoGenerationConfig();
 
-	private static SpringMvcEndpointGeneratorMojo springMvcEndpointGeneratorMojo;
+	/**
+	 * The configuration of the execution running on the current thread. If no
+	 * execution is running, the static settings are used.
+	 */
+	private static final ThreadLocal<GenerationContext> CONTEXT = new ThreadLocal<>();
 
 	private static final Boolean DEFAULT_SEPERATE_METHODS_BY_CONTENTTYPE = Boolean.FALSE;
 	private static Boolean seperateMethodsByContentType = DEFAULT_SEPERATE_METHODS_BY_CONTENTTYPE;
@@ -45,15 +69,53 @@ public class Config {
 
 	public static final String DEFAULT_GENERATED_ANNOTATION_VALUE = "com.phoenixnap.oss.ramlplugin";
 
+	/**
+	 * Resolves the schemas outside of an execution, shared so the documents it
+	 * loaded are cached
+	 */
+	private static final SchemaResolver DEFAULT_SCHEMA_RESOLVER = new SchemaResolver(Collections.emptyList());
+
 	Config() {
 	}
 
-	protected static void setMojo(SpringMvcEndpointGeneratorMojo springMvcEndpointGeneratorMojo) {
-		Config.springMvcEndpointGeneratorMojo = springMvcEndpointGeneratorMojo;
-		if (springMvcEndpointGeneratorMojo != null) {
-			Config.pojoGenerationConfig = springMvcEndpointGeneratorMojo.generationConfig;
+	/**
+	 * Binds the configuration of an execution to the current thread
+	 * 
+	 * @param context
+	 *            The configuration, null to unbind it
+	 */
+	protected static void setContext(GenerationContext context) {
+		if (context != null) {
+			CONTEXT.set(context);
 		} else {
-			Config.pojoGenerationConfig = null;
+			CONTEXT.remove();
+		}
+	}
+
+	/**
+	 * @return the configuration bound to the current thread, null if there is
+	 *         none
+	 */
+	public static GenerationContext getContext() {
+		return CONTEXT.get();
+	}
+
+	/**
+	 * Runs a task with the given configuration bound to the current thread.
+	 * Used to hand the configuration of an execution over to worker threads.
+	 * 
+	 * @param context
+	 *            The configuration, null to use the static settings
+	 * @param task
+	 *            The task to run
+	 */
+	public static void runWithContext(GenerationContext context, Runnable task) {
+		GenerationContext previous = CONTEXT.get();
+		setContext(context);
+		try {
+			task.run();
+		} finally {
+			setContext(previous);
 		}
 	}
 
@@ -62,6 +124,10 @@ public class Config {
 	}
 
 	public static PojoGenerationConfig getPojoConfig() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getPojoGenerationConfig();
+		}
 		return pojoGenerationConfig;
 	}
 
@@ -70,8 +136,9 @@ public class Config {
 	}
 
 	public static Boolean isSeperateMethodsByContentType() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.seperateMethodsByContentType;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isSeperateMethodsByContentType();
 		}
 		return seperateMethodsByContentType;
 	}
@@ -81,8 +148,9 @@ public class Config {
 	}
 
 	public static Boolean isInjectHttpHeadersParameter() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.injectHttpHeadersParameter;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isInjectHttpHeadersParameter();
 		}
 		return injectHttpHeadersParameter;
 	}
@@ -92,8 +160,9 @@ public class Config {
 	}
 
 	public static Integer getResourceDepthInClassNames() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.resourceDepthInClassNames;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getResourceDepthInClassNames();
 		}
 		return resourceDepthInClassNames;
 	}
@@ -103,8 +172,9 @@ public class Config {
 	}
 
 	public static Integer getResourceTopLevelInClassNames() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.resourceTopLevelInClassNames;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getResourceTopLevelInClassNames();
 		}
 		return resourceTopLevelInClassNames;
 	}
@@ -114,8 +184,9 @@ public class Config {
 	}
 
 	public static Boolean isReverseOrderInClassNames() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.reverseOrderInClassNames;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isReverseOrderInClassNames();
 		}
 		return reverseOrderInClassNames;
 	}
@@ -125,15 +196,17 @@ public class Config {
 	}
 
 	public static String getBasePackage() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.basePackage;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getBasePackage();
 		}
 		return basePackage;
 	}
 
 	public static MethodsNamingLogic getMethodsNamingLogic() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.methodsNamingLogic;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getMethodsNamingLogic();
 		}
 		if (methodsNamingLogic == null) {
 			return DEFAULT_METHODS_NAMING_LOGIC;
@@ -146,8 +219,9 @@ public class Config {
 	}
 
 	public static OverrideNamingLogicWith getOverrideNamingLogicWith() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.overrideNamingLogicWith;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getOverrideNamingLogicWith();
 		}
 		return overrideNamingLogicWith;
 	}
@@ -157,8 +231,9 @@ public class Config {
 	}
 
 	public static String getDontGenerateForAnnotation() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.dontGenerateForAnnotation;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getDontGenerateForAnnotation();
 		}
 		return dontGenerateForAnnotation;
 	}
@@ -168,8 +243,9 @@ public class Config {
 	}
 
 	public static Boolean isInjectHttpRequestParameter() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.injectHttpRequestParameter;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isInjectHttpRequestParameter();
 		}
 		return injectHttpRequestParameter;
 	}
@@ -179,8 +255,9 @@ public class Config {
 	}
 
 	public static Boolean isGeneratedAnnotation() {
-		if (springMvcEndpointGeneratorMojo != null) {
-			return springMvcEndpointGeneratorMojo.generatedAnnotation;
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isGeneratedAnnotation();
 		}
 		return generatedAnnotation;
 	}
@@ -189,12 +266,137 @@ public class Config {
 		Config.generatedAnnotation = generatedAnnotation;
 	}
 
+	public static Boolean isReproducibleOutput() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.isReproducibleOutput();
+		}
+		return Boolean.FALSE;
+	}
+
+	public static String getOutputTimestamp() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getOutputTimestamp();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the custom type interpreters of the current execution
+	 */
+	public static List<RamlTypeInterpreter> getTypeInterpreters() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getTypeInterpreters();
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * @return the report of the current execution, a disabled report if there
+	 *         is none
+	 */
+	public static GenerationReport getReport() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getReport();
+		}
+		return GenerationReport.DISABLED;
+	}
+
+	/**
+	 * @return the engine generating the JSON schemas of the current execution
+	 *         into a shared code model, null if there is none
+	 */
+	public static SchemaGenerationEngine getSchemaEngine() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getSchemaEngine();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the names computed during the current execution, null if no
+	 *         execution is running
+	 */
+	public static NamingCache getNamingCache() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getNamingCache();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the resolver of the current execution, a shared resolver without
+	 *         schema directories if there is none
+	 */
+	public static SchemaResolver getSchemaResolver() {
+		GenerationContext context = CONTEXT.get();
+		if (context != null) {
+			return context.getSchemaResolver();
+		}
+		return DEFAULT_SCHEMA_RESOLVER;
+	}
+
+	/**
+	 * @param schema
+	 *            The JSON schema
+	 * @return the keywords of the schema, cached for the current execution
+	 */
+	public static JsonSchemaSummary getSchemaSummary(String schema) {
+		GenerationContext context = CONTEXT.get();
+		if (context != null && schema != null) {
+			return context.getSchemaSummary(schema);
+		}
+		return JsonSchemaSummary.parse(schema);
+	}
+
+	/**
+	 * The date stamped into the generated code. With reproducible output this
+	 * is the outputTimestamp, if set, instead of the current date.
+	 * 
+	 * @return the date or null if no date should be used
+	 */
+	public static Date getGenerationDate() {
+		if (Boolean.TRUE.equals(isReproducibleOutput())) {
+			return parseOutputTimestamp(getOutputTimestamp());
+		}
+		return new Date();
+	}
+
+	/**
+	 * Parses a timestamp in the format of project.build.outputTimestamp
+	 * 
+	 * @param outputTimestamp
+	 *            ISO 8601 date or number of seconds since the epoch
+	 * @return the date or null if the timestamp is not set or disabled
+	 */
+	static Date parseOutputTimestamp(String outputTimestamp) {
+		// like Maven, a single character disables the timestamp
+		if (outputTimestamp == null || outputTimestamp.trim().length() < 2) {
+			return null;
+		}
+		String timestamp = outputTimestamp.trim();
+		try {
+			if (timestamp.chars().allMatch(Character::isDigit)) {
+				return new Date(Long.parseLong(timestamp) * 1000);
+			}
+			return Date.from(OffsetDateTime.parse(timestamp).toInstant());
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid outputTimestamp " + outputTimestamp
+					+ ". Use an ISO 8601 date like 2019-10-02T08:04:00Z or the number of seconds since the epoch.", e);
+		}
+	}
+
 	public static String getPojoPackage() {
 		return getBasePackage() + NamingHelper.getDefaultModelPackage();
 	}
 
 	protected static void resetFields() {
-		setMojo(null);
+		setContext(null);
 		setBasePackage(DEFAULT_BASE_PACKAGE);
 		setInjectHttpHeadersParameter(DEFAULT_INJECT_HTTP_HEADERS_PARAMETER);
 		setResourceDepthInClassNames(DEFAULT_RESOURCE_DEPTH_IN_CLASS_NAMES);
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidCodeModelException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Names of the classes which have already been written during a streaming
+ * generation. Only the names and the hashes of the code are kept, grouped by
+ * package so that each package name is stored once, while the code models they
+ * were generated in are released. A class generated again with different code
+ * is a name clash which would otherwise be dropped silently.
+ *
+ * @since 2.1.0
+ */
+final class EmittedTypeRegistry {
+
+	private final Map<String, Map<String, String>> classesByPackage = new HashMap<>();
+
+	private int size = 0;
+
+	/**
+	 * Registers a class as emitted
+	 *
+	 * @param definedClass
+	 *            A top level class
+	 * @return true if the class was not emitted before
+	 * @throws InvalidCodeModelException
+	 *             if a class with the same name but different code was emitted
+	 *             before
+	 */
+	private boolean register(JDefinedClass definedClass) {
+		Map<String, String> classes = classesByPackage.computeIfAbsent(definedClass._package().name(), key -> new HashMap<>());
+		String hash = ResourceFingerprints.hashClass(definedClass);
+		String emittedHash = classes.putIfAbsent(definedClass.name(), hash);
+		if (emittedHash == null) {
+			size++;
+			return true;
+		}
+		if (!emittedHash.equals(hash)) {
+			throw new InvalidCodeModelException("Class " + definedClass.fullName()
+					+ " was generated with different code for several resources, rename one of the types");
+		}
+		return false;
+	}
+
+	/**
+	 * @param packageName
+	 *            The package of the class
+	 * @param className
+	 *            The simple name of the class
+	 * @return true if the class was emitted
+	 */
+	boolean contains(String packageName, String className) {
+		Map<String, String> classes = classesByPackage.get(packageName);
+		return classes != null && classes.containsKey(className);
+	}
+
+	/**
+	 * Registers all classes of a code model and removes the ones which were
+	 * emitted before, so only the new classes are written when the code model
+	 * is built
+	 *
+	 * @param codeModel
+	 *            The code model
+	 * @return the number of removed classes
+	 * @throws InvalidCodeModelException
+	 *             if a class with the same name but different code was emitted
+	 *             before
+	 */
+	int removeEmitted(JCodeModel codeModel) {
+		int removed = 0;
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			JPackage pkg = packages.next();
+			List<JDefinedClass> emitted = new ArrayList<>();
+			Iterator<JDefinedClass> classes = pkg.classes();
+			while (classes.hasNext()) {
+				JDefinedClass definedClass = classes.next();
+				if (!register(definedClass)) {
+					emitted.add(definedClass);
+				}
+			}
+			emitted.forEach(pkg::remove);
+			removed += emitted.size();
+		}
+		return removed;
+	}
+
+	/**
+	 * @return the number of emitted classes
+	 */
+	int size() {
+		return size;
+	}
+}
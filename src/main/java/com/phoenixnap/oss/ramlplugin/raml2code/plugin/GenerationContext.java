@@ -0,0 +1,326 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.JsonSchemaSummary;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingCache;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaGenerationEngine;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlTypeInterpreter;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.SpringMvcEndpointGeneratorMojo.MethodsNamingLogic;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.SpringMvcEndpointGeneratorMojo.OverrideNamingLogicWith;
+
+/**
+ * Configuration and state of a single plugin execution. The context is bound to
+ * the threads generating code for the execution through {@link Config}, so
+ * executions running concurrently in the same JVM (for example in a parallel
+ * Maven build) don't see each other's settings. <p> The configuration values
+ * can't be changed once the context is built. The context also holds the state
+ * shared by the threads of the execution: the schema summaries, the
+ * {@link NamingCache}, the {@link GenerationReport}, the
+ * {@link SchemaGenerationEngine} and the caches of the {@link SchemaResolver}.
+ * They are filled while the code is generated and are safe to use from several
+ * threads. A context must therefore not be reused for another execution.
+ *
+ * @since 2.1.0
+ */
+public final class GenerationContext {
+
+	private final PojoGenerationConfig pojoGenerationConfig;
+	private final String basePackage;
+	private final Boolean seperateMethodsByContentType;
+	private final Boolean injectHttpHeadersParameter;
+	private final Integer resourceDepthInClassNames;
+	private final Integer resourceTopLevelInClassNames;
+	private final Boolean reverseOrderInClassNames;
+	private final MethodsNamingLogic methodsNamingLogic;
+	private final OverrideNamingLogicWith overrideNamingLogicWith;
+	private final String dontGenerateForAnnotation;
+	private final Boolean injectHttpRequestParameter;
+	private final Boolean generatedAnnotation;
+	private final Boolean reproducibleOutput;
+	private final String outputTimestamp;
+	private final List<RamlTypeInterpreter> typeInterpreters;
+	private final GenerationReport report;
+	private final SchemaGenerationEngine schemaEngine;
+	private final SchemaResolver schemaResolver;
+	private final NamingCache namingCache;
+
+	/**
+	 * The JSON schemas inspected during this execution, by schema
+	 */
+	private final Map<String, JsonSchemaSummary> schemaSummaries = new ConcurrentHashMap<>();
+
+	private GenerationContext(Builder builder) {
+		this.pojoGenerationConfig = builder.pojoGenerationConfig;
+		this.basePackage = builder.basePackage;
+		this.seperateMethodsByContentType = builder.seperateMethodsByContentType;
+		this.injectHttpHeadersParameter = builder.injectHttpHeadersParameter;
+		this.resourceDepthInClassNames = builder.resourceDepthInClassNames;
+		this.resourceTopLevelInClassNames = builder.resourceTopLevelInClassNames;
+		this.reverseOrderInClassNames = builder.reverseOrderInClassNames;
+		this.methodsNamingLogic = builder.methodsNamingLogic;
+		this.overrideNamingLogicWith = builder.overrideNamingLogicWith;
+		this.dontGenerateForAnnotation = builder.dontGenerateForAnnotation;
+		this.injectHttpRequestParameter = builder.injectHttpRequestParameter;
+		this.generatedAnnotation = builder.generatedAnnotation;
+		this.reproducibleOutput = builder.reproducibleOutput;
+		this.outputTimestamp = builder.outputTimestamp;
+		this.typeInterpreters = Collections.unmodifiableList(new ArrayList<>(builder.typeInterpreters));
+		this.report = builder.report;
+		this.schemaEngine = builder.schemaEngine;
+		this.schemaResolver = builder.schemaResolver != null ? builder.schemaResolver : new SchemaResolver(Collections.emptyList());
+		this.namingCache = builder.namingCache != null ? builder.namingCache : new NamingCache();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public PojoGenerationConfig getPojoGenerationConfig() {
+		return pojoGenerationConfig;
+	}
+
+	public String getBasePackage() {
+		return basePackage;
+	}
+
+	public Boolean isSeperateMethodsByContentType() {
+		return seperateMethodsByContentType;
+	}
+
+	public Boolean isInjectHttpHeadersParameter() {
+		return injectHttpHeadersParameter;
+	}
+
+	public Integer getResourceDepthInClassNames() {
+		return resourceDepthInClassNames;
+	}
+
+	public Integer getResourceTopLevelInClassNames() {
+		return resourceTopLevelInClassNames;
+	}
+
+	public Boolean isReverseOrderInClassNames() {
+		return reverseOrderInClassNames;
+	}
+
+	public MethodsNamingLogic getMethodsNamingLogic() {
+		return methodsNamingLogic;
+	}
+
+	public OverrideNamingLogicWith getOverrideNamingLogicWith() {
+		return overrideNamingLogicWith;
+	}
+
+	public String getDontGenerateForAnnotation() {
+		return dontGenerateForAnnotation;
+	}
+
+	public Boolean isInjectHttpRequestParameter() {
+		return injectHttpRequestParameter;
+	}
+
+	public Boolean isGeneratedAnnotation() {
+		return generatedAnnotation;
+	}
+
+	public Boolean isReproducibleOutput() {
+		return reproducibleOutput;
+	}
+
+	public String getOutputTimestamp() {
+		return outputTimestamp;
+	}
+
+	/**
+	 * @return the custom type interpreters of this execution, which take
+	 *         precedence over the built in ones
+	 */
+	public List<RamlTypeInterpreter> getTypeInterpreters() {
+		return typeInterpreters;
+	}
+
+	/**
+	 * @return the report the phases of this execution are recorded in
+	 */
+	public GenerationReport getReport() {
+		return report;
+	}
+
+	/**
+	 * @return the engine the JSON schemas of this execution are generated with,
+	 *         or null if each schema gets its own code model
+	 */
+	public SchemaGenerationEngine getSchemaEngine() {
+		return schemaEngine;
+	}
+
+	/**
+	 * @return the resolver the JSON schemas of this execution are loaded with
+	 */
+	public SchemaResolver getSchemaResolver() {
+		return schemaResolver;
+	}
+
+	/**
+	 * @return the names computed during this execution
+	 */
+	public NamingCache getNamingCache() {
+		return namingCache;
+	}
+
+	/**
+	 * @param schema
+	 *            The JSON schema
+	 * @return the keywords of the schema, which is read once per execution
+	 */
+	public JsonSchemaSummary getSchemaSummary(String schema) {
+		return schemaSummaries.computeIfAbsent(schema, JsonSchemaSummary::parse);
+	}
+
+	/**
+	 * Builder for {@link GenerationContext}. Settings which are not set keep
+	 * the plugin defaults.
+	 */
+	public static final class Builder {
+
+		private PojoGenerationConfig pojoGenerationConfig = new PojoGenerationConfig();
+		private String basePackage;
+		private Boolean seperateMethodsByContentType = Boolean.FALSE;
+		private Boolean injectHttpHeadersParameter = Boolean.FALSE;
+		private Integer resourceDepthInClassNames = 1;
+		private Integer resourceTopLevelInClassNames = 0;
+		private Boolean reverseOrderInClassNames = Boolean.FALSE;
+		private MethodsNamingLogic methodsNamingLogic = MethodsNamingLogic.OBJECTS;
+		private OverrideNamingLogicWith overrideNamingLogicWith;
+		private String dontGenerateForAnnotation;
+		private Boolean injectHttpRequestParameter = Boolean.FALSE;
+		private Boolean generatedAnnotation = Boolean.FALSE;
+		private Boolean reproducibleOutput = Boolean.FALSE;
+		private String outputTimestamp;
+		private List<RamlTypeInterpreter> typeInterpreters = new ArrayList<>();
+		private GenerationReport report = GenerationReport.DISABLED;
+		private SchemaGenerationEngine schemaEngine;
+		private SchemaResolver schemaResolver;
+		private NamingCache namingCache;
+
+		private Builder() {
+		}
+
+		public Builder withPojoGenerationConfig(PojoGenerationConfig pojoGenerationConfig) {
+			this.pojoGenerationConfig = pojoGenerationConfig;
+			return this;
+		}
+
+		public Builder withBasePackage(String basePackage) {
+			this.basePackage = basePackage;
+			return this;
+		}
+
+		public Builder withSeperateMethodsByContentType(Boolean seperateMethodsByContentType) {
+			this.seperateMethodsByContentType = seperateMethodsByContentType;
+			return this;
+		}
+
+		public Builder withInjectHttpHeadersParameter(Boolean injectHttpHeadersParameter) {
+			this.injectHttpHeadersParameter = injectHttpHeadersParameter;
+			return this;
+		}
+
+		public Builder withResourceDepthInClassNames(Integer resourceDepthInClassNames) {
+			this.resourceDepthInClassNames = resourceDepthInClassNames;
+			return this;
+		}
+
+		public Builder withResourceTopLevelInClassNames(Integer resourceTopLevelInClassNames) {
+			this.resourceTopLevelInClassNames = resourceTopLevelInClassNames;
+			return this;
+		}
+
+		public Builder withReverseOrderInClassNames(Boolean reverseOrderInClassNames) {
+			this.reverseOrderInClassNames = reverseOrderInClassNames;
+			return this;
+		}
+
+		public Builder withMethodsNamingLogic(MethodsNamingLogic methodsNamingLogic) {
+			this.methodsNamingLogic = methodsNamingLogic != null ? methodsNamingLogic : MethodsNamingLogic.OBJECTS;
+			return this;
+		}
+
+		public Builder withOverrideNamingLogicWith(OverrideNamingLogicWith overrideNamingLogicWith) {
+			this.overrideNamingLogicWith = overrideNamingLogicWith;
+			return this;
+		}
+
+		public Builder withDontGenerateForAnnotation(String dontGenerateForAnnotation) {
+			this.dontGenerateForAnnotation = dontGenerateForAnnotation;
+			return this;
+		}
+
+		public Builder withInjectHttpRequestParameter(Boolean injectHttpRequestParameter) {
+			this.injectHttpRequestParameter = injectHttpRequestParameter;
+			return this;
+		}
+
+		public Builder withGeneratedAnnotation(Boolean generatedAnnotation) {
+			this.generatedAnnotation = generatedAnnotation;
+			return this;
+		}
+
+		public Builder withReproducibleOutput(Boolean reproducibleOutput) {
+			this.reproducibleOutput = reproducibleOutput;
+			return this;
+		}
+
+		public Builder withOutputTimestamp(String outputTimestamp) {
+			this.outputTimestamp = outputTimestamp;
+			return this;
+		}
+
+		public Builder withTypeInterpreters(List<RamlTypeInterpreter> typeInterpreters) {
+			this.typeInterpreters = typeInterpreters != null ? typeInterpreters : new ArrayList<>();
+			return this;
+		}
+
+		public Builder withReport(GenerationReport report) {
+			this.report = report != null ? report : GenerationReport.DISABLED;
+			return this;
+		}
+
+		public Builder withSchemaEngine(SchemaGenerationEngine schemaEngine) {
+			this.schemaEngine = schemaEngine;
+			return this;
+		}
+
+		public Builder withSchemaResolver(SchemaResolver schemaResolver) {
+			this.schemaResolver = schemaResolver;
+			return this;
+		}
+
+		public Builder withNamingCache(NamingCache namingCache) {
+			this.namingCache = namingCache;
+			return this;
+		}
+
+		public GenerationContext build() {
+			return new GenerationContext(this);
+		}
+	}
+}
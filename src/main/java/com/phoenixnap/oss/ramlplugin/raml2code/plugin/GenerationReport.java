@@ -0,0 +1,434 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Wall time, CPU time and allocated bytes of the phases of a plugin execution,
+ * in total and per resource. Measurements are taken on the thread doing the
+ * work, so the report stays correct with parallel emission. The wall times of
+ * phases running on multiple threads add up to more than the elapsed time. <p>
+ * Phases may be nested, for example the extraction of a resource includes the
+ * interpretation of the types it references. The totals of a resource only
+ * count its outermost phases. A phase which is entered again while it is
+ * running is measured once.
+ *
+ * @since 2.1.0
+ */
+public final class GenerationReport {
+
+	/**
+	 * Parsing and validating the RAML, which the RAML parser does in a single
+	 * pass
+	 */
+	public static final String LOAD = "load";
+
+	/**
+	 * Extracting the controllers from the resources
+	 */
+	public static final String EXTRACTION = "extraction";
+
+	/**
+	 * Interpreting RAML types and JSON schemas into POJOs
+	 */
+	public static final String TYPE_INTERPRETATION = "typeInterpretation";
+
+	/**
+	 * Generating the POJOs of types which aren't referenced by any resource
+	 */
+	public static final String UNREFERENCED_OBJECTS = "unreferencedObjects";
+
+	/**
+	 * Rendering the code models and writing them to disk
+	 */
+	public static final String WRITE = "write";
+
+	/**
+	 * Report which doesn't measure anything, used if reporting is disabled
+	 */
+	public static final GenerationReport DISABLED = new GenerationReport(false);
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private static final ObjectWriter JSON_WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+	private final boolean enabled;
+
+	private final long startTime = System.nanoTime();
+
+	private final ThreadLocal<Measurement> current = new ThreadLocal<>();
+
+	private final Map<String, Stats> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private final Map<String, ResourceStats> resources = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	private volatile List<String> unusedTypes = Collections.emptyList();
+
+	public GenerationReport() {
+		this(true);
+	}
+
+	private GenerationReport(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @param rule
+	 *            The rule applied to the controllers
+	 * @return the name of the phase applying the rule
+	 */
+	public static String rulePhase(Object rule) {
+		return "rule:" + rule.getClass().getSimpleName();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Runs an action as part of a phase and records its costs
+	 *
+	 * @param phase
+	 *            The name of the phase
+	 * @param resource
+	 *            The URI of the resource the action belongs to, null to use the
+	 *            resource of the enclosing phase, if any
+	 * @param action
+	 *            The action to run
+	 * @param <T>
+	 *            The result type of the action
+	 * @return the result of the action
+	 */
+	public <T> T measure(String phase, String resource, Supplier<T> action) {
+		Measurement parent = current.get();
+		if (!enabled || (parent != null && parent.isRunning(phase))) {
+			return action.get();
+		}
+		Measurement measurement = new Measurement(parent, phase, resource != null ? resource : parent != null ? parent.resource : null);
+		current.set(measurement);
+		try {
+			return action.get();
+		} finally {
+			if (parent != null) {
+				current.set(parent);
+			} else {
+				current.remove();
+			}
+			record(measurement, measurement.stop());
+		}
+	}
+
+	/**
+	 * Runs an action as part of a phase and records its costs
+	 *
+	 * @param phase
+	 *            The name of the phase
+	 * @param resource
+	 *            The URI of the resource the action belongs to, null to use the
+	 *            resource of the enclosing phase, if any
+	 * @param action
+	 *            The action to run
+	 */
+	public void measure(String phase, String resource, Runnable action) {
+		measure(phase, resource, () -> {
+			action.run();
+			return null;
+		});
+	}
+
+	private void record(Measurement measurement, Stats costs) {
+		phases.computeIfAbsent(measurement.phase, key -> new Stats()).add(costs);
+		if (measurement.resource != null) {
+			ResourceStats resourceStats = resources.computeIfAbsent(measurement.resource, key -> new ResourceStats());
+			resourceStats.phases.computeIfAbsent(measurement.phase, key -> new Stats()).add(costs);
+			if (!measurement.isNestedIn(measurement.resource)) {
+				resourceStats.total.add(costs);
+			}
+		}
+	}
+
+	/**
+	 * @return the costs of each phase in the order the phases were first
+	 *         completed
+	 */
+	public Map<String, Stats> getPhases() {
+		synchronized (phases) {
+			Map<String, Stats> copy = new LinkedHashMap<>();
+			phases.forEach((phase, stats) -> copy.put(phase, stats.copy()));
+			return copy;
+		}
+	}
+
+	/**
+	 * @param limit
+	 *            The maximum number of resources
+	 * @return the total costs of the resources with the highest wall time,
+	 *         slowest first
+	 */
+	public Map<String, Stats> getSlowestResources(int limit) {
+		List<Map.Entry<String, ResourceStats>> sorted = sortResources();
+		Map<String, Stats> slowest = new LinkedHashMap<>();
+		for (Map.Entry<String, ResourceStats> resource : sorted.subList(0, Math.min(Math.max(limit, 0), sorted.size()))) {
+			slowest.put(resource.getKey(), resource.getValue().total.copy());
+		}
+		return slowest;
+	}
+
+	private List<Map.Entry<String, ResourceStats>> sortResources() {
+		List<Map.Entry<String, ResourceStats>> sorted;
+		synchronized (resources) {
+			sorted = new ArrayList<>(resources.entrySet());
+		}
+		sorted.sort((first, second) -> Long.compare(second.getValue().total.getWallNanos(), first.getValue().total.getWallNanos()));
+		return sorted;
+	}
+
+	/**
+	 * @return the wall time since the report was created in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return System.nanoTime() - startTime;
+	}
+
+	/**
+	 * Renders the report as JSON. Resources are listed slowest first.
+	 *
+	 * @param slowestResources
+	 *            The number of resources listed in the summary of the slowest
+	 *            resources
+	 * @return the JSON document
+	 */
+	public String toJson(int slowestResources) {
+		try {
+			return JSON_WRITER.writeValueAsString(createDocument(slowestResources));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not render the generation report", e);
+		}
+	}
+
+	private Document createDocument(int slowestResources) {
+		Document document = new Document();
+		document.elapsedNanos = getElapsedNanos();
+		document.cpuTimeSupported = isCpuTimeSupported();
+		document.allocatedBytesSupported = isAllocatedBytesSupported();
+		document.phases = getPhases();
+		document.slowestResources = new ArrayList<>(getSlowestResources(slowestResources).keySet());
+		for (Map.Entry<String, ResourceStats> resource : sortResources()) {
+			ResourceStats stats = resource.getValue();
+			ResourceDocument resourceDocument = new ResourceDocument();
+			resourceDocument.resource = resource.getKey();
+			resourceDocument.total = stats.total.copy();
+			synchronized (stats.phases) {
+				stats.phases.forEach((phase, phaseStats) -> resourceDocument.phases.put(phase, phaseStats.copy()));
+			}
+			document.resources.add(resourceDocument);
+		}
+		document.unusedTypes = unusedTypes;
+		return document;
+	}
+
+	/**
+	 * Records the declared types which are used by no resource, so they can be
+	 * pruned from the specification
+	 *
+	 * @param typeNames
+	 *            The names of the unused types
+	 */
+	public void recordUnusedTypes(Collection<String> typeNames) {
+		if (enabled) {
+			unusedTypes = Collections.unmodifiableList(new ArrayList<>(typeNames));
+		}
+	}
+
+	/**
+	 * @return the declared types which are used by no resource
+	 */
+	public List<String> getUnusedTypes() {
+		return unusedTypes;
+	}
+
+	/**
+	 * Writes the report as JSON
+	 *
+	 * @param file
+	 *            The file to write to
+	 * @param slowestResources
+	 *            The number of resources listed in the summary of the slowest
+	 *            resources
+	 * @throws IOException
+	 *             if the file can't be written
+	 */
+	public void writeJson(File file, int slowestResources) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IOException("Could not create directory:" + directory.getAbsolutePath());
+		}
+		JSON_WRITER.writeValue(file, createDocument(slowestResources));
+	}
+
+	private static boolean isCpuTimeSupported() {
+		return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+	}
+
+	private static boolean isAllocatedBytesSupported() {
+		return THREADS instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+				&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+	}
+
+	private static long currentCpuTime() {
+		return isCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+	}
+
+	private static long currentAllocatedBytes() {
+		return isAllocatedBytesSupported()
+				? ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId())
+				: 0;
+	}
+
+	/**
+	 * A running phase on the current thread
+	 */
+	private static class Measurement {
+
+		private final Measurement parent;
+		private final String phase;
+		private final String resource;
+		private final long wallStart = System.nanoTime();
+		private final long cpuStart = currentCpuTime();
+		private final long allocatedStart = currentAllocatedBytes();
+
+		private Measurement(Measurement parent, String phase, String resource) {
+			this.parent = parent;
+			this.phase = phase;
+			this.resource = resource;
+		}
+
+		private boolean isRunning(String phase) {
+			for (Measurement measurement = this; measurement != null; measurement = measurement.parent) {
+				if (measurement.phase.equals(phase)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isNestedIn(String resource) {
+			for (Measurement measurement = parent; measurement != null; measurement = measurement.parent) {
+				if (resource.equals(measurement.resource)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private Stats stop() {
+			Stats costs = new Stats();
+			costs.add(1, System.nanoTime() - wallStart, currentCpuTime() - cpuStart, currentAllocatedBytes() - allocatedStart);
+			return costs;
+		}
+	}
+
+	/**
+	 * The JSON document of the report
+	 */
+	private static class Document {
+
+		public long elapsedNanos;
+		public boolean cpuTimeSupported;
+		public boolean allocatedBytesSupported;
+		public Map<String, Stats> phases;
+		public List<String> slowestResources;
+		public List<ResourceDocument> resources = new ArrayList<>();
+		public List<String> unusedTypes;
+	}
+
+	/**
+	 * The JSON document of a resource
+	 */
+	private static class ResourceDocument {
+
+		public String resource;
+		public Stats total;
+		public Map<String, Stats> phases = new LinkedHashMap<>();
+	}
+
+	/**
+	 * The phases of a resource and their total
+	 */
+	private static class ResourceStats {
+
+		private final Stats total = new Stats();
+		private final Map<String, Stats> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+	}
+
+	/**
+	 * Accumulated costs of a phase. CPU time and allocated bytes are 0 if the
+	 * JVM doesn't support measuring them.
+	 */
+	public static final class Stats {
+
+		private long count;
+		private long wallNanos;
+		private long cpuNanos;
+		private long allocatedBytes;
+
+		private synchronized void add(long count, long wallNanos, long cpuNanos, long allocatedBytes) {
+			this.count += count;
+			this.wallNanos += wallNanos;
+			this.cpuNanos += cpuNanos;
+			this.allocatedBytes += allocatedBytes;
+		}
+
+		private void add(Stats stats) {
+			add(stats.count, stats.wallNanos, stats.cpuNanos, stats.allocatedBytes);
+		}
+
+		private synchronized Stats copy() {
+			Stats copy = new Stats();
+			copy.add(count, wallNanos, cpuNanos, allocatedBytes);
+			return copy;
+		}
+
+		public synchronized long getCount() {
+			return count;
+		}
+
+		public synchronized long getWallNanos() {
+			return wallNanos;
+		}
+
+		public synchronized long getCpuNanos() {
+			return cpuNanos;
+		}
+
+		public synchronized long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+}
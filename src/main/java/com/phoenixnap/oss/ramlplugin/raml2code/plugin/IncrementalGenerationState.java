@@ -0,0 +1,253 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Hashes and output files of the controllers and classes generated by the
+ * previous run, used to regenerate only what changed. The state is stored as a
+ * tab separated text file in the build directory. Output files are relative to
+ * the output directory.
+ *
+ * @since 2.1.0
+ */
+final class IncrementalGenerationState {
+
+	private static final String CONFIGURATION = "configuration";
+	private static final String RESOURCE = "resource";
+	private static final String CLASS = "class";
+	private static final String OUTPUT = "output";
+
+	private final File stateFile;
+	private final String configurationHash;
+	private final boolean configurationChanged;
+
+	private final Map<String, Entry> previousEntries = new TreeMap<>();
+	private final Set<String> previousOutputs = new TreeSet<>();
+
+	private final Map<String, Entry> resources = new ConcurrentSkipListMap<>();
+	private final Map<String, Entry> classes = new ConcurrentSkipListMap<>();
+	private final Set<String> outputs = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	private IncrementalGenerationState(File stateFile, String configurationHash, String previousConfigurationHash) {
+		this.stateFile = stateFile;
+		this.configurationHash = configurationHash;
+		this.configurationChanged = !configurationHash.equals(previousConfigurationHash);
+	}
+
+	/**
+	 * Loads the state of the previous run
+	 *
+	 * @param stateFile
+	 *            The file containing the state, it doesn't need to exist
+	 * @param configurationHash
+	 *            The hash of the configuration of this run. If it differs from
+	 *            the one of the previous run, everything is regenerated
+	 * @return the loaded state
+	 * @throws IOException
+	 *             if the state file can't be read
+	 */
+	static IncrementalGenerationState load(File stateFile, String configurationHash) throws IOException {
+		if (!stateFile.isFile()) {
+			return new IncrementalGenerationState(stateFile, configurationHash, null);
+		}
+		List<String[]> lines = new ArrayList<>();
+		String previousConfigurationHash = null;
+		for (String line : Files.readAllLines(stateFile.toPath(), StandardCharsets.UTF_8)) {
+			String[] columns = line.split("\t");
+			if (CONFIGURATION.equals(columns[0]) && columns.length > 1) {
+				previousConfigurationHash = columns[1];
+			} else {
+				lines.add(columns);
+			}
+		}
+
+		IncrementalGenerationState state = new IncrementalGenerationState(stateFile, configurationHash, previousConfigurationHash);
+		for (String[] columns : lines) {
+			if ((RESOURCE.equals(columns[0]) || CLASS.equals(columns[0])) && columns.length > 2) {
+				List<String> entryOutputs = Arrays.asList(columns).subList(3, columns.length);
+				state.previousEntries.put(columns[0] + "\t" + columns[1], new Entry(columns[2], entryOutputs));
+				state.previousOutputs.addAll(entryOutputs);
+			} else if (OUTPUT.equals(columns[0]) && columns.length > 1) {
+				state.previousOutputs.add(columns[1]);
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Checks whether a controller can be skipped. If it can, its outputs are
+	 * carried over to this run.
+	 *
+	 * @param key
+	 *            The key identifying the controller
+	 * @param hash
+	 *            The hash of the controller in this run
+	 * @param rootDir
+	 *            The output directory
+	 * @return true if the hash is unchanged and all outputs still exist
+	 */
+	boolean keepResourceIfUnchanged(String key, String hash, File rootDir) {
+		return keepIfUnchanged(RESOURCE, resources, key, hash, rootDir);
+	}
+
+	/**
+	 * Checks whether a class of the unified code model can be skipped. If it
+	 * can, its output is carried over to this run.
+	 *
+	 * @param file
+	 *            The file of the class, relative to the output directory
+	 * @param hash
+	 *            The hash of the class in this run
+	 * @param rootDir
+	 *            The output directory
+	 * @return true if the hash is unchanged and the file still exists
+	 */
+	boolean keepClassIfUnchanged(String file, String hash, File rootDir) {
+		return keepIfUnchanged(CLASS, classes, file, hash, rootDir);
+	}
+
+	private boolean keepIfUnchanged(String kind, Map<String, Entry> entries, String key, String hash, File rootDir) {
+		Entry previous = previousEntries.get(kind + "\t" + key);
+		if (configurationChanged || previous == null || !previous.hash.equals(hash)) {
+			return false;
+		}
+		for (String output : previous.outputs) {
+			if (!new File(rootDir, output).isFile()) {
+				return false;
+			}
+		}
+		entries.put(key, previous);
+		outputs.addAll(previous.outputs);
+		return true;
+	}
+
+	/**
+	 * Records a regenerated controller
+	 *
+	 * @param key
+	 *            The key identifying the controller
+	 * @param hash
+	 *            The hash of the controller
+	 * @param resourceOutputs
+	 *            The files written for the controller
+	 */
+	void recordResource(String key, String hash, Collection<String> resourceOutputs) {
+		resources.put(key, new Entry(hash, new ArrayList<>(new TreeSet<>(resourceOutputs))));
+		outputs.addAll(resourceOutputs);
+	}
+
+	/**
+	 * Records a regenerated class of the unified code model
+	 *
+	 * @param file
+	 *            The file of the class, relative to the output directory
+	 * @param hash
+	 *            The hash of the class
+	 */
+	void recordClass(String file, String hash) {
+		classes.put(file, new Entry(hash, Collections.singletonList(file)));
+		outputs.add(file);
+	}
+
+	/**
+	 * Records files which are written on every run
+	 *
+	 * @param files
+	 *            The files, relative to the output directory
+	 */
+	void recordOutputs(Collection<String> files) {
+		outputs.addAll(files);
+	}
+
+	/**
+	 * Deletes the files written by the previous run which were not written or
+	 * kept by this run
+	 *
+	 * @param rootDir
+	 *            The output directory
+	 * @return the number of deleted files
+	 * @throws IOException
+	 *             if a file can't be deleted
+	 */
+	int deleteRemovedOutputs(File rootDir) throws IOException {
+		int deleted = 0;
+		for (String output : previousOutputs) {
+			if (!outputs.contains(output) && Files.deleteIfExists(new File(rootDir, output).toPath())) {
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	/**
+	 * Stores the state of this run
+	 *
+	 * @throws IOException
+	 *             if the state file can't be written
+	 */
+	void save() throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add(CONFIGURATION + "\t" + configurationHash);
+		addLines(lines, RESOURCE, resources);
+		addLines(lines, CLASS, classes);
+		Set<String> otherOutputs = new TreeSet<>(outputs);
+		resources.values().forEach(entry -> otherOutputs.removeAll(entry.outputs));
+		classes.values().forEach(entry -> otherOutputs.removeAll(entry.outputs));
+		for (String output : otherOutputs) {
+			lines.add(OUTPUT + "\t" + output);
+		}
+
+		File stateDir = stateFile.getParentFile();
+		if (!stateDir.exists() && !stateDir.mkdirs()) {
+			throw new IOException("Could not create directory:" + stateDir.getAbsolutePath());
+		}
+		Files.write(stateFile.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+	private static void addLines(List<String> lines, String kind, Map<String, Entry> entries) {
+		for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+			StringBuilder line = new StringBuilder(kind).append('\t').append(entry.getKey()).append('\t').append(entry.getValue().hash);
+			for (String output : entry.getValue().outputs) {
+				line.append('\t').append(output);
+			}
+			lines.add(line.toString());
+		}
+	}
+
+	private static final class Entry {
+
+		private final String hash;
+		private final List<String> outputs;
+
+		private Entry(String hash, List<String> outputs) {
+			this.hash = hash;
+			this.outputs = outputs;
+		}
+	}
+}
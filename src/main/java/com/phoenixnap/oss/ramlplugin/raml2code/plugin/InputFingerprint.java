@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+
+/**
+ * Fingerprint of everything the generation depends on: the RAML file, all the
+ * files it references (includes, libraries, overlays and extensions), the files
+ * in the schema location, the JSON schemas loaded by the generation and the
+ * plugin configuration. If the fingerprint of two runs is the same, the
+ * generated code is the same as well. <p> The RAML files and JSON schemas may
+ * be referenced from many places, so instead of scanning for them, the files
+ * loaded by the RAML parser and the schemas loaded by the
+ * {@link SchemaResolver} of a run are stored along with the fingerprint and
+ * read again by the next run.
+ *
+ * @since 2.1.0
+ */
+final class InputFingerprint {
+
+	private static final String RAML_FILE = "raml ";
+
+	private static final String SCHEMA = "schema ";
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private InputFingerprint() {
+	}
+
+	/**
+	 * Checks whether the fingerprint stored by the previous run matches the one
+	 * of this run. The RAML files and JSON schemas loaded by the previous run
+	 * are read again to find out whether any of them changed.
+	 *
+	 * @param fingerprintFile
+	 *            The file written by the previous run
+	 * @param configuration
+	 *            The fingerprint of the configuration of this run, see
+	 *            {@link #computeConfiguration(File, Map)}
+	 * @param schemaResolver
+	 *            The resolver used to read the JSON schemas
+	 * @return true if nothing changed since the previous run
+	 * @throws IOException
+	 *             if the fingerprint file can't be read
+	 */
+	static boolean matches(File fingerprintFile, String configuration, SchemaResolver schemaResolver) throws IOException {
+		List<String> lines = Files.readAllLines(fingerprintFile.toPath(), StandardCharsets.UTF_8);
+		if (lines.isEmpty()) {
+			return false;
+		}
+		Set<File> ramlFiles = new TreeSet<>();
+		Set<URI> schemas = new TreeSet<>();
+		for (String line : lines.subList(1, lines.size())) {
+			if (line.startsWith(RAML_FILE)) {
+				ramlFiles.add(new File(line.substring(RAML_FILE.length())));
+			} else if (line.startsWith(SCHEMA)) {
+				schemas.add(URI.create(line.substring(SCHEMA.length())));
+			} else {
+				return false;
+			}
+		}
+		return lines.get(0).equals(addInputs(configuration, ramlFiles, schemas, schemaResolver));
+	}
+
+	/**
+	 * Stores the fingerprint of a run together with the RAML files and JSON
+	 * schemas it loaded
+	 *
+	 * @param fingerprintFile
+	 *            The file to write
+	 * @param configuration
+	 *            The fingerprint of the configuration of this run, see
+	 *            {@link #computeConfiguration(File, Map)}
+	 * @param ramlFiles
+	 *            The RAML files loaded by the parser
+	 * @param schemaResolver
+	 *            The resolver which loaded the JSON schemas of this run
+	 * @throws IOException
+	 *             if the fingerprint file can't be written
+	 */
+	static void write(File fingerprintFile, String configuration, Collection<File> ramlFiles, SchemaResolver schemaResolver)
+			throws IOException {
+		Set<File> files = new TreeSet<>(ramlFiles);
+		Set<URI> schemas = new TreeSet<>(schemaResolver.getRequestedDocuments());
+		List<String> lines = new ArrayList<>();
+		lines.add(addInputs(configuration, files, schemas, schemaResolver));
+		files.forEach(file -> lines.add(RAML_FILE + file.getAbsolutePath()));
+		schemas.forEach(schema -> lines.add(SCHEMA + schema));
+
+		File fingerprintDir = fingerprintFile.getParentFile();
+		if (!fingerprintDir.exists() && !fingerprintDir.mkdirs()) {
+			throw new IOException("Could not create directory:" + fingerprintDir.getAbsolutePath());
+		}
+		Files.write(fingerprintFile.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+	private static String addInputs(String configuration, Set<File> ramlFiles, Set<URI> schemas, SchemaResolver schemaResolver) {
+		MessageDigest digest = newDigest();
+		update(digest, configuration);
+		for (File file : ramlFiles) {
+			update(digest, file.getAbsolutePath());
+			try {
+				digest.update(Files.readAllBytes(file.toPath()));
+			} catch (IOException e) {
+				// a file which was deleted since changes the generated code
+				update(digest, "missing");
+			}
+		}
+		for (URI schema : schemas) {
+			update(digest, schema.toString());
+			try {
+				update(digest, schemaResolver.getDocument(schema));
+			} catch (IOException e) {
+				// schemas which couldn't be loaded affect the generated code
+				// as well, if they can be loaded later the code changes
+				update(digest, "missing");
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Computes the fingerprint of the configuration of a generation run,
+	 * ignoring the RAML files
+	 *
+	 * @param schemaDirectory
+	 *            The directory containing JSON schemas, null if none
+	 * @param parameters
+	 *            The configuration of the run
+	 * @return the fingerprint as a hex string
+	 * @throws IOException
+	 *             if any of the schema files can't be read
+	 */
+	static String computeConfiguration(File schemaDirectory, Map<String, String> parameters) throws IOException {
+		MessageDigest digest = newDigest();
+		updateConfiguration(digest, schemaDirectory, parameters);
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Computes the hash of the supplied values
+	 *
+	 * @param values
+	 *            The values to hash
+	 * @return the hash as a hex string
+	 */
+	static String hash(Iterable<String> values) {
+		MessageDigest digest = newDigest();
+		for (String value : values) {
+			update(digest, value);
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Computes a short hash of the supplied values, used to tell apart the
+	 * fingerprints of different executions
+	 *
+	 * @param values
+	 *            The values to hash
+	 * @return the hash as a hex string
+	 */
+	static String key(String... values) {
+		return hash(Arrays.asList(values)).substring(0, 16);
+	}
+
+	private static void updateConfiguration(MessageDigest digest, File schemaDirectory, Map<String, String> parameters) throws IOException {
+		for (Map.Entry<String, String> parameter : new TreeMap<>(parameters).entrySet()) {
+			update(digest, parameter.getKey() + "=" + parameter.getValue());
+		}
+
+		if (schemaDirectory != null && schemaDirectory.isDirectory()) {
+			Path schemaPath = schemaDirectory.toPath();
+			TreeSet<Path> schemaFiles = new TreeSet<>();
+			try (Stream<Path> files = Files.walk(schemaPath)) {
+				files.filter(Files::isRegularFile).forEach(schemaFiles::add);
+			}
+			for (Path file : schemaFiles) {
+				update(digest, relativize(schemaPath, file));
+				digest.update(Files.readAllBytes(file));
+			}
+		}
+	}
+
+	private static String relativize(Path base, Path file) {
+		return base.relativize(file).toString().replace('\\', '/');
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		// separator so that consecutive values can't be confused
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+		}
+		return new String(chars);
+	}
+}
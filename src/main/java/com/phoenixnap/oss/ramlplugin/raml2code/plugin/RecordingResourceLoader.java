@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.api.loader.FileResourceLoader;
+import org.raml.v2.api.loader.ResourceLoaderExtended;
+import org.raml.v2.api.loader.ResourceUriCallback;
+
+/**
+ * Resource loader of the RAML parser which records the files it loads.
+ * Resources are looked up relative to the directory of the RAML file first,
+ * anything else, such as URLs and class path resources, is loaded like the
+ * parser does by default but can't be tracked.
+ *
+ * @since 2.1.0
+ */
+final class RecordingResourceLoader implements ResourceLoaderExtended {
+
+	private final FileResourceLoader fileLoader;
+
+	private final DefaultResourceLoader defaultLoader = new DefaultResourceLoader();
+
+	private final Set<File> loadedFiles = new TreeSet<>();
+
+	private boolean untrackedResources = false;
+
+	/**
+	 * @param ramlDirectory
+	 *            The directory containing the RAML file
+	 */
+	RecordingResourceLoader(File ramlDirectory) {
+		this.fileLoader = new FileResourceLoader(ramlDirectory);
+	}
+
+	@Override
+	public InputStream fetchResource(String resourceName, ResourceUriCallback callback) {
+		InputStream resource = fileLoader.fetchResource(resourceName, uri -> {
+			loadedFiles.add(new File(uri).getAbsoluteFile());
+			if (callback != null) {
+				callback.onResourceFound(uri);
+			}
+		});
+		if (resource == null) {
+			resource = defaultLoader.fetchResource(resourceName, callback);
+			if (resource != null) {
+				untrackedResources = true;
+			}
+		}
+		return resource;
+	}
+
+	@Override
+	public InputStream fetchResource(String resourceName) {
+		return fetchResource(resourceName, null);
+	}
+
+	/**
+	 * @return the files loaded from disk so far
+	 */
+	Set<File> getLoadedFiles() {
+		return Collections.unmodifiableSet(loadedFiles);
+	}
+
+	/**
+	 * @return true if a resource was loaded from somewhere else than a file
+	 */
+	boolean hasUntrackedResources() {
+		return untrackedResources;
+	}
+}
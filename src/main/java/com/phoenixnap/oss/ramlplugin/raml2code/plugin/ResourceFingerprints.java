@@ -0,0 +1,337 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiBodyMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.CodeModelHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.TypeDependencyGraph;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+
+/**
+ * Computes hashes of the extracted controllers and of the classes in the
+ * unified code model. The hash of a controller covers its rendered code
+ * together with the classes it transitively references, the classes of the
+ * declared types reachable from its bodies and parameters, the JSON schemas of
+ * its bodies and the documents they reference through $ref, so a controller
+ * whose hash didn't change generates the same code. The unified code model is
+ * rendered once when the fingerprints are created, so it must be complete by
+ * then, and the rendered files are the ones written to disk.
+ *
+ * @since 2.1.0
+ */
+final class ResourceFingerprints {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(JsonParser.Feature.ALLOW_COMMENTS);
+
+	private final Map<String, JDefinedClass> classesByName = new HashMap<>();
+	private final Set<JDefinedClass> classes = new LinkedHashSet<>();
+	private final Map<JDefinedClass, String> classHashes = new HashMap<>();
+	private final Map<JDefinedClass, Set<JDefinedClass>> classReferences = new HashMap<>();
+	private final Map<String, Set<URI>> schemaReferences = new HashMap<>();
+	private final Map<URI, String> documentHashes = new HashMap<>();
+
+	private final JCodeModel codeModel;
+	private Map<String, byte[]> renderedFiles;
+	private final TypeDependencyGraph typeGraph;
+	private final SchemaResolver schemaResolver;
+	private final URI schemaLocation;
+
+	/**
+	 * @param codeModel
+	 *            The unified code model containing the POJOs, null if there is
+	 *            none
+	 * @param typeGraph
+	 *            The dependency graph of the declared types
+	 * @param schemaResolver
+	 *            The resolver loading the JSON schemas of the execution
+	 * @param schemaLocation
+	 *            The location $ref tags of the bodies are relative to, null for
+	 *            the class path
+	 */
+	ResourceFingerprints(JCodeModel codeModel, TypeDependencyGraph typeGraph, SchemaResolver schemaResolver, String schemaLocation) {
+		this.codeModel = codeModel;
+		this.renderedFiles = codeModel != null ? ChangedFilesCodeWriter.render(codeModel) : Collections.emptyMap();
+		this.typeGraph = typeGraph;
+		this.schemaResolver = schemaResolver;
+		this.schemaLocation = URI.create(StringUtils.hasText(schemaLocation) ? schemaLocation : "classpath:/");
+		if (codeModel != null) {
+			Iterator<JPackage> packages = codeModel.packages();
+			while (packages.hasNext()) {
+				Iterator<JDefinedClass> packageClasses = packages.next().classes();
+				while (packageClasses.hasNext()) {
+					JDefinedClass definedClass = packageClasses.next();
+					classes.add(definedClass);
+					classesByName.putIfAbsent(definedClass.name(), definedClass);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the hash of the classes and schemas a controller depends on. The
+	 * hashes of all the controllers are computed before they are generated, as
+	 * they may be generated in parallel.
+	 *
+	 * @param resource
+	 *            The controller metadata
+	 * @return the hash as a hex string
+	 */
+	String getDependencyHash(ApiResourceMetadata resource) {
+		List<String> values = new ArrayList<>();
+		values.add("resource " + resource.getName() + " " + resource.getResourceUri());
+		Set<JDefinedClass> referencedClasses = new TreeSet<>(Comparator.comparing(JDefinedClass::fullName));
+		Set<URI> documents = new TreeSet<>();
+		for (ApiBodyMetadata body : resource.getDependencies()) {
+			collectReferencedClasses(classesByName.get(body.getName()), referencedClasses);
+			if (body.getSchema() != null) {
+				values.add("body " + body.getName() + " " + body.getSchema());
+				documents.addAll(getSchemaReferences(body.getSchema()));
+			}
+		}
+		for (String typeName : getReachableTypes(resource)) {
+			collectReferencedClasses(classesByName.get(NamingHelper.convertToClassName(typeName)), referencedClasses);
+		}
+		for (JDefinedClass referencedClass : referencedClasses) {
+			values.add("class " + referencedClass.fullName() + " " + getClassHash(referencedClass));
+		}
+		for (URI document : documents) {
+			values.add("schema " + document + " " + getDocumentHash(document));
+		}
+		return InputFingerprint.hash(values);
+	}
+
+	/**
+	 * Computes the hash of a controller
+	 *
+	 * @param dependencyHash
+	 *            The hash of the classes and schemas the controller depends on
+	 * @param controllerFiles
+	 *            The rendered code of the controller
+	 * @return the hash as a hex string
+	 */
+	static String getResourceHash(String dependencyHash, Map<String, byte[]> controllerFiles) {
+		List<String> values = new ArrayList<>();
+		values.add("dependencies " + dependencyHash);
+		for (Map.Entry<String, byte[]> file : controllerFiles.entrySet()) {
+			values.add("file " + file.getKey() + " " + hashCode(new String(file.getValue(), StandardCharsets.UTF_8)));
+		}
+		return InputFingerprint.hash(values);
+	}
+
+	/**
+	 * Fetches the declared types used by a controller, directly or nested in
+	 * other types
+	 */
+	private Set<String> getReachableTypes(ApiResourceMetadata resource) {
+		Set<String> names = new HashSet<>();
+		resource.getDependencies().forEach(body -> names.add(body.getName()));
+		resource.getParameters().forEach(parameter -> names.add(StringUtils.capitalize(parameter.getName())));
+		List<String> roots = new ArrayList<>();
+		for (String typeName : typeGraph.getTypeNames()) {
+			if (names.contains(typeName) || names.contains(NamingHelper.convertToClassName(typeName))) {
+				roots.add(typeName);
+			}
+		}
+		return typeGraph.getReachableTypes(roots, true);
+	}
+
+	/**
+	 * Fetches the documents a body schema references, directly or through other
+	 * documents
+	 */
+	private Set<URI> getSchemaReferences(String schema) {
+		Set<URI> documents = schemaReferences.get(schema);
+		if (documents == null) {
+			documents = new TreeSet<>();
+			try {
+				collectSchemaReferences(OBJECT_MAPPER.readTree(schema), schemaLocation, documents);
+			} catch (IOException e) {
+				// not a JSON schema
+			}
+			schemaReferences.put(schema, documents);
+		}
+		return documents;
+	}
+
+	private void collectSchemaReferences(JsonNode node, URI base, Set<URI> documents) {
+		if (node == null) {
+			return;
+		}
+		JsonNode ref = node.get("$ref");
+		if (ref != null && ref.isTextual() && !ref.asText().startsWith("#")) {
+			URI document = base.resolve(ref.asText());
+			if (document.getFragment() != null) {
+				document = URI.create(document.toString().substring(0, document.toString().indexOf('#')));
+			}
+			if (documents.add(document)) {
+				collectSchemaReferences(readDocument(document), document, documents);
+			}
+		}
+		node.forEach(child -> collectSchemaReferences(child, base, documents));
+	}
+
+	private JsonNode readDocument(URI document) {
+		try {
+			return schemaResolver.resolve(document);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private String getDocumentHash(URI document) {
+		String hash = documentHashes.get(document);
+		if (hash == null) {
+			try {
+				hash = InputFingerprint.hash(Collections.singletonList(schemaResolver.getDocument(document)));
+			} catch (IOException e) {
+				hash = "missing";
+			}
+			documentHashes.put(document, hash);
+		}
+		return hash;
+	}
+
+	/**
+	 * Computes the hash of the code of a class in the unified code model
+	 *
+	 * @param definedClass
+	 *            The class
+	 * @return the hash as a hex string
+	 */
+	String getClassHash(JDefinedClass definedClass) {
+		String hash = classHashes.get(definedClass);
+		if (hash == null) {
+			byte[] code = renderedFiles.get(ChangedFilesCodeWriter.getOutputFile(definedClass));
+			hash = code != null ? hashCode(new String(code, StandardCharsets.UTF_8)) : hashClass(definedClass);
+			classHashes.put(definedClass, hash);
+		}
+		return hash;
+	}
+
+	/**
+	 * Fetches the rendered files of the unified code model. It is rendered
+	 * again if classes were added since the fingerprints were created.
+	 *
+	 * @return the content of the files by their path relative to the output
+	 *         directory
+	 */
+	Map<String, byte[]> getRenderedFiles() {
+		if (codeModel != null && !renderedFiles.keySet().containsAll(ChangedFilesCodeWriter.getOutputFiles(codeModel))) {
+			renderedFiles = ChangedFilesCodeWriter.render(codeModel);
+		}
+		return renderedFiles;
+	}
+
+	/**
+	 * Computes the hash of the code of a class, without caching it
+	 *
+	 * @param definedClass
+	 *            The class
+	 * @return the hash as a hex string
+	 */
+	static String hashClass(JDefinedClass definedClass) {
+		return hashCode(CodeModelHelper.getElementAsString(definedClass));
+	}
+
+	private static String hashCode(String code) {
+		// serialVersionUID is random so it must not affect the hash
+		return InputFingerprint.hash(Collections.singletonList(code.replaceAll("(?m)^.*serialVersionUID.*$", "")));
+	}
+
+	private void collectReferencedClasses(JDefinedClass definedClass, Set<JDefinedClass> referencedClasses) {
+		if (definedClass == null || !referencedClasses.add(definedClass)) {
+			return;
+		}
+		for (JDefinedClass referencedClass : getReferences(definedClass)) {
+			collectReferencedClasses(referencedClass, referencedClasses);
+		}
+	}
+
+	private Set<JDefinedClass> getReferences(JDefinedClass definedClass) {
+		Set<JDefinedClass> references = classReferences.get(definedClass);
+		if (references == null) {
+			references = new LinkedHashSet<>();
+			addReferences(definedClass, references);
+			references.remove(definedClass);
+			classReferences.put(definedClass, references);
+		}
+		return references;
+	}
+
+	private void addReferences(JDefinedClass definedClass, Set<JDefinedClass> references) {
+		addReference(definedClass._extends(), references);
+		Iterator<JClass> interfaces = definedClass._implements();
+		while (interfaces.hasNext()) {
+			addReference(interfaces.next(), references);
+		}
+		for (JFieldVar field : definedClass.fields().values()) {
+			addReference(field.type(), references);
+		}
+		Iterator<JDefinedClass> innerClasses = definedClass.classes();
+		while (innerClasses.hasNext()) {
+			addReferences(innerClasses.next(), references);
+		}
+	}
+
+	private void addReference(JType type, Set<JDefinedClass> references) {
+		if (!(type instanceof JClass)) {
+			return;
+		}
+		JClass referencedClass = (JClass) type;
+		if (referencedClass.isArray()) {
+			addReference(referencedClass.elementType(), references);
+			return;
+		}
+		JClass erasure = referencedClass.erasure();
+		if (erasure instanceof JDefinedClass) {
+			JDefinedClass topLevelClass = (JDefinedClass) erasure;
+			while (topLevelClass.outer() instanceof JDefinedClass) {
+				topLevelClass = (JDefinedClass) topLevelClass.outer();
+			}
+			if (classes.contains(topLevelClass)) {
+				references.add(topLevelClass);
+			}
+		}
+		for (JClass typeParameter : referencedClass.getTypeParameters()) {
+			addReference(typeParameter, references);
+		}
+	}
+}
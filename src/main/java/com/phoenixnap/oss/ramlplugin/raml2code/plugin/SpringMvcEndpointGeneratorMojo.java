@@ -15,14 +15,29 @@ package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.lang.reflect.Method;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.annotation.Generated;
@@ -47,11 +62,15 @@ import org.springframework.util.StringUtils;
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiBodyMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.CodeModelHelper;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.NamingHelper;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlParser;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaGenerationEngine;
 import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaHelper;
-import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.TypeDependencyGraph;
+import com.phoenixnap.oss.ramlplugin.raml2code.interpreters.RamlTypeInterpreter;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.raml10.RJP10V2RamlRoot;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.ConfigurableRule;
@@ -60,6 +79,7 @@ import com.phoenixnap.oss.ramlplugin.raml2code.rules.Rule;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4ControllerStubRule;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
 
 /**
  * Maven Plugin MOJO specific to Generation of Spring MVC Endpoints from RAML
@@ -71,6 +91,11 @@ import com.sun.codemodel.JDefinedClass;
 @Mojo(name = "generate-springmvc-endpoints", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME, threadSafe = true, requiresProject = false)
 public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 
+	/**
+	 * Position of the code which isn't generated for a resource in parallel
+	 */
+	private static final int SERIAL = -1;
+
 	/**
 	 * Maven project - required for project info
 	 */
@@ -235,10 +260,138 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 	@Parameter(required = false, readonly = true, defaultValue = "false")
 	protected Boolean generatedAnnotation;
 
+	/**
+	 * If set to true, rules will be applied and controllers will be written to
+	 * disk in parallel. The generated code is identical to the one generated
+	 * serially.
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "false")
+	protected Boolean parallelEmission;
+
+	/**
+	 * Number of worker threads used if parallelEmission is enabled. Values
+	 * lower than 1 will use the number of available processors.
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "0")
+	protected Integer emissionThreads;
+
+	/**
+	 * List of full qualified names of custom RamlTypeInterpreter
+	 * implementations. They will be used instead of the built in interpreters
+	 * for the types they support.
+	 */
+	@Parameter(required = false, readonly = true)
+	protected List<String> typeInterpreters = new ArrayList<>();
+
+	/**
+	 * If set to true, a fingerprint of the RAML files, the files they
+	 * reference, the JSON schemas and the plugin configuration is stored in the
+	 * build directory. The generation is skipped if the fingerprint didn't
+	 * change since the last run. Otherwise only the controllers and model
+	 * classes which changed are written and files which are not generated
+	 * anymore are deleted.
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "false")
+	protected Boolean incremental;
+
+	/**
+	 * If set to true, the same inputs always generate the same code:
+	 * serialVersionUIDs are derived from the code of the class and the
+	 * outputTimestamp is used instead of the current date.
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "false")
+	protected Boolean reproducibleOutput;
+
+	/**
+	 * Timestamp used instead of the current date if reproducibleOutput is
+	 * enabled. Either an ISO 8601 date or the number of seconds since the
+	 * epoch. If not set, no date is added to the generated code.
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "${project.build.outputTimestamp}")
+	protected String outputTimestamp;
+
+	/**
+	 * If set to true, the wall time, CPU time and allocated bytes of each phase
+	 * of the generation are measured, in total and per resource. The report is
+	 * written as JSON to the build directory and the slowest resources are
+	 * logged.
+	 */
+	@Parameter(property = "generationReport", required = false, readonly = true, defaultValue = "false")
+	protected Boolean generationReport;
+
+	/**
+	 * Number of resources listed in the summary of the slowest resources if
+	 * generationReport is enabled
+	 */
+	@Parameter(required = false, readonly = true, defaultValue = "10")
+	protected Integer reportSlowestResources;
+
+	/**
+	 * If set to true, the controllers are extracted, generated and written one
+	 * top level resource at a time and released afterwards, instead of keeping
+	 * the whole model in memory until the end. Model classes shared by several
+	 * resources are written once and the generation fails if such a class is
+	 * generated with different code for different resources. Reduces the heap
+	 * needed for large specs.
+	 */
+	@Parameter(property = "streaming", required = false, readonly = true, defaultValue = "false")
+	protected Boolean streaming;
+
+	/**
+	 * If set to true, the JSON schemas of all request and response bodies are
+	 * generated with one jsonschema2pojo engine into the code model of the RAML
+	 * data types, instead of one code model per body. Schemas referenced with
+	 * $ref are loaded and generated once and a body schema used by several
+	 * resources is generated once. Only applies to RAML 1.0 without streaming.
+	 */
+	@Parameter(property = "unifiedSchemaGeneration", required = false, readonly = true, defaultValue = "false")
+	protected Boolean unifiedSchemaGeneration;
+
 	private ClassRealm classRealm;
 
 	private String resolvedSchemaLocation;
 
+	private JCodeModel unifiedCodeModel;
+
+	/**
+	 * The configured rule of this execution, shared by all controllers
+	 */
+	private Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> ruleInstance;
+
+	private IncrementalGenerationState generationState;
+
+	private ResourceFingerprints resourceFingerprints;
+
+	private Map<ApiResourceMetadata, String> dependencyHashes;
+
+	/**
+	 * The position of the last resource which wrote each file while the
+	 * resources are generated in parallel
+	 */
+	private Map<String, Integer> parallelWritePositions;
+
+	private final AtomicInteger writtenFiles = new AtomicInteger();
+
+	private final AtomicInteger unchangedFiles = new AtomicInteger();
+
+	private GenerationReport report = GenerationReport.DISABLED;
+
+	/**
+	 * The model classes written so far while streaming, null otherwise
+	 */
+	private EmittedTypeRegistry emittedTypes;
+
+	/**
+	 * The engine generating the JSON schemas into the unified code model, null
+	 * if unifiedSchemaGeneration is not used
+	 */
+	private SchemaGenerationEngine schemaEngine;
+
+	/**
+	 * Loads and caches the JSON schemas of this execution
+	 */
+	private SchemaResolver schemaResolver;
+
 	protected void generateEndpoints() throws IOException {
 
 		File pomFile = null;
@@ -272,10 +425,45 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 			resolvedRamlPath += ramlPath;
 		}
 
-		// Resolve schema location and add to classpath
+		if (StringUtils.hasText(outputRelativePath)) {
+			if (!outputRelativePath.startsWith(File.separator) && !outputRelativePath.startsWith("/")) {
+				resolvedPath += File.separator;
+			}
+			resolvedPath += outputRelativePath;
+		} else {
+			resolvedPath += "/target/generated-sources/spring-mvc";
+		}
+
+		File rootDir = new File(resolvedPath + (addTimestampFolder == true ? getTimestampFolder() : "") + "/");
+
+		File ramlFile = new File(resolvedRamlPath).getAbsoluteFile();
+		File fingerprintFile = null;
+		String fingerprint = null;
+		RecordingResourceLoader ramlLoader = null;
+		if (Boolean.TRUE.equals(incremental)) {
+			fingerprintFile = getBuildStateFile(resolvedRamlPath, rootDir, ".fingerprint");
+			fingerprint = computeFingerprint();
+			if (fingerprint != null && rootDir.exists() && !Boolean.TRUE.equals(addTimestampFolder) && fingerprintFile.isFile()
+					&& isUnchanged(fingerprintFile, fingerprint)) {
+				this.getLog().info("RAML and configuration are unchanged since the last generation. Skipping generation of " + rootDir);
+				return;
+			}
+			// a failed generation must not leave a stale fingerprint behind
+			Files.deleteIfExists(fingerprintFile.toPath());
+			ramlLoader = new RecordingResourceLoader(ramlFile.getParentFile());
+		}
+
+		// Resolve schema location, schemas in the schema directory are found
+		// as if they were on the classpath
 		resolvedSchemaLocation = getSchemaLocation();
+		File schemaDirectory = getSchemaDirectory();
+		schemaResolver = new SchemaResolver(schemaDirectory != null ? Collections.singletonList(schemaDirectory) : null);
 
-		RamlRoot loadRamlFromFile = RamlLoader.loadRamlFromFile(new File(resolvedRamlPath).toURI().toString());
+		report = Boolean.TRUE.equals(generationReport) ? new GenerationReport() : GenerationReport.DISABLED;
+		RecordingResourceLoader resourceLoader = ramlLoader;
+		RamlRoot loadRamlFromFile = report.measure(GenerationReport.LOAD, null,
+				() -> resourceLoader != null ? RamlLoader.loadRamlFromFile(ramlFile, resourceLoader)
+						: RamlLoader.loadRamlFromFile(ramlFile.toURI().toString()));
 
 		JCodeModel codeModel = null;
 		// In the RJP10V2 we have support for a unified code model. RJP08V1 does
@@ -285,49 +473,320 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 			codeModel = new JCodeModel();
 			unifiedModel = true;
 		}
+		unifiedCodeModel = codeModel;
+		schemaEngine = null;
+		if (unifiedModel && Boolean.TRUE.equals(unifiedSchemaGeneration) && !Boolean.TRUE.equals(streaming)) {
+			schemaEngine = new SchemaGenerationEngine(codeModel, resolvedSchemaLocation,
+					this.useJackson1xCompatibility ? new Jackson1Annotator(this.generationConfig) : null);
+		}
 
 		// init configuration
-		Config.setMojo(this);
+		Config.setContext(createGenerationContext());
+		ruleInstance = loadRule();
 
 		RamlParser par = new RamlParser(getBasePath(loadRamlFromFile));
-		Set<ApiResourceMetadata> controllers = par.extractControllers(codeModel, loadRamlFromFile);
 
-		if (StringUtils.hasText(outputRelativePath)) {
-			if (!outputRelativePath.startsWith(File.separator) && !outputRelativePath.startsWith("/")) {
-				resolvedPath += File.separator;
+		if (!rootDir.exists() && !rootDir.mkdirs()) {
+			throw new IOException("Could not create directory:" + rootDir.getAbsolutePath());
+		}
+
+		generationState = null;
+		dependencyHashes = null;
+		emittedTypes = null;
+		writtenFiles.set(0);
+		unchangedFiles.set(0);
+		if (Boolean.TRUE.equals(streaming) && unifiedModel) {
+			if (Boolean.TRUE.equals(incremental)) {
+				this.getLog().info("Streaming generation compares generated files with the files on disk but doesn't track removed files.");
 			}
-			resolvedPath += outputRelativePath;
+			generateStreaming(par, loadRamlFromFile, rootDir);
 		} else {
-			resolvedPath += "/target/generated-sources/spring-mvc";
+			Set<ApiResourceMetadata> controllers = par.extractControllers(codeModel, loadRamlFromFile);
+			if (Boolean.TRUE.equals(incremental)) {
+				loadGenerationState(getBuildStateFile(resolvedRamlPath, rootDir, ".state"));
+			}
+
+			TypeDependencyGraph typeGraph = null;
+			Set<String> referencedTypes = null;
+			if (isTypeGraphNeeded()) {
+				typeGraph = TypeDependencyGraph.build(loadRamlFromFile);
+				referencedTypes = getReferencedTypes(typeGraph, getAllReferencedTypeNames(controllers));
+				reportUnusedTypes(typeGraph, referencedTypes);
+			}
+			if (generationState != null) {
+				// the unreferenced objects complete the unified code model,
+				// which the hashes of the resources and classes depend on
+				if (this.generateUnreferencedObjects) {
+					generateUnreferencedObjects(codeModel, loadRamlFromFile, rootDir, typeGraph, referencedTypes,
+							getReferencedSchemas(controllers));
+				}
+				computeDependencyHashes(codeModel, typeGraph, controllers);
+			}
+
+			generateCode(null, controllers, rootDir);
+			if (this.generateUnreferencedObjects && generationState == null) {
+				generateUnreferencedObjects(codeModel, loadRamlFromFile, rootDir, typeGraph, referencedTypes,
+						getReferencedSchemas(controllers));
+			}
+
+			if (unifiedModel) {
+				report.measure(GenerationReport.WRITE, null, () -> buildUnifiedCodeModelToDisk(unifiedCodeModel, rootDir));
+			}
+			if (schemaEngine != null) {
+				this.getLog().info("Generated " + schemaEngine.getGeneratedSchemas() + " JSON schemas into the unified code model, "
+						+ schemaEngine.getReusedSchemas() + " schema usages were reused");
+			}
 		}
 
-		File rootDir = new File(resolvedPath + (addTimestampFolder == true ? System.currentTimeMillis() : "") + "/");
+		int deletedFiles = 0;
+		if (generationState != null) {
+			deletedFiles = generationState.deleteRemovedOutputs(rootDir);
+			generationState.save();
+		}
+		this.getLog().info(
+				"Generated files written: " + writtenFiles.get() + ", unchanged: " + unchangedFiles.get() + ", deleted: " + deletedFiles);
 
-		if (!rootDir.exists() && !rootDir.mkdirs()) {
-			throw new IOException("Could not create directory:" + rootDir.getAbsolutePath());
+		if (fingerprint != null) {
+			if (ramlLoader.hasUntrackedResources()) {
+				this.getLog().info("The RAML references resources which are not local files. The generation will not be skipped.");
+			} else {
+				InputFingerprint.write(fingerprintFile, fingerprint, ramlLoader.getLoadedFiles(), schemaResolver);
+			}
+		}
+
+		if (report.isEnabled()) {
+			this.getLog().info("Naming cache: " + Config.getNamingCache());
+			writeReport(getBuildStateFile(resolvedRamlPath, rootDir, "-report.json"));
+		}
+	}
+
+	/**
+	 * Writes the generation report and logs the costs of the phases and the
+	 * slowest resources
+	 *
+	 * @param reportFile
+	 *            The file to write the JSON report to
+	 */
+	private void writeReport(File reportFile) {
+		int slowest = reportSlowestResources != null ? reportSlowestResources : 10;
+		try {
+			report.writeJson(reportFile, slowest);
+			this.getLog().info("Generation report written to " + reportFile);
+		} catch (IOException e) {
+			this.getLog().warn("Could not write generation report to " + reportFile, e);
+		}
+		report.getPhases().forEach((phase, stats) -> this.getLog().info("Phase " + phase + ": " + describeStats(stats)));
+		Map<String, GenerationReport.Stats> slowestResources = report.getSlowestResources(slowest);
+		if (!slowestResources.isEmpty()) {
+			this.getLog().info("Slowest " + slowestResources.size() + " Resources:");
+			slowestResources.forEach((resource, stats) -> this.getLog().info("  " + resource + ": " + describeStats(stats)));
+		}
+	}
+
+	private static String describeStats(GenerationReport.Stats stats) {
+		return TimeUnit.NANOSECONDS.toMillis(stats.getWallNanos()) + "ms wall, " + TimeUnit.NANOSECONDS.toMillis(stats.getCpuNanos())
+				+ "ms cpu, " + (stats.getAllocatedBytes() / 1024) + "kB allocated in " + stats.getCount() + " calls";
+	}
+
+	private long getTimestampFolder() {
+		if (Boolean.TRUE.equals(reproducibleOutput)) {
+			Date timestamp = Config.parseOutputTimestamp(outputTimestamp);
+			if (timestamp != null) {
+				return timestamp.getTime();
+			}
+			this.getLog().warn("addTimestampFolder uses the current time since no outputTimestamp is set. The output is not reproducible.");
+		}
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Computes the fingerprint of the configuration of this execution, the RAML
+	 * files and JSON schemas loaded by the previous run are compared by
+	 * {@link #isUnchanged(File, String)}
+	 *
+	 * @return the fingerprint or null if some of the inputs couldn't be read,
+	 *         in which case the generation is never skipped
+	 */
+	private String computeFingerprint() {
+		try {
+			return InputFingerprint.computeConfiguration(getSchemaDirectory(), getConfigurationValues());
+		} catch (IOException | RuntimeException e) {
+			this.getLog().info("Could not compute fingerprint of the inputs, the generation will not be skipped: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Compares the fingerprint of this execution with the one of the previous
+	 * run, including the RAML files and JSON schemas loaded by the previous run
+	 *
+	 * @param fingerprintFile
+	 *            The file written by the previous run
+	 * @param fingerprint
+	 *            The fingerprint of the configuration
+	 * @return true if the generation can be skipped
+	 */
+	private boolean isUnchanged(File fingerprintFile, String fingerprint) {
+		File schemaDirectory = getSchemaDirectory();
+		try {
+			return InputFingerprint.matches(fingerprintFile, fingerprint,
+					new SchemaResolver(schemaDirectory != null ? Collections.singletonList(schemaDirectory) : null));
+		} catch (IOException | RuntimeException e) {
+			this.getLog().warn("Could not read the fingerprint of the previous generation.", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Loads the state of the previous run. If the state can't be loaded
+	 * everything is regenerated.
+	 *
+	 * @param stateFile
+	 *            The file containing the state of the previous run
+	 * @throws IOException
+	 *             if the state file can't be deleted
+	 */
+	private void loadGenerationState(File stateFile) throws IOException {
+		try {
+			String configurationHash = InputFingerprint.computeConfiguration(getSchemaDirectory(), getConfigurationValues());
+			generationState = IncrementalGenerationState.load(stateFile, configurationHash);
+		} catch (IOException | RuntimeException e) {
+			this.getLog().warn("Could not load the state of the previous generation. All files will be regenerated.", e);
+		}
+		// the state is saved again once the generation succeeded, a failed
+		// generation must not leave the state of the previous run behind
+		Files.deleteIfExists(stateFile.toPath());
+	}
+
+	/**
+	 * Computes the hashes of the classes and schemas the extracted controllers
+	 * depend on. The classes of the unified code model must all be generated,
+	 * hashes are computed upfront as the rules may run in parallel.
+	 *
+	 * @param codeModel
+	 *            The unified code model, null if there is none
+	 * @param typeGraph
+	 *            The dependency graph of the declared types
+	 * @param controllers
+	 *            ApiResourceMetadata list
+	 */
+	private void computeDependencyHashes(JCodeModel codeModel, TypeDependencyGraph typeGraph, Set<ApiResourceMetadata> controllers) {
+		if (codeModel != null && Boolean.TRUE.equals(reproducibleOutput)) {
+			CodeModelHelper.updateSerialVersionUIDs(codeModel);
+		}
+		resourceFingerprints = new ResourceFingerprints(codeModel, typeGraph, schemaResolver, resolvedSchemaLocation);
+		dependencyHashes = new HashMap<>();
+		for (ApiResourceMetadata met : controllers) {
+			dependencyHashes.put(met, resourceFingerprints.getDependencyHash(met));
+		}
+	}
+
+	private File getSchemaDirectory() {
+		if (StringUtils.hasText(schemaLocation) && !schemaLocation.contains(":")) {
+			return new File(project.getBasedir(), schemaLocation);
+		}
+		return null;
+	}
+
+	/**
+	 * Collects the plugin version and the value of every configuration
+	 * parameter which affects the generated code
+	 *
+	 * @return map of parameter names and values
+	 */
+	private Map<String, String> getConfigurationValues() {
+		Map<String, String> values = new TreeMap<>();
+		values.put("pluginVersion", descriptor != null ? descriptor.getVersion() : CodeModelHelper.getVersion());
+		values.put("ramlPath", ramlPath);
+		values.put("pomPath", pomPath);
+		values.put("outputRelativePath", outputRelativePath);
+		values.put("addTimestampFolder", String.valueOf(addTimestampFolder));
+		values.put("basePackage", basePackage);
+		values.put("schemaLocation", schemaLocation);
+		values.put("generateUnreferencedObjects", String.valueOf(generateUnreferencedObjects));
+		values.put("baseUri", baseUri);
+		values.put("seperateMethodsByContentType", String.valueOf(seperateMethodsByContentType));
+		values.put("useJackson1xCompatibility", String.valueOf(useJackson1xCompatibility));
+		values.put("rule", rule);
+		values.put("ruleConfiguration", describeValue(ruleConfiguration));
+		values.put("generationConfig", describeValue(generationConfig));
+		values.put("injectHttpHeadersParameter", String.valueOf(injectHttpHeadersParameter));
+		values.put("resourceDepthInClassNames", String.valueOf(resourceDepthInClassNames));
+		values.put("resourceTopLevelInClassNames", String.valueOf(resourceTopLevelInClassNames));
+		values.put("reverseOrderInClassNames", String.valueOf(reverseOrderInClassNames));
+		values.put("methodsNamingLogic", String.valueOf(methodsNamingLogic));
+		values.put("overrideNamingLogicWith", String.valueOf(overrideNamingLogicWith));
+		values.put("dontGenerateForAnnotation", dontGenerateForAnnotation);
+		values.put("injectHttpRequestParameter", String.valueOf(injectHttpRequestParameter));
+		values.put("generatedAnnotation", String.valueOf(generatedAnnotation));
+		values.put("typeInterpreters", String.valueOf(typeInterpreters));
+		values.put("reproducibleOutput", String.valueOf(reproducibleOutput));
+		values.put("outputTimestamp", outputTimestamp);
+		values.put("streaming", String.valueOf(streaming));
+		values.put("unifiedSchemaGeneration", String.valueOf(unifiedSchemaGeneration));
+		return values;
+	}
+
+	private static String describeValue(Object value) {
+		if (value instanceof Map) {
+			return new TreeMap<>((Map<?, ?>) value).toString();
 		}
+		if (value instanceof PojoGenerationConfig) {
+			Map<String, String> values = new TreeMap<>();
+			for (Field field : PojoGenerationConfig.class.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					values.put(field.getName(), String.valueOf(readField(field, value)));
+				}
+			}
+			return values.toString();
+		}
+		return String.valueOf(value);
+	}
 
-		generateCode(null, controllers, rootDir);
-		if (this.generateUnreferencedObjects) {
-			generateUnreferencedObjects(codeModel, loadRamlFromFile, resolvedRamlPath, rootDir, controllers);
+	private static Object readField(Field field, Object target) {
+		try {
+			field.setAccessible(true);
+			return field.get(target);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Could not read parameter " + field.getName(), e);
 		}
+	}
 
-		if (unifiedModel) {
-			buildCodeModelToDisk(codeModel, "Unified", rootDir);
+	/**
+	 * The fingerprint, the generation state and the generation report are
+	 * stored in the build directory. Each combination of RAML file and output
+	 * directory gets its own files so that multiple executions in the same
+	 * project don't interfere.
+	 *
+	 * @param resolvedRamlPath
+	 *            The absolute path of the RAML file
+	 * @param rootDir
+	 *            The directory to which the code is written
+	 * @param extension
+	 *            The extension of the file
+	 * @return the file
+	 */
+	private File getBuildStateFile(String resolvedRamlPath, File rootDir, String extension) {
+		File buildDirectory;
+		if (project.getBuild() != null && StringUtils.hasText(project.getBuild().getDirectory())) {
+			buildDirectory = new File(project.getBuild().getDirectory());
+		} else {
+			buildDirectory = new File(project.getBasedir(), "target");
 		}
+		String key = InputFingerprint.key(resolvedRamlPath, rootDir.getAbsolutePath());
+		return new File(buildDirectory, "springmvc-raml-plugin" + File.separator + key + extension);
 	}
 
 	/**
-	 * Fetches all referenced type names so as to not generate classes multiple
-	 * times
+	 * Fetches the names of the bodies and parameters of the controllers, the
+	 * types nested in them are found with
+	 * {@link #getReferencedTypes(TypeDependencyGraph, Set)}
 	 * 
 	 * @param controllers
 	 *            ApiResourceMetadata list
 	 * @return set of names
 	 */
 	private Set<String> getAllReferencedTypeNames(Set<ApiResourceMetadata> controllers) {
-		// TODO Add nested objects as well. For now only the top level objects
-		// are included
 		Set<String> parametersNames = controllers.stream().flatMap(resourceMetadata -> resourceMetadata.getParameters().stream())
 				.map(apiParameter -> StringUtils.capitalize(apiParameter.getName())).collect(Collectors.toSet());
 		Set<String> bodyNames = controllers.stream().flatMap(resourceMetadata -> resourceMetadata.getDependencies().stream())
@@ -336,30 +795,180 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 		return bodyNames;
 	}
 
-	private void generateUnreferencedObjects(JCodeModel codeModel, RamlRoot loadRamlFromFile, String resolvedRamlPath, File rootDir,
-			Set<ApiResourceMetadata> controllers) {
-		if (loadRamlFromFile.getTypes() != null && !loadRamlFromFile.getTypes().isEmpty()) {
-			this.getLog().debug("Generating Code for Unreferenced Types");
-			Set<String> allReferencedTypes = getAllReferencedTypeNames(controllers);
-			for (Map.Entry<String, RamlDataType> type : loadRamlFromFile.getTypes().entrySet()) {
-				if (!allReferencedTypes.contains(type.getKey())) {
-					ApiBodyMetadata tempBodyMetadata = RamlTypeHelper.mapTypeToPojo(codeModel, loadRamlFromFile, type.getValue().getType());
-					generateModelSources(codeModel, tempBodyMetadata, rootDir);
+	/**
+	 * Fetches the declared types used by the controllers, directly or nested in
+	 * other types. Discriminator child types are not included as they are not
+	 * generated along with their parent.
+	 * 
+	 * @param typeGraph
+	 *            The dependency graph of the declared types
+	 * @param referencedNames
+	 *            The names of the bodies and parameters of the controllers
+	 * @return the names of the declared types
+	 */
+	private static Set<String> getReferencedTypes(TypeDependencyGraph typeGraph, Set<String> referencedNames) {
+		List<String> roots = typeGraph.getTypeNames().stream().filter(
+				typeName -> referencedNames.contains(typeName) || referencedNames.contains(NamingHelper.convertToClassName(typeName)))
+				.collect(Collectors.toList());
+		return typeGraph.getReachableTypes(roots, false);
+	}
+
+	/**
+	 * Fetches the JSON schemas of the bodies of the controllers
+	 * 
+	 * @param controllers
+	 *            ApiResourceMetadata list
+	 * @return set of schemas
+	 */
+	private static Set<String> getReferencedSchemas(Set<ApiResourceMetadata> controllers) {
+		return controllers.stream().flatMap(resourceMetadata -> resourceMetadata.getDependencies().stream()).map(ApiBodyMetadata::getSchema)
+				.filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+
+	/**
+	 * The dependencies of the declared types are only needed to generate the
+	 * unreferenced types, to report the unused ones and to hash the resources
+	 * for the incremental generation
+	 *
+	 * @return true if the type dependency graph has to be built
+	 */
+	private boolean isTypeGraphNeeded() {
+		return this.generateUnreferencedObjects || report.isEnabled() || generationState != null;
+	}
+
+	/**
+	 * Logs the declared types which are used by no controller, neither directly
+	 * nor through other types, and adds them to the generation report
+	 * 
+	 * @param typeGraph
+	 *            The dependency graph of the declared types
+	 * @param referencedTypes
+	 *            The declared types used by the controllers
+	 */
+	private void reportUnusedTypes(TypeDependencyGraph typeGraph, Set<String> referencedTypes) {
+		Set<String> unusedTypes = new LinkedHashSet<>(typeGraph.getTypeNames());
+		unusedTypes.removeAll(typeGraph.getReachableTypes(referencedTypes, true));
+		if (!unusedTypes.isEmpty()) {
+			this.getLog().info(unusedTypes.size() + " declared types are not used by any resource");
+			this.getLog().debug("Declared types not used by any resource: " + String.join(", ", unusedTypes));
+		}
+		report.recordUnusedTypes(unusedTypes);
+	}
+
+	private void generateUnreferencedObjects(JCodeModel codeModel, RamlRoot loadRamlFromFile, File rootDir, TypeDependencyGraph typeGraph,
+			Set<String> referencedTypes, Set<String> referencedSchemas) {
+		report.measure(GenerationReport.UNREFERENCED_OBJECTS, null, () -> {
+			if (!typeGraph.getTypeNames().isEmpty()) {
+				this.getLog().debug("Generating Code for Unreferenced Types");
+				generateUnreferencedTypes(codeModel, loadRamlFromFile, rootDir, typeGraph, referencedTypes);
+			}
+
+			if (loadRamlFromFile.getSchemas() != null && !loadRamlFromFile.getSchemas().isEmpty()) {
+				this.getLog().debug("Generating Code for Unreferenced Schemas");
+				for (Map<String, String> map : loadRamlFromFile.getSchemas()) {
+					for (String schemaName : map.keySet()) {
+						if (referencedSchemas.contains(SchemaHelper.resolveSchema(schemaName, loadRamlFromFile))) {
+							this.getLog().debug("Schema " + schemaName + " was generated for a resource");
+							continue;
+						}
+						this.getLog().info("Generating POJO for unreferenced schema " + schemaName);
+						ApiBodyMetadata tempBodyMetadata = SchemaHelper.mapSchemaToPojo(loadRamlFromFile, schemaName,
+								Config.getPojoPackage(), schemaName, this.resolvedSchemaLocation);
+						List<String> outputs = generateModelSources(null, tempBodyMetadata, rootDir, null, SERIAL);
+						if (generationState != null) {
+							generationState.recordOutputs(outputs);
+						}
+					}
 				}
 			}
+		});
+	}
+
+	/**
+	 * Interprets the types which are not used by the controllers in declaration
+	 * order, types which were already generated as a dependency of another type
+	 * are skipped.
+	 * 
+	 * @param codeModel
+	 *            The code model containing the classes generated so far
+	 * @param loadRamlFromFile
+	 *            The RAML document
+	 * @param rootDir
+	 *            The directory to which the code is written
+	 * @param typeGraph
+	 *            The dependency graph of the declared types
+	 * @param referencedTypes
+	 *            The declared types used by the controllers
+	 */
+	private void generateUnreferencedTypes(JCodeModel codeModel, RamlRoot loadRamlFromFile, File rootDir, TypeDependencyGraph typeGraph,
+			Set<String> referencedTypes) {
+		for (String typeName : typeGraph.getTypeNames()) {
+			if (referencedTypes.contains(typeName) || isGenerated(codeModel, typeName)) {
+				continue;
+			}
+			ApiBodyMetadata tempBodyMetadata = RamlTypeHelper.mapTypeToPojo(codeModel, loadRamlFromFile,
+					loadRamlFromFile.getTypes().get(typeName).getType());
+			generateModelSources(codeModel, tempBodyMetadata, rootDir, null, SERIAL);
 		}
+	}
 
-		if (loadRamlFromFile.getSchemas() != null && !loadRamlFromFile.getSchemas().isEmpty()) {
-			this.getLog().debug("Generating Code for Unreferenced Schemas");
-			for (Map<String, String> map : loadRamlFromFile.getSchemas()) {
-				for (String schemaName : map.keySet()) {
-					this.getLog().info("Generating POJO for unreferenced schema " + schemaName);
-					ApiBodyMetadata tempBodyMetadata = SchemaHelper.mapSchemaToPojo(loadRamlFromFile, schemaName, resolvedRamlPath,
-							schemaName, this.resolvedSchemaLocation);
-					generateModelSources(null, tempBodyMetadata, rootDir);
-				}
+	/**
+	 * @return true if the class of a declared type is in the given code model
+	 *         or was already written while streaming
+	 */
+	private boolean isGenerated(JCodeModel codeModel, String typeName) {
+		String className = NamingHelper.convertToClassName(typeName);
+		return codeModel._getClass(Config.getPojoPackage() + "." + className) != null
+				|| (emittedTypes != null && emittedTypes.contains(Config.getPojoPackage(), className));
+	}
+
+	/**
+	 * Extracts, generates and writes one top level resource at a time. The body
+	 * objects of each resource are interpreted into their own code model, which
+	 * is released once its new classes are written. Classes shared by several
+	 * resources are generated again for each of them but only written once, an
+	 * {@link EmittedTypeRegistry} keeps track of the written ones.
+	 * 
+	 * @param par
+	 *            The parser extracting the controllers
+	 * @param loadRamlFromFile
+	 *            The RAML document
+	 * @param rootDir
+	 *            The directory to which the code is written
+	 */
+	private void generateStreaming(RamlParser par, RamlRoot loadRamlFromFile, File rootDir) {
+		emittedTypes = new EmittedTypeRegistry();
+		Set<String> allReferencedTypes = new HashSet<>();
+		Set<String> referencedSchemas = new HashSet<>();
+		par.extractControllers(loadRamlFromFile, JCodeModel::new, (bodyCodeModel, controllers) -> {
+			unifiedCodeModel = bodyCodeModel;
+			allReferencedTypes.addAll(getAllReferencedTypeNames(controllers));
+			referencedSchemas.addAll(getReferencedSchemas(controllers));
+			generateCode(null, controllers, rootDir);
+			writeNewClasses(bodyCodeModel, emittedTypes, rootDir);
+		});
+
+		if (isTypeGraphNeeded()) {
+			TypeDependencyGraph typeGraph = TypeDependencyGraph.build(loadRamlFromFile);
+			Set<String> referencedTypes = getReferencedTypes(typeGraph, allReferencedTypes);
+			reportUnusedTypes(typeGraph, referencedTypes);
+			if (this.generateUnreferencedObjects) {
+				JCodeModel codeModel = new JCodeModel();
+				unifiedCodeModel = codeModel;
+				generateUnreferencedObjects(codeModel, loadRamlFromFile, rootDir, typeGraph, referencedTypes, referencedSchemas);
+				writeNewClasses(codeModel, emittedTypes, rootDir);
 			}
 		}
+		unifiedCodeModel = null;
+		this.getLog().info("Streaming generation emitted " + emittedTypes.size() + " model classes");
+		emittedTypes = null;
+	}
+
+	private void writeNewClasses(JCodeModel codeModel, EmittedTypeRegistry emittedTypes, File rootDir) {
+		report.measure(GenerationReport.WRITE, null, () -> {
+			emittedTypes.removeEmitted(codeModel);
+			buildCodeModelToDisk(codeModel, "Streamed", rootDir, SERIAL);
+		});
 	}
 
 	/**
@@ -371,20 +980,101 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 	 * @param rootDir
 	 */
 	private void generateCode(JCodeModel codeModel, Set<ApiResourceMetadata> controllers, File rootDir) {
+		if (codeModel == null && Boolean.TRUE.equals(parallelEmission) && controllers.size() > 1) {
+			generateCodeInParallel(controllers, rootDir);
+			return;
+		}
 		for (ApiResourceMetadata met : controllers) {
-			this.getLog().debug("");
-			this.getLog().debug("-----------------------------------------------------------");
-			this.getLog().info("Generating Code for Resource: " + met.getName());
-			this.getLog().debug("");
-
-			if (codeModel == null) {
-				Set<ApiBodyMetadata> dependencies = met.getDependencies();
-				for (ApiBodyMetadata body : dependencies) {
-					generateModelSources(codeModel, body, rootDir);
-				}
+			generateResourceCode(codeModel, met, rootDir, SERIAL);
+		}
+	}
+
+	/**
+	 * Applies the rule and writes the code model of each controller on a fork
+	 * join pool. Every controller is generated into its own code model so the
+	 * output is the same as with the serial generation. A file generated by
+	 * several resources is kept from the last of them, as if they had been
+	 * written one after the other. The code models of the bodies are shared by
+	 * the workers, the classes are looked up in them with
+	 * {@link CodeModelHelper}, which locks each code model it reads or changes.
+	 * 
+	 * @param controllers
+	 *            ApiResourceMetadata list
+	 * @param rootDir
+	 *            The directory to which the code is written
+	 */
+	private void generateCodeInParallel(Set<ApiResourceMetadata> controllers, File rootDir) {
+		int threads = getWorkerThreads();
+		this.getLog().info("Generating Code for " + controllers.size() + " Resources using " + threads + " workers");
+
+		// each worker only updates its own entry, results are read after join
+		Map<String, long[]> workerTimings = new ConcurrentHashMap<>();
+		GenerationContext context = Config.getContext();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		parallelWritePositions = new ConcurrentHashMap<>();
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(controllers.size());
+			for (ApiResourceMetadata met : controllers) {
+				int position = tasks.size();
+				tasks.add(pool.submit(() -> Config.runWithContext(context, () -> {
+					long start = System.nanoTime();
+					generateResourceCode(null, met, rootDir, position);
+					long[] timing = workerTimings.computeIfAbsent(Thread.currentThread().getName(), worker -> new long[2]);
+					timing[0]++;
+					timing[1] += System.nanoTime() - start;
+				})));
+			}
+			tasks.forEach(ForkJoinTask::join);
+		} finally {
+			pool.shutdown();
+			parallelWritePositions = null;
+		}
+
+		workerTimings.forEach((worker, timing) -> this.getLog()
+				.info("Worker " + worker + " generated " + timing[0] + " Resources in:" + TimeUnit.NANOSECONDS.toMillis(timing[1]) + "ms"));
+	}
+
+	private int getWorkerThreads() {
+		return (emissionThreads != null && emissionThreads > 0) ? emissionThreads : Runtime.getRuntime().availableProcessors();
+	}
+
+	private void generateResourceCode(JCodeModel codeModel, ApiResourceMetadata met, File rootDir, int position) {
+		String resourceKey = met.getName() + " " + met.getResourceUri();
+		String dependencyHash = dependencyHashes != null ? dependencyHashes.get(met) : null;
+		String resourceHash = null;
+		Map<String, byte[]> controllerFiles = null;
+		if (dependencyHash != null) {
+			// the rendered controller is hashed and written if it changed
+			controllerFiles = renderControllerSource(met);
+			resourceHash = ResourceFingerprints.getResourceHash(dependencyHash, controllerFiles);
+			if (generationState.keepResourceIfUnchanged(resourceKey, resourceHash, rootDir)) {
+				this.getLog().info("Resource " + met.getName() + " is unchanged. Skipping code generation");
+				return;
 			}
+		}
+
+		this.getLog().debug("");
+		this.getLog().debug("-----------------------------------------------------------");
+		this.getLog().info("Generating Code for Resource: " + met.getName());
+		this.getLog().debug("");
+
+		List<String> outputs = new ArrayList<>();
+		if (codeModel == null) {
+			Set<ApiBodyMetadata> dependencies = met.getDependencies();
+			for (ApiBodyMetadata body : dependencies) {
+				outputs.addAll(generateModelSources(codeModel, body, rootDir, met.getResourceUri(), position));
+			}
+		}
 
-			generateControllerSource(codeModel, met, rootDir);
+		if (controllerFiles != null) {
+			Map<String, byte[]> files = controllerFiles;
+			outputs.addAll(report.measure(GenerationReport.WRITE, met.getResourceUri(),
+					() -> writeToDisk(files, met.getName(), createCodeWriter(rootDir, position))));
+		} else {
+			outputs.addAll(generateControllerSource(codeModel, met, rootDir, position));
+		}
+		if (resourceHash != null) {
+			generationState.recordResource(resourceKey, resourceHash, outputs);
 		}
 	}
 
@@ -433,7 +1123,42 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 		return ruleInstance;
 	}
 
-	private ClassRealm getClassRealm() throws DependencyResolutionRequiredException, MalformedURLException {
+	/**
+	 * Captures the configuration of this execution. The context is bound to the
+	 * generating threads instead of being shared through static state, so
+	 * concurrent executions in the same JVM don't interfere.
+	 * 
+	 * @return the configuration of this execution
+	 */
+	protected GenerationContext createGenerationContext() {
+		return GenerationContext.builder().withPojoGenerationConfig(generationConfig).withBasePackage(basePackage)
+				.withSeperateMethodsByContentType(seperateMethodsByContentType).withInjectHttpHeadersParameter(injectHttpHeadersParameter)
+				.withResourceDepthInClassNames(resourceDepthInClassNames).withResourceTopLevelInClassNames(resourceTopLevelInClassNames)
+				.withReverseOrderInClassNames(reverseOrderInClassNames).withMethodsNamingLogic(methodsNamingLogic)
+				.withOverrideNamingLogicWith(overrideNamingLogicWith).withDontGenerateForAnnotation(dontGenerateForAnnotation)
+				.withInjectHttpRequestParameter(injectHttpRequestParameter).withGeneratedAnnotation(generatedAnnotation)
+				.withReproducibleOutput(reproducibleOutput).withOutputTimestamp(outputTimestamp)
+				.withTypeInterpreters(loadTypeInterpreters()).withReport(report).withSchemaEngine(schemaEngine)
+				.withSchemaResolver(schemaResolver).build();
+	}
+
+	private List<RamlTypeInterpreter> loadTypeInterpreters() {
+		List<RamlTypeInterpreter> interpreters = new ArrayList<>();
+		if (CollectionUtils.isEmpty(typeInterpreters)) {
+			return interpreters;
+		}
+		for (String typeInterpreter : typeInterpreters) {
+			try {
+				interpreters.add((RamlTypeInterpreter) getClassRealm().loadClass(typeInterpreter).getDeclaredConstructor().newInstance());
+			} catch (ReflectiveOperationException | ClassCastException | DependencyResolutionRequiredException | MalformedURLException e) {
+				getLog().error("Could not instantiate RamlTypeInterpreter " + typeInterpreter + ". The built in interpreters will be used.",
+						e);
+			}
+		}
+		return interpreters;
+	}
+
+	private synchronized ClassRealm getClassRealm() throws DependencyResolutionRequiredException, MalformedURLException {
 		if (classRealm == null) {
 			List<String> runtimeClasspathElements = project.getRuntimeClasspathElements();
 
@@ -451,21 +1176,31 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 		return classRealm;
 	}
 
-	private void generateModelSources(JCodeModel codeModel, ApiBodyMetadata body, File rootDir) {
+	private List<String> generateModelSources(JCodeModel codeModel, ApiBodyMetadata body, File rootDir, String resource, int position) {
+		if (codeModel == null && unifiedCodeModel != null && body.getCodeModel() == unifiedCodeModel && schemaEngine != null) {
+			// generated by the schema engine, written with the unified code
+			// model
+			return Collections.emptyList();
+		}
 		boolean build = false;
 		if (codeModel == null) {
 			Annotator annotator = this.useJackson1xCompatibility ? new Jackson1Annotator(this.generationConfig) : null;
 			this.getLog().info("Generating Model object for: " + body.getName());
 			build = true;
 			if (this.generationConfig == null && annotator == null) {
-				codeModel = body.getCodeModel();
+				codeModel = report.measure(GenerationReport.TYPE_INTERPRETATION, resource, () -> body.getCodeModel());
 			} else {
-				codeModel = body.getCodeModel(resolvedSchemaLocation, basePackage + NamingHelper.getDefaultModelPackage(), annotator);
+				codeModel = report.measure(GenerationReport.TYPE_INTERPRETATION, resource,
+						() -> body.getCodeModel(resolvedSchemaLocation, basePackage + NamingHelper.getDefaultModelPackage(), annotator));
 			}
 		}
-		if (build && codeModel != null) {
-			buildCodeModelToDisk(codeModel, body.getName(), rootDir);
+		// the unified code model is written once all the generation is done
+		if (build && codeModel != null && codeModel != unifiedCodeModel) {
+			JCodeModel bodyCodeModel = codeModel;
+			return report.measure(GenerationReport.WRITE, resource,
+					() -> buildCodeModelToDisk(bodyCodeModel, body.getName(), rootDir, position));
 		}
+		return Collections.emptyList();
 	}
 
 	private String getSchemaLocation() {
@@ -473,59 +1208,149 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 		if (StringUtils.hasText(schemaLocation)) {
 
 			if (!schemaLocation.contains(":")) {
-				String resolvedPath = project.getBasedir().getAbsolutePath();
-				if (resolvedPath.endsWith(File.separator) || resolvedPath.endsWith("/")) {
-					resolvedPath = resolvedPath.substring(0, resolvedPath.length() - 1);
-				}
-
-				if (!schemaLocation.startsWith(File.separator) && !schemaLocation.startsWith("/")) {
-					resolvedPath += File.separator;
-				}
-
-				resolvedPath += schemaLocation;
-
-				if (!schemaLocation.endsWith(File.separator) && !schemaLocation.endsWith("/")) {
-					resolvedPath += File.separator;
-				}
-				resolvedPath = resolvedPath.replace(File.separator, "/").replace("\\", "/");
-				try {
-					URLClassLoader urlClassLoader = (URLClassLoader) ClassLoader.getSystemClassLoader();
-					Class<?> urlClass = URLClassLoader.class;
-					Method method = urlClass.getDeclaredMethod("addURL", new Class[] { URL.class });
-					method.setAccessible(true);
-					method.invoke(urlClassLoader, new Object[] { new File(resolvedPath).toURI().toURL() });
-					return "classpath:/"; // since we have added this folder to
-											// the classpath this
-											// should be used by the plugin
-				} catch (Exception ex) {
-					this.getLog().error("Could not add schema location to classpath", ex);
-					return new File(resolvedPath).toURI().toString();
-				}
+				// the schema resolver looks up classpath schemas in the schema
+				// directory first
+				return "classpath:/";
 			}
 			return schemaLocation;
 		}
 		return null;
 	}
 
-	private void generateControllerSource(JCodeModel codeModel, ApiResourceMetadata met, File dir) {
+	private List<String> generateControllerSource(JCodeModel codeModel, ApiResourceMetadata met, File dir, int position) {
 		boolean build = false;
 		if (codeModel == null) {
 			codeModel = new JCodeModel();
 			build = true;
 		}
-		loadRule().apply(met, codeModel);
+		JCodeModel controllerCodeModel = codeModel;
+		report.measure(GenerationReport.rulePhase(ruleInstance), met.getResourceUri(), () -> ruleInstance.apply(met, controllerCodeModel));
 		if (build) {
-			buildCodeModelToDisk(codeModel, met.getName(), dir);
+			return report.measure(GenerationReport.WRITE, met.getResourceUri(),
+					() -> buildCodeModelToDisk(controllerCodeModel, met.getName(), dir, position));
 		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Applies the rule to a controller and renders its code model in memory
+	 *
+	 * @param met
+	 *            The controller metadata
+	 * @return the content of the files by their path relative to the output
+	 *         directory
+	 */
+	private Map<String, byte[]> renderControllerSource(ApiResourceMetadata met) {
+		JCodeModel controllerCodeModel = new JCodeModel();
+		report.measure(GenerationReport.rulePhase(ruleInstance), met.getResourceUri(), () -> ruleInstance.apply(met, controllerCodeModel));
+		return report.measure(GenerationReport.WRITE, met.getResourceUri(), () -> {
+			if (Boolean.TRUE.equals(reproducibleOutput)) {
+				CodeModelHelper.updateSerialVersionUIDs(controllerCodeModel);
+			}
+			return ChangedFilesCodeWriter.render(controllerCodeModel);
+		});
+	}
+
+	/**
+	 * Writes the code model to disk
+	 *
+	 * @param codeModel
+	 *            The code model to write
+	 * @param name
+	 *            The name used for logging
+	 * @param dir
+	 *            The directory to which the code is written
+	 * @param position
+	 *            The position of the resource generated in parallel, or
+	 *            {@link #SERIAL}
+	 * @return the written files, relative to the directory
+	 */
+	private List<String> buildCodeModelToDisk(JCodeModel codeModel, String name, File dir, int position) {
+		buildCodeModelToDisk(codeModel, name, createCodeWriter(dir, position));
+		return ChangedFilesCodeWriter.getOutputFiles(codeModel);
 	}
 
-	private void buildCodeModelToDisk(JCodeModel codeModel, String name, File dir) {
+	private ChangedFilesCodeWriter createCodeWriter(File dir, int position) {
+		Map<String, Integer> writePositions = parallelWritePositions;
+		return position != SERIAL && writePositions != null ? new ChangedFilesCodeWriter(dir, writePositions, position)
+				: new ChangedFilesCodeWriter(dir);
+	}
+
+	private void buildCodeModelToDisk(JCodeModel codeModel, String name, ChangedFilesCodeWriter codeWriter) {
+		if (Boolean.TRUE.equals(reproducibleOutput)) {
+			CodeModelHelper.updateSerialVersionUIDs(codeModel);
+		}
 		try {
-			codeModel.build(dir);
+			codeModel.build(codeWriter);
 		} catch (IOException e) {
-			e.printStackTrace();
-			this.getLog().error("Could not build code model for " + name, e);
+			throw new UncheckedIOException("Could not build code model for " + name, e);
+		}
+		countFiles(codeWriter);
+	}
+
+	/**
+	 * Writes rendered files to disk
+	 *
+	 * @param files
+	 *            The content of the files by their path relative to the
+	 *            directory of the code writer
+	 * @param name
+	 *            The name used for logging
+	 * @param codeWriter
+	 *            The code writer
+	 * @return the written files, relative to the directory
+	 */
+	private List<String> writeToDisk(Map<String, byte[]> files, String name, ChangedFilesCodeWriter codeWriter) {
+		try {
+			codeWriter.write(files);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not write code of " + name, e);
+		}
+		countFiles(codeWriter);
+		return new ArrayList<>(files.keySet());
+	}
+
+	private void countFiles(ChangedFilesCodeWriter codeWriter) {
+		writtenFiles.addAndGet(codeWriter.getWrittenCount());
+		unchangedFiles.addAndGet(codeWriter.getUnchangedCount() + codeWriter.getSkippedCount());
+	}
+
+	/**
+	 * Writes the unified code model to disk. With incremental generation the
+	 * code model was already rendered to hash its classes, the rendered files
+	 * of the classes which changed since the previous run are written without
+	 * rendering them again.
+	 *
+	 * @param codeModel
+	 *            The unified code model
+	 * @param dir
+	 *            The directory to which the code is written
+	 */
+	private void buildUnifiedCodeModelToDisk(JCodeModel codeModel, File dir) {
+		if (generationState == null) {
+			buildCodeModelToDisk(codeModel, "Unified", dir, SERIAL);
+			return;
+		}
+		if (Boolean.TRUE.equals(reproducibleOutput)) {
+			CodeModelHelper.updateSerialVersionUIDs(codeModel);
+		}
+		Map<String, byte[]> files = resourceFingerprints.getRenderedFiles();
+		Set<String> unchangedClassFiles = new HashSet<>();
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			Iterator<JDefinedClass> classes = packages.next().classes();
+			while (classes.hasNext()) {
+				JDefinedClass definedClass = classes.next();
+				String file = ChangedFilesCodeWriter.getOutputFile(definedClass);
+				String hash = resourceFingerprints.getClassHash(definedClass);
+				if (generationState.keepClassIfUnchanged(file, hash, dir)) {
+					unchangedClassFiles.add(file);
+				} else {
+					generationState.recordClass(file, hash);
+				}
+			}
 		}
+		writeToDisk(files, "Unified", new ChangedFilesCodeWriter(dir, unchangedClassFiles));
 	}
 
 	@Override
@@ -537,8 +1362,16 @@ public class SpringMvcEndpointGeneratorMojo extends AbstractMojo {
 		} catch (IOException e) {
 			throw new MojoExecutionException(e, "Unexpected exception while executing Spring MVC Endpoint Generation Plugin.",
 					e.toString());
+		} catch (UncheckedIOException e) {
+			throw new MojoExecutionException(e.getCause(), "Unexpected exception while executing Spring MVC Endpoint Generation Plugin.",
+					e.getMessage());
 		} catch (InvalidRamlResourceException e) {
 			throw new MojoExecutionException(e, "Supplied RAML has failed validation and cannot be loaded.", e.toString());
+		} finally {
+			Config.setContext(null);
+			report = GenerationReport.DISABLED;
+			schemaEngine = null;
+			schemaResolver = null;
 		}
 
 		this.getLog().info("Endpoint Generation Completed in:" + (System.currentTimeMillis() - startTime) + "ms");
@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.raml.v2.api.RamlModelResult;
+
 import com.phoenixnap.oss.ramlplugin.raml2code.data.RamlFormParameter;
 
 /**
@@ -30,6 +32,18 @@ public interface RamlModelFactory {
 
 	RamlRoot buildRamlRoot(String ramlFileUrl);
 
+	/**
+	 * Builds the RamlRoot from an already parsed RAML so the file does not have
+	 * to be parsed again
+	 * 
+	 * @param ramlFileUrl
+	 *            The path to the file which was parsed
+	 * @param ramlModelResult
+	 *            The result of parsing the file
+	 * @return Built Raml model
+	 */
+	RamlRoot buildRamlRoot(String ramlFileUrl, RamlModelResult ramlModelResult);
+
 	RamlResource createRamlResource(Object resource);
 
 	RamlAction createRamlAction(Object action);
@@ -31,6 +31,28 @@ public interface RamlRoot extends RamlResourceRoot {
 
 	Map<String, RamlDataType> getTypes();
 
+	/**
+	 * Looks up a data type by its name or its library qualified name (e.g.
+	 * libName.Product)
+	 * 
+	 * @param name
+	 *            The name of the data type
+	 * @return the data type or null if it doesn't exist
+	 */
+	RamlDataType getType(String name);
+
+	/**
+	 * Looks up the data types which extend a data type directly, i.e. whose
+	 * type is the given name. The child types of all the data types are indexed
+	 * once per document.
+	 * 
+	 * @param name
+	 *            The name of the parent data type
+	 * @return the child types in the order of {@link #getTypes()}, empty if
+	 *         there are none
+	 */
+	List<RamlDataType> getChildTypes(String name);
+
 	List<RamlSecurityReference> getSecuredBy();
 
 	List<RamlSecurityScheme> getSecuritySchemes();
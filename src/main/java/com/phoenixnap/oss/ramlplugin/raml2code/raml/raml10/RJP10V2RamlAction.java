@@ -49,8 +49,15 @@ public class RJP10V2RamlAction implements RamlAction {
 
 	private Map<String, RamlQueryParameter> queryParameters = new LinkedHashMap<>();
 
+	private final RamlResource resource;
+
 	public RJP10V2RamlAction(Method method) {
+		this(method, null);
+	}
+
+	RJP10V2RamlAction(Method method, RamlResource resource) {
 		this.method = method;
+		this.resource = resource;
 	}
 
 	/**
@@ -81,6 +88,9 @@ public class RJP10V2RamlAction implements RamlAction {
 
 	@Override
 	public RamlResource getResource() {
+		if (resource != null) {
+			return resource;
+		}
 		return ramlModelFactory.createRamlResource(method.resource());
 	}
 
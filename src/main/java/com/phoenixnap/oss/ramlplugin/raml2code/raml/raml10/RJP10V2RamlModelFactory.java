@@ -38,7 +38,11 @@ public class RJP10V2RamlModelFactory implements RamlModelFactory {
 
 	@Override
 	public RamlRoot buildRamlRoot(String ramlFileUrl) {
-		RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlFileUrl);
+		return buildRamlRoot(ramlFileUrl, new RamlModelBuilder().buildApi(ramlFileUrl));
+	}
+
+	@Override
+	public RamlRoot buildRamlRoot(String ramlFileUrl, RamlModelResult ramlModelResult) {
 		if (ramlModelResult.hasErrors()) {
 			List<String> errors = ramlModelResult.getValidationResults().stream().map(validationResult -> validationResult.getMessage())
 					.collect(Collectors.toList());
@@ -1,5 +1,7 @@
 package com.phoenixnap.oss.ramlplugin.raml2code.raml.raml10;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -34,16 +36,35 @@ public class RJP10V2RamlResource implements RamlResource {
 
 	private final Resource delegate;
 
+	/**
+	 * The parent wrapper is shared by all its children. It is resolved from the
+	 * delegate only for resources which were not reached from their parent
+	 * (e.g. resources created from an action).
+	 */
+	private RamlResource parentResource;
+
+	private boolean parentResolved;
+
 	private transient Map<String, RamlResource> childResourceMap;
 
+	private transient volatile Map<RamlActionType, RamlAction> actions;
+
+	private transient volatile Map<String, RamlUriParameter> uriParameters;
+
+	private transient volatile String uri;
+
 	public RJP10V2RamlResource(Resource resource) {
 		this.delegate = resource;
+	}
 
-		rebuildChildren();
+	RJP10V2RamlResource(Resource resource, RJP10V2RamlResource parentResource) {
+		this.delegate = resource;
+		this.parentResource = parentResource;
+		this.parentResolved = true;
 	}
 
-	private void rebuildChildren() {
-		childResourceMap = new LinkedHashMap<String, RamlResource>();
+	private Map<String, RamlResource> buildChildren() {
+		Map<String, RamlResource> children = new LinkedHashMap<String, RamlResource>();
 		List<Resource> resources = delegate.resources();
 		if (resources != null) {
 			for (Resource resource : resources) {
@@ -57,20 +78,24 @@ public class RJP10V2RamlResource implements RamlResource {
 				}
 
 				if (!skipResource) {
-					childResourceMap.put(resource.relativeUri().value(), new RJP10V2RamlResource(resource));
+					children.put(resource.relativeUri().value(), new RJP10V2RamlResource(resource, this));
 				}
 			}
 		}
+		return children;
 	}
 
 	@Override
-	public Map<String, RamlResource> getResources() {
+	public synchronized Map<String, RamlResource> getResources() {
+		if (childResourceMap == null) {
+			childResourceMap = buildChildren();
+		}
 		return childResourceMap;
 	}
 
 	@Override
 	public RamlResource getResource(String path) {
-		return childResourceMap.get(path);
+		return getResources().get(path);
 	}
 
 	@Override
@@ -80,7 +105,15 @@ public class RJP10V2RamlResource implements RamlResource {
 
 	@Override
 	public Map<RamlActionType, RamlAction> getActions() {
-		Map<RamlActionType, RamlAction> actions = new HashMap<RamlActionType, RamlAction>();
+		if (actions == null) {
+			actions = Collections.unmodifiableMap(buildActions());
+		}
+		return actions;
+	}
+
+	private Map<RamlActionType, RamlAction> buildActions() {
+		// enum keys have no stable hash code, keep them in declaration order
+		Map<RamlActionType, RamlAction> actions = new EnumMap<RamlActionType, RamlAction>(RamlActionType.class);
 		for (Method method : this.delegate.methods()) {
 
 			boolean skipMethod = false;
@@ -93,7 +126,7 @@ public class RJP10V2RamlResource implements RamlResource {
 			}
 
 			if (!skipMethod) {
-				actions.put(RamlActionType.valueOf(method.method().toUpperCase()), new RJP10V2RamlAction(method));
+				actions.put(RamlActionType.valueOf(method.method().toUpperCase()), new RJP10V2RamlAction(method, this));
 			}
 		}
 		return actions;
@@ -101,6 +134,13 @@ public class RJP10V2RamlResource implements RamlResource {
 
 	@Override
 	public Map<String, RamlUriParameter> getUriParameters() {
+		if (uriParameters == null) {
+			uriParameters = Collections.unmodifiableMap(buildUriParameters());
+		}
+		return uriParameters;
+	}
+
+	private Map<String, RamlUriParameter> buildUriParameters() {
 		Map<String, RamlUriParameter> uriParameters = new LinkedHashMap<>();
 		for (TypeDeclaration type : this.delegate.uriParameters()) {
 			RJP10V2RamlUriParameter rjp10v2RamlUriParameter = new RJP10V2RamlUriParameter(type);
@@ -158,6 +198,13 @@ public class RJP10V2RamlResource implements RamlResource {
 
 	@Override
 	public String getUri() {
+		if (uri == null) {
+			uri = buildUri();
+		}
+		return uri;
+	}
+
+	private String buildUri() {
 		String outUri = delegate.relativeUri().value();
 		Resource parentResource = delegate.parentResource();
 		while (parentResource != null) {
@@ -190,8 +237,13 @@ public class RJP10V2RamlResource implements RamlResource {
 	}
 
 	@Override
-	public RamlResource getParentResource() {
-		return (this.delegate.parentResource() == null) ? null : new RJP10V2RamlResource(this.delegate.parentResource());
+	public synchronized RamlResource getParentResource() {
+		if (!parentResolved) {
+			Resource parent = this.delegate.parentResource();
+			parentResource = (parent == null) ? null : new RJP10V2RamlResource(parent);
+			parentResolved = true;
+		}
+		return parentResource;
 	}
 
 	@Override
@@ -209,7 +261,7 @@ public class RJP10V2RamlResource implements RamlResource {
 		List<Method> methods = delegate.methods();
 		for (Method method : methods) {
 			if (method.method().equalsIgnoreCase(actionType.toString())) {
-				return ramlModelFactory.createRamlAction(method);
+				return new RJP10V2RamlAction(method, this);
 			}
 		}
 		return null;
@@ -30,6 +30,7 @@ public class RJP10V2RamlRoot implements RamlRoot {
 
 	private final Api api;
 	private Map<String, RamlResource> resources = new LinkedHashMap<>();
+	private RJP10V2RamlTypeRegistry typeRegistry;
 
 	public RJP10V2RamlRoot(Api api) {
 		this.api = api;
@@ -71,36 +72,26 @@ public class RJP10V2RamlRoot implements RamlRoot {
 		return api.schemas().stream().map(this::typeDeclarationToMap).collect(Collectors.toList());
 	}
 
-	private Map<String, RamlDataType> getAllTypes(Api api) {
-
-		Map<String, RamlDataType> types = api.types().stream()
-				.collect(Collectors.toMap(this::nameType, this::typeDeclarationToRamlDataType));
-
-		api.uses().forEach(lib -> this.getTypesFromLib(types, lib));
-		return types;
+	@Override
+	public Map<String, RamlDataType> getTypes() {
+		return getTypeRegistry().getTypes();
 	}
 
-	private void getTypesFromLib(Map<String, RamlDataType> types, Library lib) {
-
-		lib.types().forEach(type -> types.put(type.name(), new RJP10V2RamlDataType(type)));
-		lib.uses().forEach(inLib -> getTypesFromLib(types, inLib));
+	@Override
+	public RamlDataType getType(String name) {
+		return getTypeRegistry().getType(name);
 	}
 
 	@Override
-	public Map<String, RamlDataType> getTypes() {
-
-		Map<String, RamlDataType> types = getAllTypes(api);
-
-		// When searching for all libraries that other libraries use it's
-		// possible to pull in same library multiple times.
-		// In order to avoid IllegalStateException we'll add basic
-		// mergeFunction.
-		Map<String, RamlDataType> libOfLibTypes = api.uses().stream().flatMap(x -> x.uses().stream()).flatMap(x -> x.types().stream())
-				.collect(Collectors.toMap(this::nameType, this::typeDeclarationToRamlDataType, (x, y) -> x));
-
-		types.putAll(libOfLibTypes);
+	public List<RamlDataType> getChildTypes(String name) {
+		return getTypeRegistry().getChildTypes(name);
+	}
 
-		return types;
+	private synchronized RJP10V2RamlTypeRegistry getTypeRegistry() {
+		if (typeRegistry == null) {
+			typeRegistry = new RJP10V2RamlTypeRegistry(api);
+		}
+		return typeRegistry;
 	}
 
 	private Map<String, String> typeDeclarationToMap(TypeDeclaration typeDeclaration) {
@@ -109,14 +100,6 @@ public class RJP10V2RamlRoot implements RamlRoot {
 		return nameTypeMapping;
 	}
 
-	private String nameType(TypeDeclaration typeDeclaration) {
-		return typeDeclaration.name();
-	}
-
-	private RamlDataType typeDeclarationToRamlDataType(TypeDeclaration typeDeclaration) {
-		return new RJP10V2RamlDataType(typeDeclaration);
-	}
-
 	List<RamlDocumentationItem> getDocumentation() {
 		return api.documentation().stream().map(ramlModelFactory::createRamlDocumentationItem).collect(Collectors.toList());
 	}
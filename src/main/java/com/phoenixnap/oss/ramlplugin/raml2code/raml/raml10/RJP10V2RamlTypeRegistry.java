@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package com.phoenixnap.oss.ramlplugin.raml2code.raml.raml10;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.raml.v2.api.model.v10.api.Api;
+import org.raml.v2.api.model.v10.api.Library;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+
+/**
+ * Index of all the data types declared in a RAML document and the libraries it
+ * uses. The index is built once and data types can be looked up by their name
+ * or by their library qualified name (e.g. libName.Product). The child types of
+ * every data type are indexed as well, so discriminators don't have to scan all
+ * the data types.
+ *
+ * @since 2.1.0
+ */
+final class RJP10V2RamlTypeRegistry {
+
+	private final Map<String, RamlDataType> types;
+
+	private final Map<String, RamlDataType> qualifiedTypes = new HashMap<>();
+
+	/**
+	 * The data types extending each data type, keyed by the parent type name
+	 */
+	private final Map<String, List<RamlDataType>> childTypes = new HashMap<>();
+
+	RJP10V2RamlTypeRegistry(Api api) {
+		Map<String, RamlDataType> allTypes = api.types().stream()
+				.collect(Collectors.toMap(TypeDeclaration::name, this::createRamlDataType));
+		api.uses().forEach(lib -> addTypesFromLib(allTypes, lib, ""));
+
+		// When searching for all libraries that other libraries use it's
+		// possible to pull in same library multiple times.
+		// In order to avoid IllegalStateException we'll add basic
+		// mergeFunction.
+		Map<String, RamlDataType> libOfLibTypes = api.uses().stream().flatMap(x -> x.uses().stream()).flatMap(x -> x.types().stream())
+				.collect(Collectors.toMap(TypeDeclaration::name, this::createRamlDataType, (x, y) -> x));
+		allTypes.putAll(libOfLibTypes);
+
+		this.types = Collections.unmodifiableMap(allTypes);
+
+		for (RamlDataType dataType : types.values()) {
+			String parentName = dataType.getType().type();
+			if (parentName != null && !parentName.equals(dataType.getType().name())) {
+				childTypes.computeIfAbsent(parentName, key -> new ArrayList<>()).add(dataType);
+			}
+		}
+	}
+
+	private void addTypesFromLib(Map<String, RamlDataType> allTypes, Library lib, String prefix) {
+		String libPrefix = prefix + lib.name() + ".";
+		for (TypeDeclaration type : lib.types()) {
+			RamlDataType dataType = createRamlDataType(type);
+			allTypes.put(type.name(), dataType);
+			qualifiedTypes.putIfAbsent(libPrefix + type.name(), dataType);
+			// libraries used by libraries are referenced relative to the
+			// library using them
+			qualifiedTypes.putIfAbsent(lib.name() + "." + type.name(), dataType);
+		}
+		lib.uses().forEach(inLib -> addTypesFromLib(allTypes, inLib, libPrefix));
+	}
+
+	private RamlDataType createRamlDataType(TypeDeclaration typeDeclaration) {
+		return new RJP10V2RamlDataType(typeDeclaration);
+	}
+
+	/**
+	 * @return all the data types keyed by their name
+	 */
+	Map<String, RamlDataType> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Looks up a data type by its name or its library qualified name
+	 *
+	 * @param name
+	 *            The name of the data type
+	 * @return the data type or null if it doesn't exist
+	 */
+	RamlDataType getType(String name) {
+		if (name == null) {
+			return null;
+		}
+		RamlDataType dataType = types.get(name);
+		if (dataType == null) {
+			dataType = qualifiedTypes.get(name);
+		}
+		return dataType;
+	}
+
+	/**
+	 * @param name
+	 *            The name of the parent data type
+	 * @return the data types whose type is the given name
+	 */
+	List<RamlDataType> getChildTypes(String name) {
+		List<RamlDataType> children = name != null ? childTypes.get(name) : null;
+		return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+	}
+}
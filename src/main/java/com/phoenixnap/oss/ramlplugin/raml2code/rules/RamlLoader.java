@@ -12,8 +12,11 @@
  */
 package com.phoenixnap.oss.ramlplugin.raml2code.rules;
 
+import java.io.File;
+
 import org.raml.v2.api.RamlModelBuilder;
 import org.raml.v2.api.RamlModelResult;
+import org.raml.v2.api.loader.ResourceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
@@ -41,7 +44,8 @@ public class RamlLoader {
 	protected static final Logger logger = LoggerFactory.getLogger(RamlLoader.class);
 
 	/**
-	 * Loads a RAML document from a file. This method will
+	 * Loads a RAML document from a file. The file is parsed only once, the
+	 * parsing result is used both for validation and for building the model.
 	 * 
 	 * @param ramlFileUrl
 	 *            The path to the file, this can either be a resource on the
@@ -53,17 +57,44 @@ public class RamlLoader {
 	 *             If the Raml Provided isnt correct for the required parser
 	 */
 	public static RamlRoot loadRamlFromFile(String ramlFileUrl) {
+		return loadRamlFromFile(ramlFileUrl, new RamlModelBuilder());
+	}
+
+	/**
+	 * Loads a RAML document from a file on disk. The file and every file it
+	 * references are fetched through the supplied resource loader, by their
+	 * path relative to the directory of the RAML file.
+	 * 
+	 * @param ramlFile
+	 *            The RAML file
+	 * @param resourceLoader
+	 *            The loader resolving paths relative to the directory of the
+	 *            RAML file
+	 * @return Built Raml model
+	 * @throws InvalidRamlResourceException
+	 *             If the Raml Provided isnt correct for the required parser
+	 */
+	public static RamlRoot loadRamlFromFile(File ramlFile, ResourceLoader resourceLoader) {
+		// a location without directory keeps the parser from adding its own
+		// loaders for the directory of the file
+		return loadRamlFromFile(ramlFile.toURI().toString(), ramlFile.getName(), new RamlModelBuilder(resourceLoader));
+	}
+
+	static RamlRoot loadRamlFromFile(String ramlFileUrl, RamlModelBuilder ramlModelBuilder) {
+		return loadRamlFromFile(ramlFileUrl, ramlFileUrl, ramlModelBuilder);
+	}
+
+	private static RamlRoot loadRamlFromFile(String ramlFileUrl, String location, RamlModelBuilder ramlModelBuilder) {
 		try {
-			return createRamlModelFactoryFor(ramlFileUrl).buildRamlRoot(ramlFileUrl);
+			RamlModelResult ramlModelResult = ramlModelBuilder.buildApi(location);
+			return createRamlModelFactoryFor(ramlFileUrl, ramlModelResult).buildRamlRoot(ramlFileUrl, ramlModelResult);
 		} catch (NullPointerException npe) {
 			logger.error("File not found at {}", ramlFileUrl);
 			return null;
 		}
 	}
 
-	private static RamlModelFactory createRamlModelFactoryFor(String ramlURL) {
-		RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlURL);
-
+	private static RamlModelFactory createRamlModelFactoryFor(String ramlURL, RamlModelResult ramlModelResult) {
 		if (ramlModelResult.hasErrors()) {
 			if (logger.isErrorEnabled()) {
 				logger.error("Loaded RAML has validation errors: {}",
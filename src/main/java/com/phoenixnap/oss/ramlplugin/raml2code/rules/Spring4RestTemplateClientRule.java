@@ -78,6 +78,11 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 
 	boolean allowArrayParameters = true;
 
+	/**
+	 * Shared by all resources, rebuilt when the configuration changes
+	 */
+	private volatile GenericJavaClassRule interfaceGenerator;
+
 	@Override
 	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
@@ -91,12 +96,7 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 		}
 		grants = RamlHelper.removeDuplicates(grants);
 
-		JDefinedClass generatedInterface = new GenericJavaClassRule().setPackageRule(new PackageRule())
-				.setClassCommentRule(new ClassCommentRule()).setClassRule(new ClientInterfaceDeclarationRule()) // MODIFIED
-				.setMethodCommentRule(new MethodCommentRule())
-				.setMethodSignatureRule(new ControllerMethodSignatureRule(new SpringResponseEntityRule(),
-						new MethodParamsRule(true, allowArrayParameters, true)))
-				.apply(metadata, generatableType);
+		JDefinedClass generatedInterface = getInterfaceGenerator().apply(metadata, generatableType);
 
 		GenericJavaClassRule clientGenerator = new GenericJavaClassRule().setPackageRule(new PackageRule())
 				.setClassCommentRule(new ClassCommentRule()).addClassAnnotationRule(new ClassAnnotationRule(Component.class))
@@ -125,18 +125,34 @@ public class Spring4RestTemplateClientRule implements ConfigurableRule<JCodeMode
 		return clientGenerator.apply(metadata, generatableType);
 	}
 
+	private GenericJavaClassRule getInterfaceGenerator() {
+		GenericJavaClassRule generator = interfaceGenerator;
+		if (generator == null) {
+			generator = new GenericJavaClassRule().setPackageRule(new PackageRule()).setClassCommentRule(new ClassCommentRule())
+					.setClassRule(new ClientInterfaceDeclarationRule()) // MODIFIED
+					.setMethodCommentRule(new MethodCommentRule()).setMethodSignatureRule(new ControllerMethodSignatureRule(
+							new SpringResponseEntityRule(), new MethodParamsRule(true, allowArrayParameters, true)));
+			interfaceGenerator = generator;
+		}
+		return generator;
+	}
+
 	private String getBaseUrlConfigurationName() {
-		if (!this.baseUrlConfigurationPath.startsWith("${")) {
-			this.baseUrlConfigurationPath = "${" + this.baseUrlConfigurationPath;
+		// computed without updating the field, the rule is shared by parallel
+		// workers
+		String baseUrlConfigurationName = this.baseUrlConfigurationPath;
+		if (!baseUrlConfigurationName.startsWith("${")) {
+			baseUrlConfigurationName = "${" + baseUrlConfigurationName;
 		}
-		if (!this.baseUrlConfigurationPath.endsWith("}")) {
-			this.baseUrlConfigurationPath = this.baseUrlConfigurationPath + "}";
+		if (!baseUrlConfigurationName.endsWith("}")) {
+			baseUrlConfigurationName = baseUrlConfigurationName + "}";
 		}
-		return baseUrlConfigurationPath;
+		return baseUrlConfigurationName;
 	}
 
 	@Override
 	public void applyConfiguration(Map<String, String> configuration) {
+		interfaceGenerator = null;
 		if (!CollectionUtils.isEmpty(configuration)) {
 			if (configuration.containsKey("restTemplateFieldName")) {
 				this.restTemplateFieldName = configuration.get("restTemplateFieldName");
@@ -13,13 +13,18 @@
 package com.phoenixnap.oss.ramlplugin.raml2code.rules.spring;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.util.CollectionUtils;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiActionMetadata;
 import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.ConfigurableRule;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.GenericJavaClassRule;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.Rule;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
@@ -57,6 +62,13 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 	private boolean simpleReturnTypes = false;
 	private boolean useShortcutMethodMappings = false;
 
+	/**
+	 * Rule graphs built from the current configuration. They don't hold any
+	 * state of the resources they are applied to, so they are shared by all
+	 * resources and by parallel workers.
+	 */
+	private final ConcurrentMap<String, GenericJavaClassRule> generators = new ConcurrentHashMap<>();
+
 	@Override
 	public void applyConfiguration(Map<String, String> configuration) {
 		if (!CollectionUtils.isEmpty(configuration)) {
@@ -81,6 +93,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setAddParameterJavadoc(boolean addParameterJavadoc) {
 		this.addParameterJavadoc = addParameterJavadoc;
+		generators.clear();
 	}
 
 	public boolean isAllowArrayParameters() {
@@ -89,6 +102,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setAllowArrayParameters(boolean allowArrayParameters) {
 		this.allowArrayParameters = allowArrayParameters;
+		generators.clear();
 	}
 
 	public boolean isCallableResponse() {
@@ -97,6 +111,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setCallableResponse(boolean callableResponse) {
 		this.callableResponse = callableResponse;
+		generators.clear();
 	}
 
 	public boolean isUseShortcutMethodMappings() {
@@ -105,6 +120,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setUseShortcutMethodMappings(boolean useShortcutMethodMappings) {
 		this.useShortcutMethodMappings = useShortcutMethodMappings;
+		generators.clear();
 	}
 
 	public boolean isSimpleReturnTypes() {
@@ -113,6 +129,7 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setSimpleReturnTypes(boolean simpleReturnTypes) {
 		this.simpleReturnTypes = simpleReturnTypes;
+		generators.clear();
 	}
 
 	public boolean isDeferredResultResponse() {
@@ -121,6 +138,22 @@ public abstract class SpringConfigurableRule implements ConfigurableRule<JCodeMo
 
 	public void setDeferredResultResponse(boolean deferredResultResponse) {
 		this.deferredResultResponse = deferredResultResponse;
+		generators.clear();
+	}
+
+	/**
+	 * Returns the rule graph with the given name, building it on first use. The
+	 * graph is rebuilt whenever the configuration of this rule or the
+	 * injectHttpHeadersParameter setting changes.
+	 * 
+	 * @param name
+	 *            The name of the graph, unique within the rule
+	 * @param factory
+	 *            Builds the graph from the current configuration
+	 * @return the shared graph
+	 */
+	protected GenericJavaClassRule getGenerator(String name, Supplier<GenericJavaClassRule> factory) {
+		return generators.computeIfAbsent(name + ":" + Config.isInjectHttpHeadersParameter(), key -> factory.get());
 	}
 
 	protected Rule<JDefinedClass, JType, ApiActionMetadata> getReturnTypeRule(boolean useSimpleReturnType) {
@@ -67,12 +67,7 @@ public abstract class SpringControllerDecoratorRule extends SpringConfigurableRu
 	@Override
 	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-		JDefinedClass generatedInterface = new GenericJavaClassRule().setPackageRule(new PackageRule())
-				.setClassCommentRule(new ClassCommentRule()).setClassRule(new ControllerInterfaceDeclarationRule())
-				.addClassAnnotationRule(new GeneratedClassAnnotationRule()).setMethodCommentRule(new MethodCommentRule())
-				.setMethodSignatureRule(new ControllerMethodSignatureRule(getReturnTypeRule(false),
-						new MethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters(), !Config.isInjectHttpHeadersParameter())))
-				.apply(metadata, generatableType);
+		JDefinedClass generatedInterface = getGenerator("interface", this::createInterfaceGenerator).apply(metadata, generatableType);
 
 		String delegateFieldName = StringUtils.uncapitalize(generatedInterface.name() + "Delegate");
 
@@ -93,6 +88,14 @@ public abstract class SpringControllerDecoratorRule extends SpringConfigurableRu
 		return delegateGenerator.apply(metadata, generatableType);
 	}
 
+	private GenericJavaClassRule createInterfaceGenerator() {
+		return new GenericJavaClassRule().setPackageRule(new PackageRule()).setClassCommentRule(new ClassCommentRule())
+				.setClassRule(new ControllerInterfaceDeclarationRule()).addClassAnnotationRule(new GeneratedClassAnnotationRule())
+				.setMethodCommentRule(new MethodCommentRule())
+				.setMethodSignatureRule(new ControllerMethodSignatureRule(getReturnTypeRule(false),
+						new MethodParamsRule(isAddParameterJavadoc(), isAllowArrayParameters(), !Config.isInjectHttpHeadersParameter())));
+	}
+
 	protected abstract Rule<JDefinedClass, JAnnotationUse, ApiResourceMetadata> getControllerAnnotationRule();
 
 	protected abstract Rule<JMethod, JAnnotationUse, ApiActionMetadata> getResponseBodyAnnotationRule();
@@ -56,9 +56,12 @@ public abstract class SpringControllerInterfaceRule extends SpringConfigurableRu
 	@Override
 	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-		GenericJavaClassRule generator = new GenericJavaClassRule().setPackageRule(new PackageRule())
-				.setClassCommentRule(new ClassCommentRule()).addClassAnnotationRule(getControllerAnnotationRule())
-				.addClassAnnotationRule(new SpringValidatedClassAnnotationRule())
+		return getGenerator("interface", this::createGenerator).apply(metadata, generatableType);
+	}
+
+	private GenericJavaClassRule createGenerator() {
+		return new GenericJavaClassRule().setPackageRule(new PackageRule()).setClassCommentRule(new ClassCommentRule())
+				.addClassAnnotationRule(getControllerAnnotationRule()).addClassAnnotationRule(new SpringValidatedClassAnnotationRule())
 				.addClassAnnotationRule(new SpringRequestMappingClassAnnotationRule())
 				.addClassAnnotationRule(new GeneratedClassAnnotationRule()).setClassRule(new ControllerInterfaceDeclarationRule())
 				.setMethodCommentRule(new MethodCommentRule())
@@ -67,7 +70,6 @@ public abstract class SpringControllerInterfaceRule extends SpringConfigurableRu
 				.addMethodAnnotationRule(getResponseBodyAnnotationRule()).setMethodSignatureRule(
 						new ControllerMethodSignatureRule(getReturnTypeRule(true), new SpringMethodParamsRule(isAddParameterJavadoc(),
 								isAllowArrayParameters(), !Config.isInjectHttpHeadersParameter())));
-		return generator.apply(metadata, generatableType);
 	}
 
 	@Override
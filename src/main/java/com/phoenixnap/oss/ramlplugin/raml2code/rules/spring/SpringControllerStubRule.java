@@ -55,9 +55,12 @@ public abstract class SpringControllerStubRule extends SpringConfigurableRule {
 	@Override
 	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
 
-		GenericJavaClassRule generator = new GenericJavaClassRule().setPackageRule(new PackageRule())
-				.setClassCommentRule(new ClassCommentRule()).addClassAnnotationRule(getControllerAnnotationRule())
-				.addClassAnnotationRule(new SpringRequestMappingClassAnnotationRule())
+		return getGenerator("stub", this::createGenerator).apply(metadata, generatableType);
+	}
+
+	private GenericJavaClassRule createGenerator() {
+		return new GenericJavaClassRule().setPackageRule(new PackageRule()).setClassCommentRule(new ClassCommentRule())
+				.addClassAnnotationRule(getControllerAnnotationRule()).addClassAnnotationRule(new SpringRequestMappingClassAnnotationRule())
 				.addClassAnnotationRule(new SpringValidatedClassAnnotationRule()).addClassAnnotationRule(new GeneratedClassAnnotationRule())
 				.setClassRule(new ControllerClassDeclarationRule()).setMethodCommentRule(new MethodCommentRule())
 				.addMethodAnnotationRule(new SpringRequestMappingMethodAnnotationRule())
@@ -65,8 +68,6 @@ public abstract class SpringControllerStubRule extends SpringConfigurableRule {
 				.setMethodSignatureRule(new ControllerMethodSignatureRule(getReturnTypeRule(false), new SpringMethodParamsRule(
 						isAddParameterJavadoc(), isAllowArrayParameters(), !Config.isInjectHttpHeadersParameter())))
 				.setMethodBodyRule(new ImplementMeMethodBodyRule());
-
-		return generator.apply(metadata, generatableType);
 	}
 
 	protected abstract Rule<JMethod, JAnnotationUse, ApiActionMetadata> getResponseBodyAnnotationRule();
@@ -39,15 +39,18 @@ import com.sun.codemodel.JDefinedClass;
  */
 public class SpringFeignClientInterfaceDecoratorRule implements Rule<JCodeModel, JDefinedClass, ApiResourceMetadata> {
 
+	/**
+	 * Nothing in the graph depends on the resource, so it is built once
+	 */
+	private final GenericJavaClassRule generator = new GenericJavaClassRule().setPackageRule(new PackageRule())
+			.setClassCommentRule(new ClassCommentRule()).addClassAnnotationRule(new SpringFeignClientClassAnnotationRule())
+			.addClassAnnotationRule(new GeneratedClassAnnotationRule()).setClassRule(new SpringFeignClientInterfaceDeclarationRule())
+			.setMethodCommentRule(new MethodCommentRule()).addMethodAnnotationRule(new SpringRequestMappingMethodAnnotationRule())
+			.setMethodSignatureRule(
+					new ControllerMethodSignatureRule(new SpringFeignClientResponseTypeRule(), new SpringFeignClientMethodParamsRule()));
+
 	@Override
 	public final JDefinedClass apply(ApiResourceMetadata metadata, JCodeModel generatableType) {
-
-		GenericJavaClassRule generator = new GenericJavaClassRule().setPackageRule(new PackageRule())
-				.setClassCommentRule(new ClassCommentRule()).addClassAnnotationRule(new SpringFeignClientClassAnnotationRule())
-				.addClassAnnotationRule(new GeneratedClassAnnotationRule()).setClassRule(new SpringFeignClientInterfaceDeclarationRule())
-				.setMethodCommentRule(new MethodCommentRule()).addMethodAnnotationRule(new SpringRequestMappingMethodAnnotationRule())
-				.setMethodSignatureRule(new ControllerMethodSignatureRule(new SpringFeignClientResponseTypeRule(),
-						new SpringFeignClientMethodParamsRule()));
 		return generator.apply(metadata, generatableType);
 	}
 }
@@ -0,0 +1,65 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+
+/**
+ * @since 2.1.0
+ */
+public class ApiActionMetadataTest extends AbstractRuleTestBase {
+
+	@Test
+	public void extractControllers_shouldMemoizeDerivedValues() {
+		for (ApiActionMetadata action : getControllerMetadata().getApiCalls()) {
+			assertThat(action.getName(), is(sameInstance(action.getName())));
+			assertThat(action.getPathVariables(), is(sameInstance(action.getPathVariables())));
+		}
+	}
+
+	@Test
+	public void memoizedValues_shouldMatchComputedValues() {
+		for (ApiActionMetadata action : getControllerMetadata().getApiCalls()) {
+			String name = action.getName();
+			String produces = action.getProduces();
+			String consumes = action.getConsumes();
+			int pathVariables = action.getPathVariables().size();
+
+			// changing the action invalidates the memoized values
+			action.setAction(action.getAction());
+
+			assertThat(action.getName(), equalTo(name));
+			assertThat(action.getProduces(), equalTo(produces));
+			assertThat(action.getConsumes(), equalTo(consumes));
+			assertThat(action.getPathVariables().size(), equalTo(pathVariables));
+		}
+	}
+
+	@Test
+	public void setPathVariables_shouldInvalidateMemoizedValues() {
+		ApiActionMetadata action = getEndpointMetadata(2);
+		Set<ApiParameterMetadata> pathVariables = action.getPathVariables();
+
+		action.setPathVariables(new LinkedHashSet<>());
+
+		// path variables are always derived from the resource
+		assertThat(action.getPathVariables(), is(not(sameInstance(pathVariables))));
+		assertThat(action.getPathVariables().size(), equalTo(pathVariables.size()));
+		assertThat(action.getPathVariables().size(), is(greaterThan(0)));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void memoizedPathVariables_shouldBeImmutable() {
+		getEndpointMetadata(2).getPathVariables().clear();
+	}
+}
@@ -0,0 +1,118 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 2.1.0
+ */
+public class CodeModelHelperTest {
+
+	@Test
+	public void findFirstClassBySimpleName_shouldFindDefinedClass() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.other.Song");
+		JDefinedClass person = codeModel._class("com.gen.model.Person");
+
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "Person"), is(sameInstance(person)));
+	}
+
+	@Test
+	public void findFirstClassBySimpleName_shouldFindClassAddedAfterPreviousLookup() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.model.Person");
+		CodeModelHelper.findFirstClassBySimpleName(codeModel, "Person");
+		JDefinedClass manager = codeModel._class("com.gen.model.Manager");
+
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "Manager"), is(sameInstance(manager)));
+	}
+
+	@Test
+	public void findFirstClassBySimpleName_shouldSearchAllCodeModels() throws JClassAlreadyExistsException {
+		JCodeModel first = new JCodeModel();
+		first._class("com.gen.model.Person");
+		JCodeModel second = new JCodeModel();
+		JDefinedClass song = second._class("com.gen.model.Song");
+
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(new JCodeModel[] { first, second }, "Song"), is(sameInstance(song)));
+	}
+
+	@Test
+	public void findClassBySimpleName_shouldPreferSuppliedPackage() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.other.Song");
+		JDefinedClass song = codeModel._class("com.gen.model.Song");
+
+		assertThat(CodeModelHelper.findClassBySimpleName(codeModel, "com.gen.model", "Song"), is(sameInstance(song)));
+	}
+
+	@Test
+	public void findClassBySimpleName_shouldUseFirstMatchForAmbiguousName() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass otherSong = codeModel._class("com.gen.other.Song");
+		JDefinedClass song = codeModel._class("com.gen.model.Song");
+
+		assertThat(CodeModelHelper.findClassBySimpleName(codeModel, "com.gen.api", "Song"),
+				is(anyOf(sameInstance(otherSong), sameInstance(song))));
+	}
+
+	@Test
+	public void findClassBySimpleName_shouldNotCreateTheSuppliedPackage() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.other.Song");
+
+		CodeModelHelper.findClassBySimpleName(codeModel, "com.gen.api", "Song");
+
+		List<String> packageNames = new ArrayList<>();
+		codeModel.packages().forEachRemaining(jPackage -> packageNames.add(jPackage.name()));
+		assertThat(packageNames, not(hasItem("com.gen.api")));
+	}
+
+	@Test
+	public void findFirstClassBySimpleName_shouldResolveSimpleTypes() {
+		JCodeModel codeModel = new JCodeModel();
+
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "int").fullName(), is(equalTo("java.lang.Integer")));
+		// unqualified names are referenced as they are, java.lang needs no
+		// import
+		assertThat(CodeModelHelper.findFirstClassBySimpleName(codeModel, "String").fullName(), is(equalTo("String")));
+	}
+
+	@Test
+	public void updateSerialVersionUIDs_shouldDependOnClassCodeOnly() throws JClassAlreadyExistsException {
+		JCodeModel first = createSerializableClass(1L, "name");
+		JCodeModel second = createSerializableClass(2L, "name");
+		JCodeModel changed = createSerializableClass(1L, "title");
+		CodeModelHelper.updateSerialVersionUIDs(first);
+		CodeModelHelper.updateSerialVersionUIDs(second);
+		CodeModelHelper.updateSerialVersionUIDs(changed);
+
+		String firstCode = CodeModelHelper.getElementAsString(first._getClass("com.gen.model.Person"));
+		assertThat(CodeModelHelper.getElementAsString(second._getClass("com.gen.model.Person")), is(equalTo(firstCode)));
+		assertThat(CodeModelHelper.getElementAsString(changed._getClass("com.gen.model.Person")), is(not(equalTo(firstCode))));
+	}
+
+	private static JCodeModel createSerializableClass(long serialVersionUID, String fieldName) throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		JDefinedClass person = codeModel._class("com.gen.model.Person");
+		person.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, codeModel.LONG, "serialVersionUID", JExpr.lit(serialVersionUID));
+		person.field(JMod.PRIVATE, String.class, fieldName);
+		return codeModel;
+	}
+}
@@ -0,0 +1,51 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+
+/**
+ * @since 2.1.0
+ */
+public class JsonSchemaSummaryTest {
+
+	private static String path = "schemas" + File.separator;
+
+	@Test
+	public void parse_shouldOnlyReadTopLevelKeywords() {
+		JsonSchemaSummary summary = JsonSchemaSummary.parse("{\"title\": \"some type\", \"properties\": {\"id\": {\"type\": \"integer\", "
+				+ "\"id\": \"Inner\"}, \"javaType\": {\"type\": \"string\"}}, \"id\": \"Outer\", \"type\": \"object\"}");
+
+		assertThat(summary.getType(), is("object"));
+		assertThat(summary.getId(), is("Outer"));
+		assertThat(summary.getJavaType(), nullValue());
+		assertThat(summary.getItems(), nullValue());
+	}
+
+	@Test
+	public void parse_shouldReadTheKeywordsOfTheItems() throws Exception {
+		JsonSchemaSummary summary = JsonSchemaSummary.parse(Resources.toString(Resources.getResource(path + "A.json"), Charsets.UTF_8));
+
+		assertThat(summary.isArray(), is(true));
+		assertThat(summary.getRef(), nullValue());
+		assertThat(summary.getItems().getRef(), is("schemas/B.json"));
+	}
+
+	@Test
+	public void parse_shouldKeepTheKeywordsReadBeforeAnError() {
+		JsonSchemaSummary summary = JsonSchemaSummary
+				.parse("{\"type\": [\"object\", \"null\"], /* comment */ \"javaType\": \"a.b.C\", \"id\": ");
+
+		assertThat(summary.getType(), is("object"));
+		assertThat(summary.getJavaType(), is("a.b.C"));
+		assertThat(summary.getId(), nullValue());
+		assertThat(JsonSchemaSummary.parse("not json").getType(), nullValue());
+	}
+}
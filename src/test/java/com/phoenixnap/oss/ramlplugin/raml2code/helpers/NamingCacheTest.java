@@ -0,0 +1,66 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * @since 2.1.0
+ */
+public class NamingCacheTest {
+
+	@Test
+	public void get_shouldComputeEachNameOncePerOperation() {
+		NamingCache cache = new NamingCache();
+		AtomicInteger calls = new AtomicInteger();
+		Function<String, String> upperCase = input -> {
+			calls.incrementAndGet();
+			return input.toUpperCase();
+		};
+
+		assertThat(cache.get("upperCase", "name", upperCase), is("NAME"));
+		assertThat(cache.get("upperCase", "name", upperCase), is("NAME"));
+		assertThat(cache.get("other", "name", String::trim), is("name"));
+
+		assertThat(calls.get(), is(1));
+		assertThat(cache.getHits(), is(1L));
+		assertThat(cache.getMisses(), is(2L));
+		assertThat(cache.getHitRate(), closeTo(1.0 / 3, 0.001));
+	}
+
+	@Test
+	public void get_shouldEvictTheLeastRecentlyUsedNames() {
+		NamingCache cache = new NamingCache(2);
+
+		cache.get("upperCase", "a", String::toUpperCase);
+		cache.get("upperCase", "b", String::toUpperCase);
+		cache.get("upperCase", "a", String::toUpperCase);
+		cache.get("upperCase", "c", String::toUpperCase);
+		cache.get("upperCase", "a", String::toUpperCase);
+		cache.get("upperCase", "b", String::toUpperCase);
+
+		assertThat(cache.size(), is(2));
+		assertThat(cache.getEvictions(), is(2L));
+		assertThat(cache.getHits(), is(2L));
+	}
+
+	@Test
+	public void get_shouldNotCacheNullNames() {
+		NamingCache cache = new NamingCache();
+
+		assertThat(cache.get("none", "name", input -> null), nullValue());
+
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void constructor_shouldRejectEmptyCaches() {
+		new NamingCache(0);
+	}
+}
@@ -16,6 +16,8 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationContext;
 import com.phoenixnap.oss.ramlplugin.raml2code.plugin.TestConfig;
 
 /**
@@ -108,6 +110,8 @@ public class NamingHelperTest {
 		assertEquals("Clean Leading", "asdasd", NamingHelper.cleanLeadingAndTrailingNewLineAndChars("   -*\n\t     asdasd"));
 		assertEquals("Clean Trailing", "asdasd", NamingHelper.cleanLeadingAndTrailingNewLineAndChars("asdasd   -*\n\t     "));
 		assertEquals("Clean Both", "asdasd", NamingHelper.cleanLeadingAndTrailingNewLineAndChars("   -*\n\t     asdasd   -*\n\t     "));
+		assertEquals("Collapse Asterisks", "first line second line third",
+				NamingHelper.cleanLeadingAndTrailingNewLineAndChars("/**\n\t * first line\n\t * second line *\tthird\n\t */"));
 	}
 
 	@Test
@@ -143,6 +147,29 @@ public class NamingHelperTest {
 
 		assertEquals("S_WORD", NamingHelper.cleanNameForJavaEnum("sWORD"));
 		assertEquals("S_WORD", NamingHelper.cleanNameForJavaEnum("sWord"));
+		assertEquals("_1_ST", NamingHelper.cleanNameForJavaEnum("1st"));
+		assertEquals("_DEFAULT_", NamingHelper.cleanNameForJavaEnum("@#%"));
+		assertEquals("CLASS", NamingHelper.cleanNameForJavaEnum("class"));
+	}
+
+	@Test
+	public void test_namingCache_UsedWithinExecution() {
+		NamingCache namingCache = new NamingCache();
+		GenerationContext context = GenerationContext.builder().withNamingCache(namingCache).build();
+
+		Config.runWithContext(context, () -> {
+			assertEquals("Thing", NamingHelper.getResourceName("things", true));
+			assertEquals("Thing", NamingHelper.getResourceName("things", true));
+			assertEquals("Things", NamingHelper.getResourceName("things", false));
+		});
+
+		// both resource names, singularize("Things") and cleanNameForJava of
+		// "Thing" and "Things"
+		assertEquals(5, namingCache.size());
+		assertEquals(1, namingCache.getHits());
+		assertEquals(5, namingCache.getMisses());
+		assertEquals("Thing", NamingHelper.getResourceName("things", true));
+		assertEquals(1, namingCache.getHits());
 	}
 
 }
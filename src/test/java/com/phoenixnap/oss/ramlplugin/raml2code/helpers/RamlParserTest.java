@@ -0,0 +1,82 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * @since 2.1.0
+ */
+public class RamlParserTest extends AbstractRuleTestBase {
+
+	private static final String[] RAMLS = { "test-single-controller.raml", "raml-root-test-v10.raml", "test-feign-client.raml" };
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void extractControllers_shouldStreamSameControllersAsExtractingAll() {
+		for (String ramlName : RAMLS) {
+			RamlRoot raml = RamlLoader.loadRamlFromFile(RESOURCE_BASE + ramlName);
+
+			List<String> streamed = new ArrayList<>();
+			List<JCodeModel> codeModels = new ArrayList<>();
+			defaultRamlParser.extractControllers(raml, JCodeModel::new, (codeModel, controllers) -> {
+				codeModels.add(codeModel);
+				controllers.forEach(controller -> streamed.add(describe(controller)));
+			});
+
+			List<String> extracted = new ArrayList<>();
+			defaultRamlParser.extractControllers(new JCodeModel(), raml).forEach(controller -> extracted.add(describe(controller)));
+
+			assertThat(ramlName, streamed, equalTo(extracted));
+			assertThat(ramlName, codeModels.size(), is(raml.getResources().size()));
+			if (codeModels.size() > 1) {
+				assertThat(codeModels.get(0), not(sameInstance(codeModels.get(1))));
+			}
+		}
+	}
+
+	@Test
+	public void extractControllers_shouldResolveNameCollisionsAcrossTopLevelResources() throws IOException {
+		File ramlFile = temporaryFolder.newFile("collision.raml");
+		Files.write(ramlFile.toPath(),
+				("#%RAML 1.0\ntitle: Collision\nversion: v1\nmediaType: application/json\n"
+						+ "/things:\n  get:\n    description: All things\n" + "/thing:\n  get:\n    description: The thing\n")
+								.getBytes(StandardCharsets.UTF_8));
+		RamlRoot raml = RamlLoader.loadRamlFromFile(ramlFile.toURI().toString());
+
+		List<String> streamed = new ArrayList<>();
+		defaultRamlParser.extractControllers(raml, JCodeModel::new,
+				(codeModel, controllers) -> controllers.forEach(controller -> streamed.add(controller.getName())));
+		Set<ApiResourceMetadata> extracted = defaultRamlParser.extractControllers(new JCodeModel(), raml);
+
+		assertThat(streamed, contains("Things", "Thing"));
+		assertThat(extracted.stream().map(ApiResourceMetadata::getName).toArray(), equalTo(streamed.toArray()));
+	}
+
+	private static String describe(ApiResourceMetadata controller) {
+		return controller.getName() + " " + controller.getControllerUrl() + " " + controller.getApiCalls().size();
+	}
+}
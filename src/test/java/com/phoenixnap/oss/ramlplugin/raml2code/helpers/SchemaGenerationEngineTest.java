@@ -0,0 +1,115 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+
+/**
+ * @since 2.1.0
+ */
+public class SchemaGenerationEngineTest {
+
+	private static final String PACKAGE = "com.gen.test.model";
+
+	private static String path = "schemas" + File.separator;
+
+	@Test
+	public void generate_shouldReuseTheTypeOfAnIdenticalSchema() throws Exception {
+		String schema = Resources.toString(Resources.getResource(path + "B.json"), Charsets.UTF_8);
+		SchemaGenerationEngine engine = new SchemaGenerationEngine(new JCodeModel(), null, null);
+
+		JType first = engine.generate(PACKAGE, null, "B", schema);
+		JType second = engine.generate(PACKAGE, null, "B", schema);
+
+		assertThat(first, notNullValue());
+		assertThat(second, sameInstance(first));
+		assertThat(engine.getGeneratedSchemas(), is(1));
+		assertThat(engine.getReusedSchemas(), is(1));
+	}
+
+	@Test
+	public void generate_shouldGenerateReferencedSchemasOnce() throws Exception {
+		String schema = Resources.toString(Resources.getResource(path + "A.json"), Charsets.UTF_8);
+		String otherSchema = schema.replace("Collection of B", "Other collection of B");
+		JCodeModel codeModel = new JCodeModel();
+		SchemaGenerationEngine engine = new SchemaGenerationEngine(codeModel, "classpath:/", null);
+
+		JClass first = (JClass) engine.generate(PACKAGE, null, "A", schema);
+		JClass second = (JClass) engine.generate(PACKAGE, null, "OtherA", otherSchema);
+
+		assertThat(engine.getGeneratedSchemas(), is(2));
+		assertThat(second.getTypeParameters().get(0), sameInstance(first.getTypeParameters().get(0)));
+		// the class of a referenced schema is named after the first schema
+		// referencing it
+		assertThat(getClassNames(codeModel), contains("A"));
+	}
+
+	@Test
+	public void generate_shouldKeepReferencedSchemasAfterAFailedSchema() throws Exception {
+		String schema = Resources.toString(Resources.getResource(path + "A.json"), Charsets.UTF_8);
+		String otherSchema = schema.replace("Collection of B", "Other collection of B");
+		JCodeModel codeModel = new JCodeModel();
+		SchemaGenerationEngine engine = new SchemaGenerationEngine(codeModel, "classpath:/", null);
+
+		JClass first = (JClass) engine.generate(PACKAGE, null, "A", schema);
+		JType broken = engine.generate(PACKAGE, null, "Broken",
+				"{\"type\": \"object\", \"properties\": {\"missing\": {\"$ref\": \"schemas/Missing.json\"}}}");
+		JClass second = (JClass) engine.generate(PACKAGE, null, "OtherA", otherSchema);
+
+		assertThat(broken, nullValue());
+		assertThat(second.getTypeParameters().get(0), sameInstance(first.getTypeParameters().get(0)));
+		assertThat(getClassNames(codeModel), contains("A"));
+	}
+
+	@Test
+	public void generate_shouldGenerateReferencedSchemasOfAFailedSchemaAgain() throws Exception {
+		String schema = Resources.toString(Resources.getResource(path + "A.json"), Charsets.UTF_8);
+		JCodeModel codeModel = new JCodeModel();
+		SchemaGenerationEngine engine = new SchemaGenerationEngine(codeModel, "classpath:/", null);
+
+		JType broken = engine.generate(PACKAGE, null, "Broken", "{\"type\": \"object\", \"properties\": {"
+				+ "\"b\": {\"$ref\": \"schemas/B.json\"}, \"missing\": {\"$ref\": \"schemas/Missing.json\"}}}");
+		JClass type = (JClass) engine.generate(PACKAGE, null, "A", schema);
+
+		assertThat(broken, nullValue());
+		assertThat(getClassNames(codeModel), contains(type.getTypeParameters().get(0).name()));
+	}
+
+	@Test
+	public void generate_shouldRemoveTheClassesOfAFailedSchema() throws Exception {
+		JCodeModel codeModel = new JCodeModel();
+		SchemaGenerationEngine engine = new SchemaGenerationEngine(codeModel, "classpath:/", null);
+
+		JType type = engine.generate(PACKAGE, null, "Broken",
+				"{\"type\": \"object\", \"properties\": {\"missing\": {\"$ref\": \"schemas/Missing.json\"}}}");
+
+		assertThat(type, nullValue());
+		assertThat(getClassNames(codeModel).isEmpty(), is(true));
+	}
+
+	private static List<String> getClassNames(JCodeModel codeModel) {
+		List<String> names = new ArrayList<>();
+		Iterator<JPackage> packages = codeModel.packages();
+		while (packages.hasNext()) {
+			packages.next().classes().forEachRemaining(definedClass -> names.add(definedClass.name()));
+		}
+		return names;
+	}
+}
@@ -0,0 +1,70 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 2.1.0
+ */
+public class SchemaResolverTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void resolve_shouldFindClasspathSchemasInTheSchemaDirectoryFirst() throws IOException {
+		File schemaDirectory = temporaryFolder.newFolder("location");
+		File schemas = new File(schemaDirectory, "schemas");
+		schemas.mkdirs();
+		Files.write(new File(schemas, "B.json").toPath(), "{\"id\": \"Local\"}".getBytes(StandardCharsets.UTF_8));
+		SchemaResolver resolver = new SchemaResolver(Collections.singletonList(schemaDirectory));
+
+		URI uri = SchemaResolver.resolveReference("classpath:/", "schemas/B.json");
+
+		assertThat(resolver.resolve(uri).get("id").asText(), is("Local"));
+		assertThat(new SchemaResolver(null).resolve(uri).get("id").asText(), is("B"));
+	}
+
+	@Test
+	public void getDocument_shouldReadEachSchemaOnce() throws IOException {
+		File schema = temporaryFolder.newFile("A.json");
+		Files.write(schema.toPath(), "{\"id\": \"A\"}".getBytes(StandardCharsets.UTF_8));
+		SchemaResolver resolver = new SchemaResolver(null);
+
+		String document = resolver.getDocument(schema.toURI());
+		Files.write(schema.toPath(), "{\"id\": \"Changed\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(resolver.getDocument(SchemaResolver.resolveReference(temporaryFolder.getRoot().toURI().toString(), "A.json")),
+				is(document));
+		assertThat(resolver.resolve(schema.toURI()).get("id").asText(), is("A"));
+	}
+
+	@Test
+	public void getDocument_shouldReadLargeSchemas() throws IOException {
+		StringBuilder schema = new StringBuilder("{\"type\": \"object\", \"properties\": {");
+		for (int i = 0; schema.length() < 2 * 1024 * 1024; i++) {
+			schema.append("\"property").append(i).append("\": {\"type\": \"string\"}, ");
+		}
+		schema.append("\"last\": {\"type\": \"string\"}}}");
+		File file = temporaryFolder.newFile("Large.json");
+		Files.write(file.toPath(), schema.toString().getBytes(StandardCharsets.UTF_8));
+
+		assertThat(new SchemaResolver(null).getDocument(file.toURI()), is(schema.toString()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void resolve_shouldFailForMissingSchemas() {
+		new SchemaResolver(null).resolve(URI.create("classpath:/schemas/Missing.json"));
+	}
+}
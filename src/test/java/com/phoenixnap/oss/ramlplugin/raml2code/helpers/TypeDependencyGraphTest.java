@@ -0,0 +1,90 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.helpers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+
+/**
+ * @since 2.1.0
+ */
+public class TypeDependencyGraphTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void getReachableTypes_shouldNotOverflowOnLongInheritanceChains() {
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+		for (int i = 0; i < 50000; i++) {
+			dependencies.put("Type" + i, i == 0 ? names() : names("Type" + (i - 1)));
+		}
+		TypeDependencyGraph graph = new TypeDependencyGraph(dependencies, Collections.emptyMap());
+
+		assertThat(graph.getReachableTypes(Collections.singletonList("Type49999"), false).size(), is(50000));
+	}
+
+	@Test
+	public void getReachableTypes_shouldOnlyFollowSubtypesOnRequest() {
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+		dependencies.put("Order", names("Customer"));
+		dependencies.put("Customer", names("Address"));
+		dependencies.put("Address", names());
+		dependencies.put("Payment", names());
+		dependencies.put("Card", names("Payment"));
+		dependencies.put("Unused", names("Address"));
+		TypeDependencyGraph graph = new TypeDependencyGraph(dependencies, Collections.singletonMap("Payment", names("Card")));
+
+		assertThat(graph.getReachableTypes(Arrays.asList("Order", "Payment", "Id"), false),
+				containsInAnyOrder("Order", "Customer", "Address", "Payment"));
+		assertThat(graph.getReachableTypes(Arrays.asList("Order", "Payment"), true),
+				containsInAnyOrder("Order", "Customer", "Address", "Payment", "Card"));
+	}
+
+	@Test
+	public void build_shouldFollowParentsPropertiesUnionsAndDiscriminators() throws IOException {
+		File ramlFile = temporaryFolder.newFile("graph.raml");
+		Files.write(ramlFile.toPath(),
+				("#%RAML 1.0\ntitle: Graph\nversion: v1\nmediaType: application/json\ntypes:\n"
+						+ "  Animal:\n    type: object\n    discriminator: kind\n    properties:\n      kind: string\n"
+						+ "  Dog:\n    type: Animal\n    properties:\n      owner: Person\n"
+						+ "  Person:\n    type: object\n    properties:\n      pets: Animal[]\n      address:\n        type: object\n"
+						+ "        properties:\n          tags: Tag[]\n" + "  Tag:\n    type: string\n"
+						+ "  Shape:\n    type: Circle | Square\n" + "  Circle:\n    type: object\n    properties:\n      radius: number\n"
+						+ "  Square:\n    type: object\n    properties:\n      side: number\n"
+						+ "/animals:\n  get:\n    responses:\n      200:\n        body:\n          type: Animal[]\n")
+								.getBytes(StandardCharsets.UTF_8));
+		RamlRoot raml = RamlLoader.loadRamlFromFile(ramlFile.toURI().toString());
+
+		TypeDependencyGraph graph = TypeDependencyGraph.build(raml);
+
+		assertThat(graph.getDependencies("Animal"), contains("Dog"));
+		assertThat(graph.getDependencies("Dog"), hasItems("Animal", "Person"));
+		assertThat(graph.getDependencies("Person"), hasItems("Animal", "Tag"));
+		assertThat(graph.getDependencies("Shape"), containsInAnyOrder("Circle", "Square"));
+		assertThat(graph.getReachableTypes(Collections.singletonList("Person"), false), containsInAnyOrder("Person", "Animal", "Tag"));
+	}
+
+	private static Set<String> names(String... names) {
+		return new LinkedHashSet<>(Arrays.asList(names));
+	}
+}
@@ -0,0 +1,81 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.interpreters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.CodeModelHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+/**
+ * Compares adding fields with resolved classes to adding them by class name.
+ *
+ * @since 2.1.0
+ */
+public class PojoBuilderTest extends AbstractRuleTestBase {
+
+	@BeforeClass
+	public static void initRamlRoot() {
+		loadRaml("raml-interpreter-test-v10.raml");
+	}
+
+	@Test
+	public void withField_shouldGenerateSameCodeForResolvedClassAndClassName() throws IOException {
+		for (RamlDataType dataType : RAML.getTypes().values()) {
+			if (!(dataType.getType() instanceof ObjectTypeDeclaration)) {
+				continue;
+			}
+			String byName = removeSerialVersionUID(CodeModelHelper.getElementAsString(buildPojo(dataType, false)));
+			String byClass = removeSerialVersionUID(CodeModelHelper.getElementAsString(buildPojo(dataType, true)));
+			assertThat(dataType.getType().name(), byClass, equalTo(byName));
+		}
+	}
+
+	@Test
+	public void withField_shouldAddSameFieldsForResolvedClassAndClassName() {
+		for (RamlDataType dataType : RAML.getTypes().values()) {
+			if (!(dataType.getType() instanceof ObjectTypeDeclaration)) {
+				continue;
+			}
+			Map<String, JFieldVar> byName = buildPojo(dataType, false).fields();
+			Map<String, JFieldVar> byClass = buildPojo(dataType, true).fields();
+			assertThat(dataType.getType().name(), byClass.keySet(), equalTo(byName.keySet()));
+			for (Map.Entry<String, JFieldVar> field : byName.entrySet()) {
+				assertThat(field.getKey(), byClass.get(field.getKey()).type().fullName(), equalTo(field.getValue().type().fullName()));
+				assertThat(field.getKey(), byClass.get(field.getKey()).mods().getValue(), equalTo(field.getValue().mods().getValue()));
+			}
+		}
+	}
+
+	private JDefinedClass buildPojo(RamlDataType dataType, boolean resolvedClass) {
+		JCodeModel codeModel = new JCodeModel();
+		PojoBuilder builder = new PojoBuilder(codeModel, "Pojo");
+		List<TypeDeclaration> properties = ((ObjectTypeDeclaration) dataType.getType()).properties();
+		for (TypeDeclaration property : properties) {
+			RamlInterpretationResult result = RamlInterpreterFactory.getInterpreterForType(property).interpret(RAML, property, codeModel,
+					true);
+			JClass type = result.getResolvedClassOrBuiltOrObject();
+			if (resolvedClass) {
+				builder.withField(property.name(), type, RamlTypeHelper.getDescription(property), result.getValidations(), property);
+			} else {
+				builder.withField(property.name(), type.fullName(), RamlTypeHelper.getDescription(property), result.getValidations(),
+						property);
+			}
+		}
+		return (JDefinedClass) builder.getPojo();
+	}
+}
@@ -0,0 +1,56 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.interpreters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
+import org.raml.v2.api.model.v10.datamodel.TypeDeclaration;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationContext;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+
+/**
+ * @since 2.1.0
+ */
+public class RamlInterpreterFactoryTest extends AbstractRuleTestBase {
+
+	private static TypeDeclaration songType;
+	private static TypeDeclaration songIdType;
+
+	@BeforeClass
+	public static void initRamlRoot() {
+		loadRaml("raml-interpreter-test-v10.raml");
+		songType = RAML.getType("Song").getType();
+		songIdType = ((ObjectTypeDeclaration) songType).properties().get(0);
+	}
+
+	@Test
+	public void getInterpreterForType_shouldResolveBuiltInInterpreters() {
+		assertThat(RamlInterpreterFactory.getInterpreterForType(songType), is(instanceOf(ObjectTypeInterpreter.class)));
+		assertThat(RamlInterpreterFactory.getInterpreterForType(songIdType), is(instanceOf(StringTypeInterpreter.class)));
+		assertThat(RamlInterpreterFactory.getInterpreterForType(songType),
+				is(sameInstance(RamlInterpreterFactory.getInterpreterForType(songType))));
+	}
+
+	@Test
+	public void getInterpreterForType_shouldPreferInterpretersOfCurrentExecution() {
+		CustomStringTypeInterpreter customInterpreter = new CustomStringTypeInterpreter();
+		GenerationContext context = GenerationContext.builder().withTypeInterpreters(Collections.singletonList(customInterpreter)).build();
+
+		Config.runWithContext(context, () -> {
+			assertThat(RamlInterpreterFactory.getInterpreterForType(songIdType), is(sameInstance(customInterpreter)));
+			assertThat(RamlInterpreterFactory.getInterpreterForType(songType), is(instanceOf(ObjectTypeInterpreter.class)));
+		});
+		assertThat(RamlInterpreterFactory.getInterpreterForType(songIdType), is(instanceOf(StringTypeInterpreter.class)));
+	}
+
+	private static class CustomStringTypeInterpreter extends StringTypeInterpreter {
+	}
+}
@@ -23,4 +23,12 @@ public class UnionTypeInterpretorTest extends AbstractRuleTestBase {
 		rule.apply(getControllerMetadata(), jCodeModel);
 		verifyGeneratedCode("RamlWithUnionTypeSpring4ControllerInterface");
 	}
+
+	@Test
+	public void applySpring4ControllerInterfaceRule_shouldCreate_validCodeForUnionOfSubtypes() throws Exception {
+		loadRaml("raml-with-union-of-subtypes.raml");
+		rule = new Spring4ControllerInterfaceRule();
+		rule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("RamlWithUnionOfSubtypesSpring4ControllerInterface");
+	}
 }
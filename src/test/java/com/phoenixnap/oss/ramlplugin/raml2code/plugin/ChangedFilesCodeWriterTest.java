@@ -0,0 +1,147 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 2.1.0
+ */
+public class ChangedFilesCodeWriterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void build_shouldOnlyWriteChangedFiles() throws IOException, JClassAlreadyExistsException {
+		File rootDir = folder.getRoot();
+		JCodeModel codeModel = createCodeModel();
+		ChangedFilesCodeWriter firstRun = new ChangedFilesCodeWriter(rootDir);
+		codeModel.build(firstRun);
+		assertThat(firstRun.getWrittenCount(), is(2));
+
+		File song = new File(rootDir, "com/gen/test/Song.java");
+		FileTime lastModified = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(song.toPath(), lastModified);
+
+		JCodeModel changedCodeModel = createCodeModel();
+		changedCodeModel._getClass("com.gen.test.Person").field(JMod.PRIVATE, String.class, "name");
+		ChangedFilesCodeWriter secondRun = new ChangedFilesCodeWriter(rootDir);
+		changedCodeModel.build(secondRun);
+
+		assertThat(secondRun.getWrittenCount(), is(1));
+		assertThat(secondRun.getUnchangedCount(), is(1));
+		assertThat(Files.getLastModifiedTime(song.toPath()), is(equalTo(lastModified)));
+		assertThat(new String(Files.readAllBytes(new File(rootDir, "com/gen/test/Person.java").toPath()), StandardCharsets.UTF_8),
+				containsString("private String name;"));
+		assertThat(rootDir.toPath().resolve("com/gen/test").toFile().list().length, is(2));
+	}
+
+	@Test
+	public void build_shouldKeepFilePermissions() throws IOException, JClassAlreadyExistsException {
+		File rootDir = folder.getRoot();
+		Assume.assumeTrue(Files.getFileAttributeView(rootDir.toPath(), PosixFileAttributeView.class) != null);
+		Path newFile = Files.createFile(rootDir.toPath().resolve("new.txt"));
+		createCodeModel().build(new ChangedFilesCodeWriter(rootDir));
+
+		Path person = rootDir.toPath().resolve("com/gen/test/Person.java");
+		assertThat(Files.getPosixFilePermissions(person), is(equalTo(Files.getPosixFilePermissions(newFile))));
+
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+		Files.setPosixFilePermissions(person, permissions);
+		JCodeModel changedCodeModel = createCodeModel();
+		changedCodeModel._getClass("com.gen.test.Person").field(JMod.PRIVATE, String.class, "name");
+		ChangedFilesCodeWriter codeWriter = new ChangedFilesCodeWriter(rootDir);
+		changedCodeModel.build(codeWriter);
+
+		assertThat(codeWriter.getWrittenCount(), is(1));
+		assertThat(Files.getPosixFilePermissions(person), is(equalTo(permissions)));
+	}
+
+	@Test
+	public void build_shouldNotRenderSkippedFiles() throws IOException, JClassAlreadyExistsException {
+		ChangedFilesCodeWriter codeWriter = new ChangedFilesCodeWriter(folder.getRoot(), Collections.singleton("com/gen/test/Song.java"));
+		createCodeModel().build(codeWriter);
+
+		assertThat(codeWriter.getSkippedCount(), is(1));
+		assertThat(new File(folder.getRoot(), "com/gen/test/Song.java").exists(), is(false));
+	}
+
+	@Test
+	public void build_shouldKeepFilesWrittenByLaterPositions() throws IOException, JClassAlreadyExistsException {
+		File rootDir = folder.getRoot();
+		Map<String, Integer> writePositions = new ConcurrentHashMap<>();
+		JCodeModel laterCodeModel = createCodeModel();
+		laterCodeModel._getClass("com.gen.test.Person").field(JMod.PRIVATE, String.class, "name");
+		laterCodeModel.build(new ChangedFilesCodeWriter(rootDir, writePositions, 1));
+
+		ChangedFilesCodeWriter earlier = new ChangedFilesCodeWriter(rootDir, writePositions, 0);
+		createCodeModel().build(earlier);
+
+		assertThat(earlier.getSkippedCount(), is(2));
+		assertThat(new String(Files.readAllBytes(new File(rootDir, "com/gen/test/Person.java").toPath()), StandardCharsets.UTF_8),
+				containsString("private String name;"));
+
+		ChangedFilesCodeWriter later = new ChangedFilesCodeWriter(rootDir, writePositions, 2);
+		createCodeModel().build(later);
+
+		assertThat(later.getWrittenCount(), is(1));
+		assertThat(later.getUnchangedCount(), is(1));
+	}
+
+	@Test
+	public void write_shouldWriteRenderedFilesLikeBuild() throws IOException, JClassAlreadyExistsException {
+		File built = folder.newFolder();
+		createCodeModel().build(new ChangedFilesCodeWriter(built));
+		Map<String, byte[]> files = ChangedFilesCodeWriter.render(createCodeModel());
+
+		ChangedFilesCodeWriter codeWriter = new ChangedFilesCodeWriter(folder.newFolder(), Collections.singleton("com/gen/test/Song.java"));
+		codeWriter.write(files);
+
+		assertThat(files.keySet(), contains("com/gen/test/Person.java", "com/gen/test/Song.java"));
+		assertThat(files.get("com/gen/test/Person.java"),
+				is(equalTo(Files.readAllBytes(new File(built, "com/gen/test/Person.java").toPath()))));
+		assertThat(codeWriter.getWrittenCount(), is(1));
+		assertThat(codeWriter.getSkippedCount(), is(1));
+	}
+
+	@Test
+	public void getOutputFiles_shouldListClassFiles() throws JClassAlreadyExistsException {
+		assertThat(ChangedFilesCodeWriter.getOutputFiles(createCodeModel()).size(), is(2));
+		JDefinedClass person = createCodeModel()._getClass("com.gen.test.Person");
+		assertThat(ChangedFilesCodeWriter.getOutputFile(person), is(equalTo("com/gen/test/Person.java")));
+	}
+
+	private static JCodeModel createCodeModel() throws JClassAlreadyExistsException {
+		JCodeModel codeModel = new JCodeModel();
+		codeModel._class("com.gen.test.Person");
+		codeModel._class("com.gen.test.Song");
+		return codeModel;
+	}
+}
@@ -0,0 +1,90 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since 2.1.0
+ */
+public class ConfigTest {
+
+	@After
+	public void resetConfig() {
+		TestConfig.resetConfig();
+	}
+
+	@Test
+	public void parseOutputTimestamp_shouldSupportMavenFormats() {
+		assertThat(Config.parseOutputTimestamp("2019-10-02T08:04:00Z").getTime(), is(equalTo(1570003440000L)));
+		assertThat(Config.parseOutputTimestamp("1570003440").getTime(), is(equalTo(1570003440000L)));
+		assertThat(Config.parseOutputTimestamp("-"), is(nullValue()));
+		assertThat(Config.parseOutputTimestamp(null), is(nullValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseOutputTimestamp_shouldRejectInvalidTimestamp() {
+		Config.parseOutputTimestamp("yesterday");
+	}
+
+	@Test
+	public void getGenerationDate_shouldUseOutputTimestampForReproducibleOutput() {
+		assertThat(Config.getGenerationDate(), is(notNullValue()));
+
+		Config.runWithContext(GenerationContext.builder().withReproducibleOutput(true).build(),
+				() -> assertThat(Config.getGenerationDate(), is(nullValue())));
+
+		Config.runWithContext(GenerationContext.builder().withReproducibleOutput(true).withOutputTimestamp("2019-10-02T08:04:00Z").build(),
+				() -> assertThat(Config.getGenerationDate().getTime(), is(equalTo(1570003440000L))));
+	}
+
+	@Test
+	public void getSchemaResolver_shouldShareResolverOutsideOfAnExecution() {
+		assertThat(Config.getSchemaResolver(), is(sameInstance(Config.getSchemaResolver())));
+	}
+
+	@Test
+	public void runWithContext_shouldIsolateConcurrentExecutions() throws Exception {
+		GenerationContext first = GenerationContext.builder().withBasePackage("com.gen.first").build();
+		GenerationContext second = GenerationContext.builder().withBasePackage("com.gen.second").build();
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> firstPackage = executor.submit(() -> readPojoPackage(first, barrier));
+			Future<String> secondPackage = executor.submit(() -> readPojoPackage(second, barrier));
+
+			assertThat(firstPackage.get(), is(equalTo("com.gen.first.model")));
+			assertThat(secondPackage.get(), is(equalTo("com.gen.second.model")));
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(Config.getContext(), is(nullValue()));
+	}
+
+	private static String readPojoPackage(GenerationContext context, CyclicBarrier barrier) {
+		AtomicReference<String> pojoPackage = new AtomicReference<>();
+		Config.runWithContext(context, () -> {
+			try {
+				// both executions are bound at the same time
+				barrier.await(10, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+			pojoPackage.set(Config.getPojoPackage());
+		});
+		return pojoPackage.get();
+	}
+}
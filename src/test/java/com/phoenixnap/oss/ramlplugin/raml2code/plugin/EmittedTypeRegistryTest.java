@@ -0,0 +1,53 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidCodeModelException;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 2.1.0
+ */
+public class EmittedTypeRegistryTest {
+
+	@Test
+	public void removeEmitted_shouldOnlyKeepNewClasses() throws JClassAlreadyExistsException {
+		EmittedTypeRegistry registry = new EmittedTypeRegistry();
+		JCodeModel first = new JCodeModel();
+		first._class("com.gen.test.model.Shared");
+		first._class("com.gen.test.model.First");
+
+		assertThat(registry.removeEmitted(first), is(0));
+		assertThat(ChangedFilesCodeWriter.getOutputFiles(first).size(), is(2));
+
+		JCodeModel second = new JCodeModel();
+		second._class("com.gen.test.model.Shared");
+		second._class("com.gen.test.model.Second");
+		second._class("com.gen.test.other.Shared");
+
+		assertThat(registry.removeEmitted(second), is(1));
+		assertThat(ChangedFilesCodeWriter.getOutputFiles(second),
+				containsInAnyOrder("com/gen/test/model/Second.java", "com/gen/test/other/Shared.java"));
+		assertThat(registry.size(), is(4));
+		assertThat(registry.contains("com.gen.test.other", "Shared"), is(true));
+		assertThat(registry.contains("com.gen.test.other", "Second"), is(false));
+	}
+
+	@Test(expected = InvalidCodeModelException.class)
+	public void removeEmitted_shouldFailForClassWithDifferentCode() throws JClassAlreadyExistsException {
+		EmittedTypeRegistry registry = new EmittedTypeRegistry();
+		JCodeModel first = new JCodeModel();
+		first._class("com.gen.test.model.Shared").field(JMod.PRIVATE, String.class, "name");
+		registry.removeEmitted(first);
+
+		JCodeModel second = new JCodeModel();
+		second._class("com.gen.test.model.Shared").field(JMod.PRIVATE, Integer.class, "name");
+		registry.removeEmitted(second);
+	}
+}
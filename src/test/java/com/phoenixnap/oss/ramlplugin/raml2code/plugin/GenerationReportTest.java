@@ -0,0 +1,109 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.GenerationReport.Stats;
+
+/**
+ * @since 2.1.0
+ */
+public class GenerationReportTest {
+
+	@Test
+	public void measure_shouldRecordPhasesAndResources() {
+		GenerationReport report = new GenerationReport();
+
+		String result = report.measure(GenerationReport.EXTRACTION, "/api/first", () -> {
+			report.measure(GenerationReport.TYPE_INTERPRETATION, null, () -> busyWork(10));
+			return "first";
+		});
+		report.measure(GenerationReport.EXTRACTION, "/api/second", () -> busyWork(1));
+		report.measure(GenerationReport.WRITE, "/api/first", () -> busyWork(1));
+
+		assertThat(result, is("first"));
+		Map<String, Stats> phases = report.getPhases();
+		assertThat(phases.keySet(), contains(GenerationReport.TYPE_INTERPRETATION, GenerationReport.EXTRACTION, GenerationReport.WRITE));
+		assertThat(phases.get(GenerationReport.EXTRACTION).getCount(), is(2L));
+		assertThat(phases.get(GenerationReport.EXTRACTION).getWallNanos(),
+				greaterThanOrEqualTo(phases.get(GenerationReport.TYPE_INTERPRETATION).getWallNanos()));
+
+		Map<String, Stats> slowest = report.getSlowestResources(1);
+		assertThat(slowest.keySet(), contains("/api/first"));
+		// extraction and write, the nested type interpretation is part of the
+		// extraction
+		assertThat(slowest.get("/api/first").getCount(), is(2L));
+		assertThat(report.getSlowestResources(5).size(), is(2));
+	}
+
+	@Test
+	public void measure_shouldMeasureReenteredPhaseOnce() {
+		GenerationReport report = new GenerationReport();
+
+		report.measure(GenerationReport.TYPE_INTERPRETATION, null,
+				() -> report.measure(GenerationReport.TYPE_INTERPRETATION, null, () -> busyWork(1)));
+
+		assertThat(report.getPhases().get(GenerationReport.TYPE_INTERPRETATION).getCount(), is(1L));
+		assertThat(report.getPhases().get(GenerationReport.TYPE_INTERPRETATION).getWallNanos(), greaterThan(0L));
+	}
+
+	@Test
+	public void measure_shouldOnlyRunActionIfDisabled() {
+		String result = GenerationReport.DISABLED.measure(GenerationReport.LOAD, "/api", () -> "loaded");
+
+		assertThat(result, is("loaded"));
+		assertThat(GenerationReport.DISABLED.getPhases().isEmpty(), is(true));
+		assertThat(GenerationReport.DISABLED.getSlowestResources(10).isEmpty(), is(true));
+	}
+
+	@Test
+	public void toJson_shouldListPhasesAndSlowestResources() throws IOException {
+		GenerationReport report = new GenerationReport();
+		report.measure(GenerationReport.rulePhase(new Object()), "/api/\"quoted\"", () -> busyWork(1));
+
+		JsonNode json = new ObjectMapper().readTree(report.toJson(10));
+
+		assertThat(json.path("phases").path("rule:Object").path("count").asLong(), is(1L));
+		assertThat(json.path("phases").path("rule:Object").has("wallNanos"), is(true));
+		assertThat(json.path("slowestResources").size(), is(1));
+		assertThat(json.path("slowestResources").path(0).asText(), is("/api/\"quoted\""));
+		assertThat(json.path("resources").path(0).path("resource").asText(), is("/api/\"quoted\""));
+		assertThat(json.path("resources").path(0).path("total").path("count").asLong(), is(1L));
+	}
+
+	@Test
+	public void toJson_shouldListUnusedTypes() throws IOException {
+		GenerationReport report = new GenerationReport();
+		assertThat(new ObjectMapper().readTree(report.toJson(10)).path("unusedTypes").size(), is(0));
+
+		report.recordUnusedTypes(Arrays.asList("Legacy", "Draft"));
+		GenerationReport.DISABLED.recordUnusedTypes(Arrays.asList("Legacy"));
+
+		assertThat(report.getUnusedTypes(), contains("Legacy", "Draft"));
+		JsonNode unusedTypes = new ObjectMapper().readTree(report.toJson(10)).path("unusedTypes");
+		assertThat(unusedTypes.size(), is(2));
+		assertThat(unusedTypes.path(0).asText(), is("Legacy"));
+		assertThat(unusedTypes.path(1).asText(), is("Draft"));
+		assertThat(GenerationReport.DISABLED.getUnusedTypes().isEmpty(), is(true));
+	}
+
+	private static long busyWork(int millis) {
+		long end = System.nanoTime() + millis * 1_000_000L;
+		long iterations = 0;
+		while (System.nanoTime() < end) {
+			iterations++;
+		}
+		return iterations;
+	}
+}
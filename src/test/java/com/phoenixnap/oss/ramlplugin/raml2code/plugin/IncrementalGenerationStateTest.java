@@ -0,0 +1,85 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since 2.1.0
+ */
+public class IncrementalGenerationStateTest {
+
+	private static final String CONTROLLER = "com/gen/test/BaseController.java";
+	private static final String MODEL = "com/gen/test/model/Base.java";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File rootDir;
+	private File stateFile;
+
+	@Before
+	public void generatePreviousRun() throws IOException {
+		rootDir = folder.newFolder("generated");
+		stateFile = new File(folder.getRoot(), "state/test.state");
+		createFile(CONTROLLER);
+		createFile(MODEL);
+
+		IncrementalGenerationState state = IncrementalGenerationState.load(stateFile, "config");
+		state.recordResource("Base /base", "resourceHash", Collections.singletonList(CONTROLLER));
+		state.recordClass(MODEL, "classHash");
+		state.save();
+	}
+
+	@Test
+	public void keepIfUnchanged_shouldKeepUnchangedOutputs() throws IOException {
+		IncrementalGenerationState state = IncrementalGenerationState.load(stateFile, "config");
+
+		assertThat(state.keepResourceIfUnchanged("Base /base", "resourceHash", rootDir), is(true));
+		assertThat(state.keepClassIfUnchanged(MODEL, "classHash", rootDir), is(true));
+		assertThat(state.deleteRemovedOutputs(rootDir), is(0));
+	}
+
+	@Test
+	public void keepIfUnchanged_shouldRegenerateChangedOrMissingOutputs() throws IOException {
+		IncrementalGenerationState state = IncrementalGenerationState.load(stateFile, "config");
+		assertThat(state.keepResourceIfUnchanged("Base /base", "otherHash", rootDir), is(false));
+
+		new File(rootDir, MODEL).delete();
+		assertThat(state.keepClassIfUnchanged(MODEL, "classHash", rootDir), is(false));
+	}
+
+	@Test
+	public void keepIfUnchanged_shouldRegenerateEverythingWhenConfigurationChanges() throws IOException {
+		IncrementalGenerationState state = IncrementalGenerationState.load(stateFile, "otherConfig");
+
+		assertThat(state.keepResourceIfUnchanged("Base /base", "resourceHash", rootDir), is(false));
+		assertThat(state.keepClassIfUnchanged(MODEL, "classHash", rootDir), is(false));
+	}
+
+	@Test
+	public void deleteRemovedOutputs_shouldDeleteFilesNotGeneratedAnymore() throws IOException {
+		IncrementalGenerationState state = IncrementalGenerationState.load(stateFile, "config");
+		state.recordResource("Base /base", "otherHash", Arrays.asList("com/gen/test/BaseControllerDecorator.java"));
+
+		assertThat(state.deleteRemovedOutputs(rootDir), is(equalTo(2)));
+		assertThat(new File(rootDir, CONTROLLER).exists(), is(false));
+		assertThat(new File(rootDir, MODEL).exists(), is(false));
+	}
+
+	private void createFile(String path) throws IOException {
+		File file = new File(rootDir, path);
+		file.getParentFile().mkdirs();
+		file.createNewFile();
+	}
+}
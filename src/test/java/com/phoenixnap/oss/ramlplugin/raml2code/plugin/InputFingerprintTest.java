@@ -0,0 +1,119 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+
+/**
+ * @since 2.1.0
+ */
+public class InputFingerprintTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File fingerprintFile;
+	private List<File> ramlFiles;
+	private File schemaDirectory;
+	private Map<String, String> parameters = Collections.singletonMap("basePackage", "com.gen.test");
+
+	@Before
+	public void createRaml() throws IOException {
+		fingerprintFile = new File(folder.getRoot(), "build/api.fingerprint");
+		ramlFiles = Arrays.asList(write("api.raml", "#%RAML 1.0\ntitle: test\nuses:\n  lib: libraries/lib.raml\n"),
+				write("libraries/lib.raml", "#%RAML 1.0 Library\ntypes:\n  Song: !include ../types/song.raml\n"),
+				write("types/song.raml", "type: object\nproperties:\n  id: string\n"));
+		write("unrelated.raml", "#%RAML 1.0\ntitle: unrelated\n");
+		schemaDirectory = folder.newFolder("schemas");
+		write("schemas/song.json", "{ \"type\": \"object\" }");
+	}
+
+	@Test
+	public void computeConfiguration_shouldBeStableForSameInputs() throws IOException {
+		assertThat(InputFingerprint.computeConfiguration(schemaDirectory, parameters),
+				equalTo(InputFingerprint.computeConfiguration(schemaDirectory, parameters)));
+	}
+
+	@Test
+	public void computeConfiguration_shouldChangeWhenSchemaOrParameterChanges() throws IOException {
+		String before = InputFingerprint.computeConfiguration(schemaDirectory, parameters);
+
+		assertThat(InputFingerprint.computeConfiguration(schemaDirectory, Collections.singletonMap("basePackage", "com.gen.other")),
+				not(equalTo(before)));
+
+		write("schemas/song.json", "{ \"type\": \"string\" }");
+		assertThat(InputFingerprint.computeConfiguration(schemaDirectory, parameters), not(equalTo(before)));
+	}
+
+	@Test
+	public void matches_shouldDetectChangedRamlFiles() throws IOException {
+		String configuration = InputFingerprint.computeConfiguration(schemaDirectory, parameters);
+		InputFingerprint.write(fingerprintFile, configuration, ramlFiles, new SchemaResolver(null));
+
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(true));
+
+		write("unrelated.raml", "#%RAML 1.0\ntitle: changed\n");
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(true));
+
+		write("types/song.raml", "type: object\nproperties:\n  id: integer\n");
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(false));
+	}
+
+	@Test
+	public void matches_shouldDetectDeletedRamlFiles() throws IOException {
+		String configuration = InputFingerprint.computeConfiguration(schemaDirectory, parameters);
+		InputFingerprint.write(fingerprintFile, configuration, ramlFiles, new SchemaResolver(null));
+
+		Files.delete(ramlFiles.get(2).toPath());
+
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(false));
+	}
+
+	@Test
+	public void matches_shouldDetectChangedConfiguration() throws IOException {
+		String configuration = InputFingerprint.computeConfiguration(schemaDirectory, parameters);
+		InputFingerprint.write(fingerprintFile, configuration, ramlFiles, new SchemaResolver(null));
+
+		String otherConfiguration = InputFingerprint.computeConfiguration(schemaDirectory,
+				Collections.singletonMap("basePackage", "com.gen.other"));
+		assertThat(InputFingerprint.matches(fingerprintFile, otherConfiguration, new SchemaResolver(null)), is(false));
+	}
+
+	@Test
+	public void matches_shouldDetectChangedSchemas() throws IOException {
+		String configuration = InputFingerprint.computeConfiguration(schemaDirectory, parameters);
+		SchemaResolver schemaResolver = new SchemaResolver(Collections.singletonList(schemaDirectory));
+		schemaResolver.getDocument(URI.create("classpath:/song.json"));
+		InputFingerprint.write(fingerprintFile, configuration, ramlFiles, schemaResolver);
+
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(true));
+
+		write("schemas/song.json", "{ \"type\": \"string\" }");
+		assertThat(InputFingerprint.matches(fingerprintFile, configuration, new SchemaResolver(null)), is(false));
+	}
+
+	private File write(String path, String content) throws IOException {
+		File file = new File(folder.getRoot(), path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,61 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+
+/**
+ * @since 2.1.0
+ */
+public class RecordingResourceLoaderTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void loadRamlFromFile_shouldRecordLoadedFiles() throws IOException {
+		File ramlFile = write("api.raml", "#%RAML 1.0\ntitle: test\nuses:\n  lib: libraries/lib.raml\n/songs:\n  get:\n    responses:\n"
+				+ "      200:\n        body:\n          application/json:\n            type: lib.Song\n");
+		File library = write("libraries/lib.raml", "#%RAML 1.0 Library\nuses:\n  common: common.raml\ntypes:\n"
+				+ "  Song:\n    type: object\n    properties:\n      id: common.Id\n    example: !include examples/song.json\n");
+		File commonLibrary = write("libraries/common.raml", "#%RAML 1.0 Library\ntypes:\n  Id: string\n");
+		File example = write("libraries/examples/song.json", "{ \"id\": \"1\" }");
+		write("unrelated.raml", "#%RAML 1.0\ntitle: unrelated\n");
+		RecordingResourceLoader resourceLoader = new RecordingResourceLoader(folder.getRoot());
+
+		assertThat(RamlLoader.loadRamlFromFile(ramlFile, resourceLoader), is(notNullValue()));
+
+		assertThat(resourceLoader.getLoadedFiles(), contains(ramlFile, commonLibrary, example, library));
+		assertThat(resourceLoader.hasUntrackedResources(), is(false));
+	}
+
+	@Test
+	public void loadRamlFromFile_shouldDetectResourcesOutsideOfFiles() throws IOException {
+		File ramlFile = write("api.raml", "#%RAML 1.0\ntitle: test\ntypes:\n  B: !include schemas/B.json\n");
+		RecordingResourceLoader resourceLoader = new RecordingResourceLoader(folder.getRoot());
+
+		assertThat(RamlLoader.loadRamlFromFile(ramlFile, resourceLoader), is(notNullValue()));
+
+		assertThat(resourceLoader.getLoadedFiles(), contains(ramlFile));
+		assertThat(resourceLoader.hasUntrackedResources(), is(true));
+	}
+
+	private File write(String path, String content) throws IOException {
+		File file = new File(folder.getRoot(), path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
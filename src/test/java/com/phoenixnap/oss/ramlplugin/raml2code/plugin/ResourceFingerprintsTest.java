@@ -0,0 +1,104 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.CodeModelHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.SchemaResolver;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.TypeDependencyGraph;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+/**
+ * @since 2.1.0
+ */
+public class ResourceFingerprintsTest extends AbstractRuleTestBase {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void getDependencyHash_shouldBeStableAcrossExtractions() {
+		ApiResourceMetadata controller = getControllerMetadata();
+		JCodeModel otherCodeModel = new JCodeModel();
+		ApiResourceMetadata otherController = defaultRamlParser.extractControllers(otherCodeModel, RAML).iterator().next();
+
+		assertThat(createFingerprints(otherCodeModel).getDependencyHash(otherController),
+				equalTo(createFingerprints(jCodeModel).getDependencyHash(controller)));
+	}
+
+	@Test
+	public void getDependencyHash_shouldChangeWhenReferencedClassChanges() {
+		ApiResourceMetadata controller = getControllerMetadata();
+		String hash = createFingerprints(jCodeModel).getDependencyHash(controller);
+
+		JDefinedClass responseType = (JDefinedClass) CodeModelHelper.findFirstClassBySimpleName(jCodeModel, "NamedResponseType");
+		responseType.field(JMod.PRIVATE, String.class, "addedField");
+
+		assertThat(createFingerprints(jCodeModel).getDependencyHash(controller), not(equalTo(hash)));
+	}
+
+	@Test
+	public void getDependencyHash_shouldChangeWhenReferencedSchemaDocumentChanges() throws IOException {
+		File schemaDirectory = folder.getRoot();
+		write("artist.json", "{ \"type\": \"object\", \"properties\": { \"name\": { \"type\": \"string\" } } }");
+		File ramlFile = write("api.raml",
+				"#%RAML 1.0\ntitle: test\n/songs:\n  get:\n    responses:\n      200:\n        body:\n          application/json:\n"
+						+ "            type: |\n              { \"type\": \"object\", \"properties\": { \"artist\": { \"$ref\": \"artist.json\" } } }\n");
+		RamlRoot document = RamlLoader.loadRamlFromFile(ramlFile.toURI().toString());
+		JCodeModel codeModel = new JCodeModel();
+		GenerationContext context = GenerationContext.builder()
+				.withSchemaResolver(new SchemaResolver(Collections.singletonList(schemaDirectory))).build();
+		AtomicReference<ApiResourceMetadata> controller = new AtomicReference<>();
+		Config.runWithContext(context, () -> controller.set(defaultRamlParser.extractControllers(codeModel, document).iterator().next()));
+		TypeDependencyGraph typeGraph = TypeDependencyGraph.build(document);
+		String hash = new ResourceFingerprints(codeModel, typeGraph, new SchemaResolver(Collections.singletonList(schemaDirectory)), null)
+				.getDependencyHash(controller.get());
+
+		write("artist.json", "{ \"type\": \"object\", \"properties\": { \"name\": { \"type\": \"integer\" } } }");
+
+		assertThat(new ResourceFingerprints(codeModel, typeGraph, new SchemaResolver(Collections.singletonList(schemaDirectory)), null)
+				.getDependencyHash(controller.get()), not(equalTo(hash)));
+	}
+
+	@Test
+	public void getResourceHash_shouldChangeWhenRenderedControllerChanges() throws JClassAlreadyExistsException {
+		String dependencyHash = createFingerprints(jCodeModel).getDependencyHash(getControllerMetadata());
+		JCodeModel controllerCodeModel = new JCodeModel();
+		JDefinedClass controller = controllerCodeModel._class("com.gen.test.SongController");
+		String hash = ResourceFingerprints.getResourceHash(dependencyHash, ChangedFilesCodeWriter.render(controllerCodeModel));
+
+		controller.method(JMod.PUBLIC, void.class, "getSongs");
+
+		assertThat(ResourceFingerprints.getResourceHash(dependencyHash, ChangedFilesCodeWriter.render(controllerCodeModel)),
+				not(equalTo(hash)));
+	}
+
+	private static ResourceFingerprints createFingerprints(JCodeModel codeModel) {
+		return new ResourceFingerprints(codeModel, TypeDependencyGraph.build(RAML), new SchemaResolver(null), null);
+	}
+
+	private File write(String path, String content) throws IOException {
+		File file = new File(folder.getRoot(), path);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
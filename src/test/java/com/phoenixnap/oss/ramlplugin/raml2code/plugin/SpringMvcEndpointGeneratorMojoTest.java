@@ -0,0 +1,182 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.plugin;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.SpringMvcEndpointGeneratorMojo.MethodsNamingLogic;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.SyntheticRamlGenerator;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4ControllerStubRule;
+
+/**
+ * Runs the whole generation of the plugin on generated specs and compares the
+ * files written with different settings
+ *
+ * @since 2.1.0
+ */
+public class SpringMvcEndpointGeneratorMojoTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void execute_shouldWriteSameFilesInParallel() throws Exception {
+		File baseDir = folder.newFolder();
+		writeSpec(baseDir);
+
+		SpringMvcEndpointGeneratorMojo serial = createMojo(baseDir, "serial");
+		serial.execute();
+
+		SpringMvcEndpointGeneratorMojo parallel = createMojo(baseDir, "parallel");
+		parallel.parallelEmission = true;
+		parallel.emissionThreads = 4;
+		parallel.execute();
+
+		Map<String, String> serialFiles = readFiles(new File(baseDir, "serial"));
+		assertThat(serialFiles.size(), greaterThan(12));
+		assertThat(readFiles(new File(baseDir, "parallel")), equalTo(serialFiles));
+	}
+
+	@Test
+	public void execute_shouldWriteSameFilesWhenStreaming() throws Exception {
+		File baseDir = folder.newFolder();
+		writeSpec(baseDir);
+
+		createMojo(baseDir, "inMemory").execute();
+
+		SpringMvcEndpointGeneratorMojo streaming = createMojo(baseDir, "streaming");
+		streaming.streaming = true;
+		streaming.execute();
+
+		Map<String, String> files = readFiles(new File(baseDir, "inMemory"));
+		assertThat(files.size(), greaterThan(12));
+		assertThat(readFiles(new File(baseDir, "streaming")), equalTo(files));
+	}
+
+	@Test
+	public void execute_shouldSkipUntilLoadedRamlFileChanges() throws Exception {
+		File baseDir = folder.newFolder();
+		writeSpec(baseDir);
+		SpringMvcEndpointGeneratorMojo mojo = createMojo(baseDir, "incremental");
+		mojo.incremental = true;
+		mojo.execute();
+		File generatedFile = getFirstFile(new File(baseDir, "incremental"));
+		Files.delete(generatedFile.toPath());
+
+		mojo.execute();
+		assertThat(generatedFile.exists(), is(false));
+
+		changeLibrary(baseDir);
+		mojo.execute();
+		assertThat(generatedFile.exists(), is(true));
+	}
+
+	@Test
+	public void execute_shouldNotLeaveFingerprintWhenWriteFails() throws Exception {
+		File baseDir = folder.newFolder();
+		writeSpec(baseDir);
+		SpringMvcEndpointGeneratorMojo mojo = createMojo(baseDir, "incremental");
+		mojo.incremental = true;
+		mojo.execute();
+		File buildStateDir = new File(baseDir, "target/springmvc-raml-plugin");
+		assertThat(buildStateDir.list().length, is(2));
+
+		File generatedFile = getFirstFile(new File(baseDir, "incremental"));
+		Files.delete(generatedFile.toPath());
+		// a non empty directory can't be replaced by the generated file
+		assertThat(new File(generatedFile, "file").mkdirs(), is(true));
+		changeLibrary(baseDir);
+
+		try {
+			mojo.execute();
+			fail("The generated file can't be written");
+		} catch (MojoExecutionException e) {
+			assertThat(buildStateDir.list().length, is(0));
+		}
+	}
+
+	/**
+	 * Creates a mojo configured like the defaults of the plugin, without the
+	 * project and plugin descriptor of a Maven build
+	 */
+	static SpringMvcEndpointGeneratorMojo createMojo(File baseDir, String outputRelativePath) {
+		SpringMvcEndpointGeneratorMojo mojo = new SpringMvcEndpointGeneratorMojo();
+		mojo.project = new MavenProject();
+		mojo.project.setFile(new File(baseDir, "pom.xml"));
+		mojo.ramlPath = "src/main/resources/" + SyntheticRamlGenerator.ROOT_FILE;
+		mojo.pomPath = "NA";
+		mojo.outputRelativePath = outputRelativePath;
+		mojo.addTimestampFolder = false;
+		mojo.basePackage = "com.gen.test";
+		mojo.schemaLocation = "";
+		mojo.generateUnreferencedObjects = false;
+		mojo.seperateMethodsByContentType = false;
+		mojo.useJackson1xCompatibility = false;
+		mojo.rule = Spring4ControllerStubRule.class.getName();
+		mojo.injectHttpHeadersParameter = false;
+		mojo.resourceDepthInClassNames = 1;
+		mojo.resourceTopLevelInClassNames = 0;
+		mojo.reverseOrderInClassNames = false;
+		mojo.methodsNamingLogic = MethodsNamingLogic.OBJECTS;
+		mojo.injectHttpRequestParameter = false;
+		mojo.generatedAnnotation = false;
+		mojo.parallelEmission = false;
+		mojo.emissionThreads = 0;
+		mojo.incremental = false;
+		// serialVersionUIDs are random otherwise
+		mojo.reproducibleOutput = true;
+		mojo.generationReport = false;
+		mojo.reportSlowestResources = 10;
+		mojo.streaming = false;
+		mojo.unifiedSchemaGeneration = false;
+		return mojo;
+	}
+
+	private static void writeSpec(File baseDir) throws IOException {
+		new SyntheticRamlGenerator(1).withResources(12).withTypes(12).withDepth(2).withInheritanceDepth(2).withUnionWidth(3)
+				.withLibraries(2).withJsonSchemaPercentage(20).writeTo(new File(baseDir, "src/main/resources"));
+	}
+
+	private static void changeLibrary(File baseDir) throws IOException {
+		Files.write(new File(baseDir, "src/main/resources/libraries/common.raml").toPath(), "# changed\n".getBytes(StandardCharsets.UTF_8),
+				StandardOpenOption.APPEND);
+	}
+
+	private static File getFirstFile(File directory) throws IOException {
+		return new File(directory, readFiles(directory).keySet().iterator().next());
+	}
+
+	/**
+	 * Reads all the files below a directory
+	 *
+	 * @return the bytes of the files by their path relative to the directory
+	 */
+	static Map<String, String> readFiles(File directory) throws IOException {
+		Map<String, String> files = new TreeMap<>();
+		Path root = directory.toPath();
+		try (Stream<Path> paths = Files.walk(root)) {
+			for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+				files.put(root.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1));
+			}
+		}
+		return files;
+	}
+}
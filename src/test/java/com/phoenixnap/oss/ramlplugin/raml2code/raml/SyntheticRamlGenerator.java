@@ -0,0 +1,309 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.raml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates RAML 1.0 specs of arbitrary size for scale tests and benchmarks.
+ * The same seed and settings always generate the same spec. <p> Types are
+ * generated in families: a base type with a discriminator and a chain of
+ * subtypes as deep as the inheritance depth. With libraries, the families are
+ * spread over the libraries used by the root file, which all use a common
+ * library. Each top level resource returns the most derived type of a family
+ * and is nested as deep as the configured depth.
+ *
+ * @since 2.1.0
+ */
+public class SyntheticRamlGenerator {
+
+	public static final String ROOT_FILE = "api.raml";
+
+	private static final String[] SCALAR_TYPES = { "string", "integer", "number", "boolean", "datetime", "date-only", "string[]" };
+
+	private static final String[] JSON_SCHEMA_TYPES = { "string", "integer", "number", "boolean" };
+
+	private final long seed;
+
+	private int resources = 10;
+	private int depth = 1;
+	private int types = 10;
+	private int inheritanceDepth = 1;
+	private int unionWidth = 2;
+	private int libraries = 0;
+	private int jsonSchemaPercentage = 0;
+
+	/**
+	 * @param seed
+	 *            The seed of the random choices
+	 */
+	public SyntheticRamlGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @param resources
+	 *            The number of top level resources, each becomes a controller
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withResources(int resources) {
+		this.resources = resources;
+		return this;
+	}
+
+	/**
+	 * @param depth
+	 *            The number of nested id levels below each top level resource
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withDepth(int depth) {
+		this.depth = depth;
+		return this;
+	}
+
+	/**
+	 * @param types
+	 *            The number of object types, unions not included
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withTypes(int types) {
+		this.types = types;
+		return this;
+	}
+
+	/**
+	 * @param inheritanceDepth
+	 *            The number of subtypes below each discriminated base type
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withInheritanceDepth(int inheritanceDepth) {
+		this.inheritanceDepth = inheritanceDepth;
+		return this;
+	}
+
+	/**
+	 * @param unionWidth
+	 *            The number of members of the union generated for each type
+	 *            family, less than 2 disables unions
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withUnionWidth(int unionWidth) {
+		this.unionWidth = unionWidth;
+		return this;
+	}
+
+	/**
+	 * @param libraries
+	 *            The number of libraries used by the root file, 0 declares all
+	 *            types in the root file
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withLibraries(int libraries) {
+		this.libraries = libraries;
+		return this;
+	}
+
+	/**
+	 * @param jsonSchemaPercentage
+	 *            The percentage of top level resources which use JSON schema
+	 *            bodies instead of RAML types
+	 * @return this generator
+	 */
+	public SyntheticRamlGenerator withJsonSchemaPercentage(int jsonSchemaPercentage) {
+		this.jsonSchemaPercentage = jsonSchemaPercentage;
+		return this;
+	}
+
+	/**
+	 * Generates the spec
+	 *
+	 * @return the content of the generated files by their path relative to the
+	 *         root file, the root file first
+	 */
+	public Map<String, String> generate() {
+		Random random = new Random(seed);
+		int familySize = inheritanceDepth + 1;
+		int families = Math.max(1, (types + familySize - 1) / familySize);
+
+		StringBuilder root = new StringBuilder(
+				"#%RAML 1.0\ntitle: Synthetic API\nversion: v1\nbaseUri: /api\nmediaType: application/json\n");
+		List<StringBuilder> libraryFiles = new ArrayList<>();
+		if (libraries > 0) {
+			root.append("uses:\n");
+			for (int i = 0; i < libraries; i++) {
+				root.append("  lib").append(i).append(": libraries/lib").append(i).append(".raml\n");
+				libraryFiles.add(new StringBuilder("#%RAML 1.0 Library\nuses:\n  common: common.raml\ntypes:\n"));
+			}
+		}
+
+		// the types of each document, used to pick union members and
+		// references without crossing documents
+		StringBuilder rootTypes = new StringBuilder();
+		Map<Integer, List<String>> documentTypes = new LinkedHashMap<>();
+		String[] familyTypes = new String[families];
+		String[] familyUnions = new String[families];
+		for (int family = 0; family < families; family++) {
+			int document = libraries > 0 ? family % libraries : -1;
+			StringBuilder target = document >= 0 ? libraryFiles.get(document) : rootTypes;
+			List<String> typesInDocument = documentTypes.computeIfAbsent(document, key -> new ArrayList<>());
+			String prefix = document >= 0 ? "lib" + document + "." : "";
+
+			String baseType = "Entity" + family;
+			target.append("  ").append(baseType).append(":\n    type: object\n    discriminator: kind\n    properties:\n");
+			target.append("      kind: string\n      id: integer\n");
+			appendProperties(target, "field", random);
+			if (libraries > 0) {
+				target.append("      audit?: common.Audit\n");
+			}
+			if (!typesInDocument.isEmpty() && random.nextBoolean()) {
+				target.append("      related?: ").append(typesInDocument.get(random.nextInt(typesInDocument.size()))).append("\n");
+			}
+			typesInDocument.add(baseType);
+
+			String parentType = baseType;
+			for (int level = 1; level <= inheritanceDepth; level++) {
+				String subType = baseType + "Level" + level;
+				target.append("  ").append(subType).append(":\n    type: ").append(parentType).append("\n    properties:\n");
+				appendProperties(target, "level" + level + "Field", random);
+				typesInDocument.add(subType);
+				parentType = subType;
+			}
+			familyTypes[family] = prefix + parentType;
+
+			if (unionWidth > 1 && typesInDocument.size() > 1) {
+				List<String> members = new ArrayList<>(typesInDocument);
+				Collections.shuffle(members, random);
+				String unionType = baseType + "Choice";
+				target.append("  ").append(unionType).append(":\n    type: ")
+						.append(String.join(" | ", members.subList(0, Math.min(unionWidth, members.size())))).append("\n");
+				familyUnions[family] = prefix + unionType;
+			}
+		}
+		if (rootTypes.length() > 0) {
+			root.append("types:\n").append(rootTypes);
+		}
+
+		for (int resource = 0; resource < resources; resource++) {
+			int family = resource % families;
+			boolean jsonSchema = random.nextInt(100) < jsonSchemaPercentage;
+			String type = jsonSchema ? null : familyTypes[family];
+			String singleType = jsonSchema || familyUnions[family] == null ? type : familyUnions[family];
+			appendResource(root, resource, type, singleType, random);
+		}
+
+		Map<String, String> files = new LinkedHashMap<>();
+		files.put(ROOT_FILE, root.toString());
+		for (int i = 0; i < libraryFiles.size(); i++) {
+			files.put("libraries/lib" + i + ".raml", libraryFiles.get(i).toString());
+		}
+		if (libraries > 0) {
+			files.put("libraries/common.raml", "#%RAML 1.0 Library\ntypes:\n  Audit:\n    type: object\n    properties:\n"
+					+ "      createdBy: string\n      created: datetime\n      modified?: datetime\n");
+		}
+		return files;
+	}
+
+	/**
+	 * Writes the spec
+	 *
+	 * @param directory
+	 *            The directory to write to
+	 * @return the root RAML file
+	 * @throws IOException
+	 *             if a file can't be written
+	 */
+	public File writeTo(File directory) throws IOException {
+		for (Map.Entry<String, String> file : generate().entrySet()) {
+			File target = new File(directory, file.getKey());
+			Files.createDirectories(target.getParentFile().toPath());
+			Files.write(target.toPath(), file.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+		return new File(directory, ROOT_FILE);
+	}
+
+	private static void appendProperties(StringBuilder target, String prefix, Random random) {
+		int properties = 2 + random.nextInt(5);
+		for (int i = 0; i < properties; i++) {
+			String name = prefix + i + (random.nextInt(4) == 0 ? "?" : "");
+			target.append("      ").append(name).append(": ").append(SCALAR_TYPES[random.nextInt(SCALAR_TYPES.length)]).append("\n");
+		}
+	}
+
+	private void appendResource(StringBuilder root, int resource, String type, String singleType, Random random) {
+		String collectionBody = type != null ? "type: " + type + "[]" : "type: |\n" + jsonSchema(true, random);
+		String body = type != null ? "type: " + type : "type: |\n" + jsonSchema(false, random);
+		String singleBody = singleType != null ? "type: " + singleType : body;
+
+		root.append("/resource").append(resource).append(":\n");
+		root.append("  description: Resource ").append(resource).append("\n");
+		String indent = "  ";
+		root.append(indent).append("get:\n");
+		root.append(indent).append("  queryParameters:\n");
+		root.append(indent).append("    page?: integer\n");
+		root.append(indent).append("    size?: integer\n");
+		appendResponse(root, indent + "  ", "200", collectionBody);
+		root.append(indent).append("post:\n");
+		appendBody(root, indent + "  ", body);
+		appendResponse(root, indent + "  ", "201", body);
+
+		for (int level = 1; level <= depth; level++) {
+			String parameter = "resource" + resource + "Id" + level;
+			root.append(indent).append("/{").append(parameter).append("}:\n");
+			indent += "  ";
+			root.append(indent).append("uriParameters:\n");
+			root.append(indent).append("  ").append(parameter).append(": integer\n");
+			root.append(indent).append("get:\n");
+			appendResponse(root, indent + "  ", "200", singleBody);
+			root.append(indent).append("put:\n");
+			appendBody(root, indent + "  ", body);
+			appendResponse(root, indent + "  ", "200", body);
+			root.append(indent).append("delete:\n");
+			root.append(indent).append("  description: Deletes level ").append(level).append("\n");
+			if (level < depth) {
+				root.append(indent).append("/items").append(level).append(":\n");
+				indent += "  ";
+				root.append(indent).append("get:\n");
+				appendResponse(root, indent + "  ", "200", collectionBody);
+			}
+		}
+	}
+
+	private static void appendBody(StringBuilder root, String indent, String body) {
+		root.append(indent).append("body:\n");
+		root.append(indent).append("  application/json:\n");
+		root.append(indent(body, indent + "    "));
+	}
+
+	private static void appendResponse(StringBuilder root, String indent, String status, String body) {
+		root.append(indent).append("responses:\n");
+		root.append(indent).append("  ").append(status).append(":\n");
+		appendBody(root, indent + "    ", body);
+	}
+
+	private static String indent(String text, String indent) {
+		StringBuilder indented = new StringBuilder();
+		for (String line : text.split("\n")) {
+			indented.append(indent).append(line).append("\n");
+		}
+		return indented.toString();
+	}
+
+	private static String jsonSchema(boolean array, Random random) {
+		StringBuilder properties = new StringBuilder("\"id\": { \"type\": \"integer\" }");
+		int count = 2 + random.nextInt(4);
+		for (int i = 0; i < count; i++) {
+			properties.append(", \"schemaField").append(i).append("\": { \"type\": \"")
+					.append(JSON_SCHEMA_TYPES[random.nextInt(JSON_SCHEMA_TYPES.length)]).append("\" }");
+		}
+		String object = "{ \"type\": \"object\", \"properties\": { " + properties + " } }";
+		String schema = array ? "{ \"type\": \"array\", \"items\": " + object + " }" : object;
+		return "  {\n    \"$schema\": \"http://json-schema.org/draft-04/schema#\",\n    " + schema.substring(2) + "\n";
+	}
+}
@@ -0,0 +1,123 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.raml;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.data.ApiResourceMetadata;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.Spring4ControllerDecoratorRule;
+import com.sun.codemodel.JCodeModel;
+
+/**
+ * Tests for {@link SyntheticRamlGenerator} and a scaling test of the generation
+ * pipeline on the generated specs. The test only compares a spec with a four
+ * times larger one, the absolute times are measured by the benchmarks of the
+ * benchmark profile. Wall clock times are too noisy for every build, so the
+ * scaling test only runs with -DscalingTests=true.
+ *
+ * @since 2.1.0
+ */
+public class SyntheticRamlGeneratorTest extends AbstractRuleTestBase {
+
+	private static final int SMALL_SPEC = 25;
+
+	private static final int LARGE_SPEC = 100;
+
+	/**
+	 * How much slower than linear the large spec may be, leaves room for
+	 * measurement noise but catches quadratic growth
+	 */
+	private static final double LINEAR_TOLERANCE = 2.5;
+
+	private static final int WARMUP_ITERATIONS = 1;
+
+	private static final int MEASURED_ITERATIONS = 3;
+
+	private static final String SCALING_TESTS_PROPERTY = "scalingTests";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void generate_shouldBeDeterministicForSeed() {
+		assertThat(createGenerator(1, 20).generate(), equalTo(createGenerator(1, 20).generate()));
+		assertThat(createGenerator(1, 20).generate(), not(equalTo(createGenerator(2, 20).generate())));
+	}
+
+	@Test
+	public void generate_shouldCreateLibraries() {
+		assertThat(createGenerator(1, 20).generate(), hasKey("libraries/lib1.raml"));
+		assertThat(createGenerator(1, 20).generate(), hasKey("libraries/common.raml"));
+	}
+
+	@Test
+	public void writeTo_shouldCreateLoadableSpec() throws IOException {
+		File ramlFile = createGenerator(1, 20).writeTo(temporaryFolder.newFolder());
+
+		RamlRoot raml = RamlLoader.loadRamlFromFile(ramlFile.toURI().toString());
+		assertThat(raml, is(notNullValue()));
+		Set<ApiResourceMetadata> controllers = defaultRamlParser.extractControllers(jCodeModel, raml);
+		assertThat(controllers.size(), equalTo(20));
+	}
+
+	@Test
+	public void generation_shouldScaleLinearlyWithSpecSize() throws IOException {
+		Assume.assumeTrue("Scaling tests are enabled with -D" + SCALING_TESTS_PROPERTY + "=true",
+				Boolean.getBoolean(SCALING_TESTS_PROPERTY));
+		String smallSpec = createGenerator(1, SMALL_SPEC).writeTo(temporaryFolder.newFolder()).toURI().toString();
+		String largeSpec = createGenerator(1, LARGE_SPEC).writeTo(temporaryFolder.newFolder()).toURI().toString();
+
+		long small = measure(smallSpec);
+		long large = measure(largeSpec);
+
+		double sizeRatio = (double) LARGE_SPEC / SMALL_SPEC;
+		logger.info("Generation - {} resources: {}ms, {} resources: {}ms, ratio: {} (size ratio {})", SMALL_SPEC, small / 1_000_000,
+				LARGE_SPEC, large / 1_000_000, String.format("%.2f", (double) large / small), sizeRatio);
+		assertThat((double) large, lessThan(small * sizeRatio * LINEAR_TOLERANCE));
+	}
+
+	private static SyntheticRamlGenerator createGenerator(long seed, int resources) {
+		return new SyntheticRamlGenerator(seed).withResources(resources).withTypes(resources).withDepth(2).withInheritanceDepth(2)
+				.withUnionWidth(3).withLibraries(2).withJsonSchemaPercentage(10);
+	}
+
+	/**
+	 * @return the best time in nanoseconds to load the spec, extract its
+	 *         controllers and apply the decorator rule to them
+	 */
+	private long measure(String ramlUrl) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			generate(ramlUrl);
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			generate(ramlUrl);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private void generate(String ramlUrl) {
+		JCodeModel codeModel = new JCodeModel();
+		Spring4ControllerDecoratorRule rule = new Spring4ControllerDecoratorRule();
+		for (ApiResourceMetadata controller : defaultRamlParser.extractControllers(codeModel, RamlLoader.loadRamlFromFile(ramlUrl))) {
+			rule.apply(controller, codeModel);
+		}
+	}
+}
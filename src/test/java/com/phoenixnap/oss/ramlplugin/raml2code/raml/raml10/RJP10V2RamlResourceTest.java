@@ -0,0 +1,72 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.raml.raml10;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlActionType;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlResource;
+import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
+
+/**
+ * @since 2.1.0
+ */
+public class RJP10V2RamlResourceTest extends AbstractRuleTestBase {
+
+	private static RamlResource managers;
+	private static RamlResource subresource;
+
+	@BeforeClass
+	public static void initRamlRoot() throws InvalidRamlResourceException {
+		loadRaml("raml-action-test-v10.raml");
+		managers = AbstractRuleTestBase.RAML.getResource("/managers");
+		subresource = managers.getResource("/{managerId}").getResource("/subresources").getResource("/{subresourceId}");
+	}
+
+	@Test
+	public void ramlResourceShouldShareParentWrapper() {
+		RamlResource managerId = managers.getResource("/{managerId}");
+
+		assertThat(managerId.getParentResource(), is(sameInstance(managers)));
+		assertThat(subresource.getParentResource().getParentResource(), is(sameInstance(managerId)));
+		assertThat(managers.getParentResource(), is(nullValue()));
+	}
+
+	@Test
+	public void ramlResourceShouldReuseChildren() {
+		assertThat(managers.getResources(), is(sameInstance(managers.getResources())));
+		assertThat(managers.getResource("/{managerId}"), is(sameInstance(managers.getResource("/{managerId}"))));
+	}
+
+	@Test
+	public void ramlResourceShouldCacheActionsAndUriParameters() {
+		assertThat(subresource.getActions(), is(sameInstance(subresource.getActions())));
+		assertThat(subresource.getUriParameters(), is(sameInstance(subresource.getUriParameters())));
+		assertThat(subresource.getActions().get(RamlActionType.GET).getResource(), is(sameInstance(subresource)));
+	}
+
+	@Test
+	public void ramlResourceShouldReflectUri() {
+		assertThat(subresource.getUri(), equalTo("/managers/{managerId}/subresources/{subresourceId}"));
+		assertThat(subresource.getParentUri(), equalTo("/managers/{managerId}/subresources"));
+		assertThat(subresource.getResolvedUriParameters().keySet(), hasItems("managerId", "subresourceId"));
+	}
+
+	@Test
+	public void ramlResourceShouldResolveParentWhenCreatedFromAction() {
+		RamlResource fromAction = new RJP10V2RamlAction(((RJP10V2RamlAction) subresource.getAction(RamlActionType.GET)).getMethod())
+				.getResource();
+
+		assertThat(fromAction.getUri(), equalTo(subresource.getUri()));
+		assertThat(fromAction.getParentResource(), is(notNullValue()));
+		assertThat(fromAction.getParentResource(), is(sameInstance(fromAction.getParentResource())));
+	}
+}
@@ -5,6 +5,8 @@ import static com.phoenixnap.oss.ramlplugin.raml2code.SrpMatchers.mapWithSize;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anything;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
@@ -14,19 +16,30 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 import static org.hamcrest.Matchers.notNullValue;
-
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.raml.v2.api.model.v10.datamodel.ArrayTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.IntegerTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.ObjectTypeDeclaration;
 import org.raml.v2.api.model.v10.datamodel.StringTypeDeclaration;
 
 import com.phoenixnap.oss.ramlplugin.raml2code.exception.InvalidRamlResourceException;
+import com.phoenixnap.oss.ramlplugin.raml2code.helpers.RamlTypeHelper;
+import com.phoenixnap.oss.ramlplugin.raml2code.plugin.Config;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlActionType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDataType;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlDocumentationItem;
@@ -35,14 +48,22 @@ import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlResource;
 import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.AbstractRuleTestBase;
 import com.phoenixnap.oss.ramlplugin.raml2code.rules.RamlLoader;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.writer.SingleStreamCodeWriter;
 
 /**
  * @author aweisser
  */
 public class RJP10V2RamlRootTest extends AbstractRuleTestBase {
 
+	private static final int SYNTHETIC_TYPES = 25;
+
 	private static RamlRoot ramlRoot, ramlRootEmptyValues, ramlSchemaRoot;
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@BeforeClass
 	public static void initRamlRoot() throws InvalidRamlResourceException {
 		ramlRoot = RamlLoader.loadRamlFromFile(AbstractRuleTestBase.RESOURCE_BASE + "raml-root-test-v10.raml");
@@ -230,4 +251,73 @@ public class RJP10V2RamlRootTest extends AbstractRuleTestBase {
 
 	}
 
+	@Test
+	public void ramlRootShouldBuildTypesOnlyOnce() {
+		assertThat(ramlRoot.getTypes(), is(sameInstance(ramlRoot.getTypes())));
+		assertThat(ramlRoot.getType("Person"), is(sameInstance(ramlRoot.getTypes().get("Person"))));
+	}
+
+	@Test
+	public void ramlRootShouldReflectDataTypesByLibraryQualifiedName() {
+		assertThat(ramlRoot.getType("TestLib.Song"), is(sameInstance(ramlRoot.getTypes().get("Song"))));
+		assertThat(ramlRoot.getType("Test2Lib.Album"), is(notNullValue()));
+		assertThat(ramlRoot.getType("TestLib.Test2Lib.Album"), is(notNullValue()));
+		assertThat(ramlRoot.getType("TestLib.Missing"), is(nullValue()));
+		assertThat(ramlRoot.getType(null), is(nullValue()));
+	}
+
+	@Test
+	public void ramlRootShouldInterpretTypesInheritingFromRegisteredTypes() throws IOException {
+		StringBuilder raml = new StringBuilder("#%RAML 1.0\ntitle: synthetic\ntypes:\n");
+		for (int i = 0; i < SYNTHETIC_TYPES; i++) {
+			raml.append("  Type").append(i).append(":\n");
+			// short inheritance chains so every lookup of a parent hits the
+			// type registry
+			raml.append("    type: ").append(i % 10 == 0 ? "object" : "Type" + (i - 1)).append("\n");
+			raml.append("    properties:\n");
+			raml.append("      field").append(i).append(": string\n");
+		}
+		File ramlFile = temporaryFolder.newFile("synthetic-types.raml");
+		Files.write(ramlFile.toPath(), raml.toString().getBytes(StandardCharsets.UTF_8));
+		RamlRoot syntheticRoot = RamlLoader.loadRamlFromFile(ramlFile.getAbsolutePath());
+
+		JCodeModel codeModel = new JCodeModel();
+		for (RamlDataType type : syntheticRoot.getTypes().values()) {
+			RamlTypeHelper.mapTypeToPojo(codeModel, syntheticRoot, type.getType());
+		}
+
+		assertThat(syntheticRoot.getTypes(), is(mapWithSize(SYNTHETIC_TYPES)));
+		JDefinedClass lastType = codeModel._getClass(Config.getPojoPackage() + ".Type" + (SYNTHETIC_TYPES - 1));
+		assertThat(lastType, is(notNullValue()));
+		assertThat(lastType._extends().name(), is(equalTo("Type" + (SYNTHETIC_TYPES - 2))));
+	}
+
+	@Test
+	public void ramlRootShouldIndexChildTypesOfEveryLevel() throws IOException {
+		File ramlFile = temporaryFolder.newFile("hierarchy.raml");
+		Files.write(ramlFile.toPath(),
+				("#%RAML 1.0\ntitle: hierarchy\ntypes:\n"
+						+ "  Animal:\n    type: object\n    discriminator: kind\n    properties:\n      kind: string\n"
+						+ "  Dog:\n    type: Animal\n    properties:\n      owner: string\n"
+						+ "  Poodle:\n    type: Dog\n    discriminatorValue: poodle\n" + "  Cat:\n    type: Animal\n")
+								.getBytes(StandardCharsets.UTF_8));
+		RamlRoot hierarchyRoot = RamlLoader.loadRamlFromFile(ramlFile.getAbsolutePath());
+
+		assertThat(names(hierarchyRoot.getChildTypes("Animal")), containsInAnyOrder("Dog", "Cat"));
+		assertThat(names(hierarchyRoot.getChildTypes("Dog")), containsInAnyOrder("Poodle"));
+		assertThat(hierarchyRoot.getChildTypes("Poodle"), is(emptyIterable()));
+		assertThat(names(RamlTypeHelper.getSubtypes(hierarchyRoot, "Animal")), containsInAnyOrder("Dog", "Poodle", "Cat"));
+
+		JCodeModel codeModel = new JCodeModel();
+		RamlTypeHelper.mapTypeToPojo(codeModel, hierarchyRoot, hierarchyRoot.getType("Animal").getType());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codeModel.build(new SingleStreamCodeWriter(out));
+
+		assertThat(out.toString("UTF-8"), containsString("@JsonSubTypes.Type(value = Poodle.class, name = \"poodle\")"));
+	}
+
+	private static List<String> names(List<RamlDataType> dataTypes) {
+		return dataTypes.stream().map(dataType -> dataType.getType().name()).collect(Collectors.toList());
+	}
+
 }
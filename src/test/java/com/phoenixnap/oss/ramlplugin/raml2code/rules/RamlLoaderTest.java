@@ -0,0 +1,66 @@
+package com.phoenixnap.oss.ramlplugin.raml2code.rules;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.Test;
+import org.raml.v2.api.RamlModelBuilder;
+import org.raml.v2.api.RamlModelResult;
+
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.RamlRoot;
+import com.phoenixnap.oss.ramlplugin.raml2code.raml.raml10.RJP10V2RamlModelFactory;
+
+/**
+ * Tests for loading RAML files with a single parse.
+ *
+ * @since 2.1.0
+ */
+public class RamlLoaderTest extends AbstractRuleTestBase {
+
+	private static final String[] RAMLS = { "raml-interpreter-test-v10.raml", "raml-action-test-v10.raml", "raml-root-test-v10.raml",
+			"raml-root-schemas-test-v10.raml" };
+
+	@Test
+	public void loadRamlFromFile_shouldBuildSameModelAsDoubleParse() {
+		for (String raml : RAMLS) {
+			RamlRoot singleParse = RamlLoader.loadRamlFromFile(RESOURCE_BASE + raml);
+			RamlRoot doubleParse = loadRamlParsingTwice(RESOURCE_BASE + raml);
+
+			assertThat(singleParse, is(notNullValue()));
+			assertThat(singleParse.getBaseUri(), equalTo(doubleParse.getBaseUri()));
+			assertThat(singleParse.getResources().keySet(), equalTo(doubleParse.getResources().keySet()));
+			assertThat(singleParse.getTypes().keySet(), equalTo(doubleParse.getTypes().keySet()));
+		}
+	}
+
+	@Test
+	public void loadRamlFromFile_shouldParseOnlyOnce() {
+		for (String raml : RAMLS) {
+			CountingRamlModelBuilder ramlModelBuilder = new CountingRamlModelBuilder();
+
+			RamlRoot ramlRoot = RamlLoader.loadRamlFromFile(RESOURCE_BASE + raml, ramlModelBuilder);
+
+			assertThat(ramlRoot, is(notNullValue()));
+			assertThat(ramlModelBuilder.builds, equalTo(1));
+		}
+	}
+
+	private static RamlRoot loadRamlParsingTwice(String ramlFileUrl) {
+		RamlModelResult ramlModelResult = new RamlModelBuilder().buildApi(ramlFileUrl);
+		assertThat(ramlModelResult.hasErrors(), is(false));
+		return new RJP10V2RamlModelFactory().buildRamlRoot(ramlFileUrl);
+	}
+
+	private static class CountingRamlModelBuilder extends RamlModelBuilder {
+
+		private int builds = 0;
+
+		@Override
+		public RamlModelResult buildApi(String ramlLocation) {
+			builds++;
+			return super.buildApi(ramlLocation);
+		}
+	}
+}
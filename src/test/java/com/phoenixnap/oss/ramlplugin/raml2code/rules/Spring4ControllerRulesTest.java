@@ -36,6 +36,22 @@ public class Spring4ControllerRulesTest extends AbstractRuleTestBase {
 		verifyGeneratedCode("BaseControllerStubAsync");
 	}
 
+	@Test
+	public void applySpring4ControllerStubRule_shouldBeReusableAndReconfigurable() throws Exception {
+		rule = new Spring4ControllerStubRule();
+		rule.apply(getControllerMetadata(), new JCodeModel());
+		rule.apply(getControllerMetadata(), jCodeModel);
+		verifyGeneratedCode("BaseControllerStub");
+
+		Map<String, String> configuration = new HashMap<>();
+		configuration.put(CALLABLE_RESPONSE_CONFIGURATION, "true");
+		rule.applyConfiguration(configuration);
+		// the model classes are generated into the code model of the extraction
+		JCodeModel asyncCodeModel = new JCodeModel();
+		rule.apply(defaultRamlParser.extractControllers(asyncCodeModel, RAML).iterator().next(), asyncCodeModel);
+		verifyGeneratedCode("BaseControllerStubAsync", serializeModel(asyncCodeModel));
+	}
+
 	@Test
 	public void applySpring4ControllerInterfaceRule_shouldCreate_validCode() throws Exception {
 		rule = new Spring4ControllerInterfaceRule();